@@ -0,0 +1,86 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import com.redhat.mercury.operator.assets.ServiceDomainAssetRegistry;
+import com.redhat.mercury.operator.model.ExposeSpecBuilder;
+import com.redhat.mercury.operator.model.HttpExposeTypeBuilder;
+import com.redhat.mercury.operator.model.ServiceDomain;
+import com.redhat.mercury.operator.model.ServiceDomainInfra;
+import com.redhat.mercury.operator.model.ServiceDomainInfraSpecBuilder;
+import com.redhat.mercury.operator.model.ServiceDomainInfraStatusBuilder;
+import com.redhat.mercury.operator.model.ServiceDomainSpecBuilder;
+import com.redhat.mercury.operator.model.ServiceDomainStatusBuilder;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+
+import static com.redhat.mercury.operator.model.HttpExposeType.DEFAULT_API_VERSION;
+
+// Controllers and resources built without the Quarkus container so that the benchmarks
+// only measure the code running in a reconcile
+final class BenchmarkResources {
+
+    static final String NAMESPACE = "benchmark";
+    static final String SERVICE_DOMAIN_INFRA_NAME = "service-domain-infra";
+    static final String KAFKA_BROKER_URL = "service-domain-infra-kafka-bootstrap.benchmark.svc:9092";
+    static final String VERSION = "1.0.0";
+
+    private BenchmarkResources() {
+    }
+
+    static WatchScope createWatchScope(int shardCount) {
+        WatchScope watchScope = new WatchScope();
+        watchScope.watchedNamespaces = Optional.empty();
+        watchScope.shardCount = shardCount;
+        watchScope.configuredShardIndex = Optional.of(0);
+        watchScope.shardKey = WatchScope.ShardKey.NAMESPACE;
+        watchScope.init();
+        return watchScope;
+    }
+
+    static ServiceDomainController createServiceDomainController(ServiceDomainAssetRegistry assetRegistry) {
+        ServiceDomainController controller = new ServiceDomainController();
+        controller.watchScope = createWatchScope(1);
+        controller.assetRegistry = assetRegistry;
+        controller.version = VERSION;
+        return controller;
+    }
+
+    static ServiceDomainInfraController createServiceDomainInfraController() {
+        ServiceDomainInfraController controller = new ServiceDomainInfraController();
+        controller.watchScope = createWatchScope(1);
+        return controller;
+    }
+
+    static ServiceDomain createServiceDomain(com.redhat.mercury.model.ServiceDomain type) {
+        final ServiceDomain sd = new ServiceDomain();
+        sd.setMetadata(new ObjectMetaBuilder()
+                .withName(type.name().toLowerCase().replace('_', '-'))
+                .withNamespace(NAMESPACE)
+                .withUid(String.valueOf(UUID.randomUUID()))
+                .build());
+        sd.setSpec(new ServiceDomainSpecBuilder()
+                .withBusinessImage("quay.io/ecosystem-appeng/" + type.name().toLowerCase())
+                .withServiceDomainInfra(SERVICE_DOMAIN_INFRA_NAME)
+                .withType(type)
+                .withExpose(new ExposeSpecBuilder()
+                        .withHttp(new HttpExposeTypeBuilder().withApiVersion(DEFAULT_API_VERSION).build())
+                        .build())
+                .build());
+        sd.setStatus(new ServiceDomainStatusBuilder().build());
+        return sd;
+    }
+
+    static ServiceDomainInfra createServiceDomainInfra() {
+        final ServiceDomainInfra sdi = new ServiceDomainInfra();
+        sdi.setMetadata(new ObjectMetaBuilder()
+                .withName(SERVICE_DOMAIN_INFRA_NAME)
+                .withNamespace(NAMESPACE)
+                .withUid(String.valueOf(UUID.randomUUID()))
+                .build());
+        sdi.setSpec(new ServiceDomainInfraSpecBuilder().build());
+        sdi.setStatus(new ServiceDomainInfraStatusBuilder().build());
+        return sdi;
+    }
+}
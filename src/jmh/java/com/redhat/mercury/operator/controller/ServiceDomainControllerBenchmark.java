@@ -0,0 +1,80 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.redhat.mercury.operator.assets.ServiceDomainAssetRegistry;
+import com.redhat.mercury.operator.assets.ServiceDomainAssets;
+import com.redhat.mercury.operator.model.ServiceDomain;
+
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+
+import static com.redhat.mercury.operator.model.HttpExposeType.DEFAULT_API_VERSION;
+import static com.redhat.mercury.operator.utils.ResourceUtils.toLowerHyphen;
+
+// Desired state built for a ServiceDomain on every reconcile, for each bundled service domain type
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceDomainControllerBenchmark {
+
+    @Param({ "CUSTOMER_OFFER", "CUSTOMER_CREDIT_RATING", "PARTY_ROUTING_PROFILE" })
+    String type;
+
+    private ServiceDomainController controller;
+    private ServiceDomain sd;
+    private ServiceDomainAssets assets;
+    private String openApiConfigMapName;
+
+    @Setup
+    public void setup() {
+        final ServiceDomainAssetRegistry assetRegistry = new ServiceDomainAssetRegistry();
+        controller = BenchmarkResources.createServiceDomainController(assetRegistry);
+        sd = BenchmarkResources.createServiceDomain(com.redhat.mercury.model.ServiceDomain.valueOf(type));
+        final String sdTypeAsString = toLowerHyphen(sd.getSpec().getType().value);
+        assets = assetRegistry.get(DEFAULT_API_VERSION, sdTypeAsString);
+        if (assets == null) {
+            throw new IllegalStateException("No bundled assets for " + sdTypeAsString);
+        }
+        openApiConfigMapName = controller.getOpenApiConfigMapName(sdTypeAsString, DEFAULT_API_VERSION);
+    }
+
+    // Routes left as bundled, parsed once at startup
+    @Benchmark
+    public Map<String, Object> renderIntegrationSpec() {
+        return controller.renderIntegrationSpec(assets.getType(), openApiConfigMapName, assets.getRoutes());
+    }
+
+    // Routes customised in the direct ConfigMap are parsed before rendering
+    @Benchmark
+    public Map<String, Object> parseAndRenderIntegrationSpec() {
+        return controller.renderIntegrationSpec(assets.getType(), openApiConfigMapName,
+                ServiceDomainAssetRegistry.parseRoutes(assets.getDirects()));
+    }
+
+    @Benchmark
+    public Deployment buildDeployment() {
+        return controller.buildDeployment(sd, BenchmarkResources.KAFKA_BROKER_URL, true);
+    }
+
+    @Benchmark
+    public Service buildService() {
+        return controller.buildService(sd);
+    }
+}
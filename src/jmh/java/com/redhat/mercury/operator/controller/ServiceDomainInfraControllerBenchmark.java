@@ -0,0 +1,50 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.redhat.mercury.operator.model.ServiceDomainInfra;
+
+import io.strimzi.api.kafka.model.Kafka;
+
+// Desired Kafka built for a ServiceDomainInfra and compared with the stored one on every reconcile
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceDomainInfraControllerBenchmark {
+
+    private ServiceDomainInfraController controller;
+    private ServiceDomainInfra sdi;
+    private Kafka current;
+
+    @Setup
+    public void setup() {
+        controller = BenchmarkResources.createServiceDomainInfraController();
+        sdi = BenchmarkResources.createServiceDomainInfra();
+        current = controller.createKafkaObj(sdi);
+    }
+
+    @Benchmark
+    public Kafka createKafkaObj() {
+        return controller.createKafkaObj(sdi);
+    }
+
+    // Comparison of the stored Kafka with the desired one, done on every reconcile
+    @Benchmark
+    public KafkaSpecDiff diffKafkaSpec() {
+        return KafkaSpecDiff.diff(current.getSpec(), controller.createKafkaObj(sdi).getSpec());
+    }
+}
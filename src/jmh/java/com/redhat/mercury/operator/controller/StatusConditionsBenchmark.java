@@ -0,0 +1,93 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.redhat.mercury.operator.assets.ServiceDomainAssetRegistry;
+import com.redhat.mercury.operator.model.ServiceDomain;
+
+import io.fabric8.kubernetes.api.model.ConditionBuilder;
+
+import static com.redhat.mercury.operator.model.AbstractResourceStatus.CONDITION_READY;
+import static com.redhat.mercury.operator.model.AbstractResourceStatus.MESSAGE_WAITING;
+import static com.redhat.mercury.operator.model.AbstractResourceStatus.REASON_WAITING;
+import static com.redhat.mercury.operator.model.AbstractResourceStatus.STATUS_FALSE;
+import static com.redhat.mercury.operator.model.AbstractResourceStatus.STATUS_TRUE;
+import static com.redhat.mercury.operator.model.ServiceDomainStatus.CONDITION_INTEGRATION_READY;
+import static com.redhat.mercury.operator.model.ServiceDomainStatus.CONDITION_SERVICE_DOMAIN_INFRA_READY;
+
+// Status condition handling run at the end of every reconcile: setting the conditions,
+// computing the Ready condition and diffing against the current status
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatusConditionsBenchmark {
+
+    private ServiceDomainController controller;
+    private ServiceDomain sd;
+    private ServiceDomain current;
+    private ServiceDomain changed;
+    private boolean ready;
+
+    @Setup
+    public void setup() {
+        controller = BenchmarkResources.createServiceDomainController(new ServiceDomainAssetRegistry());
+        sd = createReadyServiceDomain();
+        current = createReadyServiceDomain();
+        changed = createReadyServiceDomain();
+        changed.getStatus().setCondition(new ConditionBuilder()
+                .withType(CONDITION_INTEGRATION_READY)
+                .withStatus(STATUS_FALSE)
+                .build());
+    }
+
+    @Benchmark
+    public boolean setStatusConditionUnchanged() {
+        return controller.setStatusCondition(sd, CONDITION_SERVICE_DOMAIN_INFRA_READY, true);
+    }
+
+    @Benchmark
+    public boolean setStatusConditionChanged() {
+        ready = !ready;
+        return controller.setStatusCondition(sd, CONDITION_READY, REASON_WAITING, MESSAGE_WAITING, ready);
+    }
+
+    @Benchmark
+    public boolean areAllConditionsReady() {
+        return controller.areAllConditionsReady(sd);
+    }
+
+    @Benchmark
+    public boolean isStatusChangedUnchanged() {
+        return controller.isStatusChanged(sd, current);
+    }
+
+    @Benchmark
+    public boolean isStatusChangedChanged() {
+        return controller.isStatusChanged(changed, current);
+    }
+
+    private ServiceDomain createReadyServiceDomain() {
+        final ServiceDomain resource = BenchmarkResources.createServiceDomain(com.redhat.mercury.model.ServiceDomain.CUSTOMER_OFFER);
+        for (String type : new String[] { CONDITION_SERVICE_DOMAIN_INFRA_READY, CONDITION_INTEGRATION_READY, CONDITION_READY }) {
+            resource.getStatus().setCondition(new ConditionBuilder()
+                    .withType(type)
+                    .withStatus(STATUS_TRUE)
+                    .build());
+        }
+        return resource;
+    }
+}
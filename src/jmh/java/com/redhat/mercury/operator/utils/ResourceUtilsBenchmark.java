@@ -0,0 +1,36 @@
+package com.redhat.mercury.operator.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceUtilsBenchmark {
+
+    @Param({ "CustomerOffer", "PartyRoutingProfile", "customer-offer" })
+    String text;
+
+    @Benchmark
+    public String toLowerHyphen() {
+        return ResourceUtils.toLowerHyphen(text);
+    }
+
+    @Benchmark
+    public String now() {
+        return ResourceUtils.now();
+    }
+}
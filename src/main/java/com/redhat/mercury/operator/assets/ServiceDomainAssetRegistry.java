@@ -0,0 +1,106 @@
+package com.redhat.mercury.operator.assets;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Singleton;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import com.redhat.mercury.model.ServiceDomain;
+import com.redhat.mercury.operator.utils.ResourceUtils;
+
+import io.quarkus.runtime.Startup;
+
+import static com.redhat.mercury.operator.model.HttpExposeType.DEFAULT_API_VERSION;
+import static com.redhat.mercury.operator.utils.ResourceUtils.toLowerHyphen;
+
+// Loads the assets bundled under v1/<type>/ once at startup, so that reconciles never read, decode or parse
+// them again and a broken asset directory stops the operator instead of failing every service domain of the type
+@Startup
+@Singleton
+public class ServiceDomainAssetRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceDomainAssetRegistry.class);
+    private static final String OPENAPI_FILENAME = "openapi.json";
+    private static final String DIRECT_FILENAME = "directs.yaml";
+    private static final String FILE_DIR_TEMPLATE = "/%s/%s/";
+    private static final String COMMENT_LINE_REGEX = "(?m)^#.*";
+    private static final List<String> API_VERSIONS = List.of(DEFAULT_API_VERSION);
+
+    private final Map<String, ServiceDomainAssets> assets;
+
+    public ServiceDomainAssetRegistry() {
+        final Map<String, ServiceDomainAssets> loaded = new HashMap<>();
+        final List<String> missing = new ArrayList<>();
+        for (String apiVersion : API_VERSIONS) {
+            for (ServiceDomain sdType : ServiceDomain.values()) {
+                final String type = toLowerHyphen(sdType.value);
+                final ServiceDomainAssets sdAssets = load(apiVersion, type);
+                if (sdAssets == null) {
+                    missing.add(apiVersion + "/" + type);
+                } else {
+                    loaded.put(key(apiVersion, type), sdAssets);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            LOGGER.warn("No http expose assets bundled for {}", missing);
+        }
+        LOGGER.info("Loaded http expose assets for {} service domain types", loaded.size());
+        this.assets = Map.copyOf(loaded);
+    }
+
+    public ServiceDomainAssets get(String apiVersion, String sdTypeAsString) {
+        return assets.get(key(apiVersion, sdTypeAsString));
+    }
+
+    public static Object parseRoutes(String routes) {
+        return new Yaml().load(routes.replaceAll(COMMENT_LINE_REGEX, "").trim());
+    }
+
+    private ServiceDomainAssets load(String apiVersion, String type) {
+        final String filesDir = String.format(FILE_DIR_TEMPLATE, apiVersion, type);
+        final byte[] openApi = read(filesDir + OPENAPI_FILENAME);
+        final byte[] directs = read(filesDir + DIRECT_FILENAME);
+        if (openApi == null && directs == null) {
+            return null;
+        }
+        if (openApi == null || directs == null) {
+            throw new IllegalStateException("Incomplete http expose assets in " + filesDir + ", both " + OPENAPI_FILENAME + " and " + DIRECT_FILENAME + " are required");
+        }
+
+        final String directsAsString = new String(directs, StandardCharsets.UTF_8);
+        try {
+            return new ServiceDomainAssets(type,
+                    apiVersion,
+                    new String(openApi, StandardCharsets.UTF_8),
+                    ResourceUtils.sha256(openApi),
+                    directsAsString,
+                    parseRoutes(directsAsString));
+        } catch (YAMLException e) {
+            throw new IllegalStateException("Invalid " + DIRECT_FILENAME + " in " + filesDir, e);
+        }
+    }
+
+    private byte[] read(String path) {
+        try (InputStream stream = getClass().getResourceAsStream(path)) {
+            return stream == null ? null : IOUtils.toByteArray(stream);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read " + path, e);
+        }
+    }
+
+    private static String key(String apiVersion, String type) {
+        return apiVersion + "/" + type;
+    }
+}
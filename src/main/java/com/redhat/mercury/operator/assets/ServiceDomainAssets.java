@@ -0,0 +1,17 @@
+package com.redhat.mercury.operator.assets;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Bundled OpenAPI specification and direct routes of a service domain type for an api version
+@Getter
+@AllArgsConstructor
+public class ServiceDomainAssets {
+
+    private final String type;
+    private final String apiVersion;
+    private final String openApi;
+    private final String openApiDigest;
+    private final String directs;
+    private final Object routes;
+}
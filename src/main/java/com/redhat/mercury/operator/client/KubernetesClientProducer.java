@@ -0,0 +1,34 @@
+package com.redhat.mercury.operator.client;
+
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.Produces;
+import javax.inject.Singleton;
+
+import com.redhat.mercury.operator.metrics.KubernetesApiCallInterceptor;
+import com.redhat.mercury.operator.tracing.KubernetesApiTracingInterceptor;
+
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.DefaultKubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.utils.HttpClientUtils;
+import okhttp3.OkHttpClient;
+
+// Replaces the default client so that every API server request is counted and traced
+@Singleton
+public class KubernetesClientProducer {
+
+    @Produces
+    @Singleton
+    KubernetesClient kubernetesClient(Config config, KubernetesApiCallInterceptor apiCallInterceptor, KubernetesApiTracingInterceptor apiTracingInterceptor) {
+        final OkHttpClient httpClient = HttpClientUtils.createHttpClient(config)
+                .newBuilder()
+                .addInterceptor(apiCallInterceptor)
+                .addInterceptor(apiTracingInterceptor)
+                .build();
+        return new DefaultKubernetesClient(httpClient, config);
+    }
+
+    void close(@Disposes KubernetesClient client) {
+        client.close();
+    }
+}
@@ -1,26 +1,53 @@
 package com.redhat.mercury.operator.controller;
 
+import java.net.HttpURLConnection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.redhat.mercury.operator.metrics.OperatorMetrics;
 import com.redhat.mercury.operator.model.AbstractResourceStatus;
+import com.redhat.mercury.operator.model.MercuryConstants;
+import com.redhat.mercury.operator.tracing.OperatorTracing;
+import com.redhat.mercury.operator.utils.ResourceUtils;
 
 import io.fabric8.kubernetes.api.model.Condition;
 import io.fabric8.kubernetes.api.model.ConditionBuilder;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
 import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.javaoperatorsdk.operator.api.reconciler.EventSourceContext;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
 import io.javaoperatorsdk.operator.processing.event.ResourceID;
 import io.javaoperatorsdk.operator.processing.event.source.EventSource;
+import io.javaoperatorsdk.operator.processing.event.source.ResourceCache;
 import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
 
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.CONDITION_READY;
@@ -34,21 +61,218 @@ public abstract class AbstractController<K, E extends AbstractResourceStatus, T
     protected static final Logger LOGGER = LoggerFactory.getLogger(AbstractController.class);
     protected static final String MANAGED_BY_LABEL = "app.kubernetes.io/managed-by";
     protected static final String OPERATOR_NAME = "service-domain-infra-operator";
+    protected static final String DESIRED_STATE_HASH_ANNOTATION = MercuryConstants.GROUP + "/desired-state-hash";
+
+    private static final PatchContext SERVER_SIDE_APPLY = new PatchContext.Builder()
+            .withPatchType(PatchType.SERVER_SIDE_APPLY)
+            .withFieldManager(OPERATOR_NAME)
+            .withForce(true)
+            .build();
+
+    private static final String CONDITIONS_FIELD = "conditions";
+    private static final TypeReference<Map<String, Object>> STATUS_MAP_TYPE = new TypeReference<>() {
+    };
 
     @Inject
     KubernetesClient client;
 
-    protected <F extends HasMetadata> EventSource getInformerEventSource(SharedIndexInformer<F> sharedIndexInformer) {
-        return new InformerEventSource<F, F>(sharedIndexInformer, d -> {
+    @Inject
+    WatchScope watchScope;
+
+    @Inject
+    OperatorMetrics metrics;
+
+    @Inject
+    OperatorTracing tracing;
+
+    @Inject
+    ReschedulePolicy reschedulePolicy;
+
+    @ConfigProperty(name = "mercury.operator.server-side-apply", defaultValue = "true")
+    boolean serverSideApply;
+
+    @ConfigProperty(name = "mercury.operator.patch-status", defaultValue = "true")
+    boolean patchStatus;
+
+    private ResourceCache<T> primaryCache;
+
+    protected void registerPrimaryCache(EventSourceContext<T> context) {
+        this.primaryCache = context.getPrimaryCache();
+    }
+
+    protected abstract String getControllerName();
+
+    // Times and traces a reconcile, spans of its phases and Kubernetes client calls are nested in it.
+    // A reconcile that is not rescheduled ends the backoff of the resource.
+    protected UpdateControl<T> observeReconcile(T resource, Supplier<UpdateControl<T>> reconcile) {
+        final UpdateControl<T> control = tracing.inSpan(getControllerName() + "/reconcile", resource,
+                () -> metrics.timeReconcile(getControllerName(), resource, reconcile));
+        if (control.getScheduleDelay().isEmpty()) {
+            reschedulePolicy.reset(getControllerName(), resource);
+        }
+        return control;
+    }
+
+    // A resource that is skipped or deleted is neither pending nor backing off
+    protected void forgetResource(T resource) {
+        metrics.clearPending(getControllerName(), resource);
+        reschedulePolicy.reset(getControllerName(), resource);
+    }
+
+    protected UpdateControl<T> rescheduleWithBackoff(T resource, UpdateControl<T> control) {
+        return control.rescheduleAfter(reschedulePolicy.nextDelay(getControllerName(), resource).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    protected <V> V observePhase(T resource, String phase, Supplier<V> action) {
+        return tracing.inSpan(getControllerName() + "/" + phase, resource,
+                () -> metrics.timePhase(getControllerName(), phase, action));
+    }
+
+    protected void observePhase(T resource, String phase, Runnable action) {
+        observePhase(resource, phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Reads from the informer store, keyed by namespace/name. A synced store is authoritative, the API server is
+    // only asked while the informer is not running or has not listed the namespace yet.
+    protected <F extends HasMetadata> F getCachedOrFetch(ScopedInformer<F> informer, String namespace, String name, Supplier<F> fetcher) {
+        if (informer != null) {
+            F cached = informer.get(namespace, name);
+            if (cached != null || informer.hasSynced(namespace)) {
+                return cached;
+            }
+        }
+        return fetcher.get();
+    }
+
+    protected <F extends HasMetadata, L extends KubernetesResourceList<F>, R extends Resource<F>> ScopedInformer<F> getScopedInformer(MixedOperation<F, L, R> operation, Map<String, String> selector) {
+        return getScopedInformer(operation, selector, List.of());
+    }
+
+    private <F extends HasMetadata, L extends KubernetesResourceList<F>, R extends Resource<F>> ScopedInformer<F> getScopedInformer(MixedOperation<F, L, R> operation, Map<String, String> selector, List<String> shards) {
+        return new ScopedInformer<>(watchScope, namespace -> {
+            FilterWatchListDeletable<F, L> scoped = namespace == null ? operation.inAnyNamespace() : operation.inNamespace(namespace);
+            if (!selector.isEmpty()) {
+                scoped = scoped.withLabels(selector);
+            }
+            if (!shards.isEmpty()) {
+                scoped = scoped.withLabelIn(WatchScope.SHARD_LABEL, shards.toArray(new String[0]));
+            }
+            return scoped.runnableInformer(0);
+        });
+    }
+
+    // Children are selected by the operator label and, when sharding, by the shard of this replica or as shared children
+    protected <F extends HasMetadata, L extends KubernetesResourceList<F>, R extends Resource<F>> ScopedInformer<F> getManagedInformer(MixedOperation<F, L, R> operation) {
+        return getManagedInformer(operation, Map.of());
+    }
+
+    // Managed children further selected by their own labels, e.g. the few children of a kind with other uses
+    protected <F extends HasMetadata, L extends KubernetesResourceList<F>, R extends Resource<F>> ScopedInformer<F> getManagedInformer(MixedOperation<F, L, R> operation, Map<String, String> selector) {
+        final Map<String, String> managed = new HashMap<>(selector);
+        managed.put(MANAGED_BY_LABEL, OPERATOR_NAME);
+        return getScopedInformer(operation, managed, watchScope.getShardSelector());
+    }
+
+    protected Map<String, String> getManagedLabels(HasMetadata owner) {
+        final Map<String, String> labels = new HashMap<>(watchScope.getShardLabels(owner));
+        labels.put(MANAGED_BY_LABEL, OPERATOR_NAME);
+        return labels;
+    }
+
+    // Children owned by several resources are seen by the replicas of all their shards
+    protected Map<String, String> getSharedLabels() {
+        final Map<String, String> labels = new HashMap<>(watchScope.getSharedLabels());
+        labels.put(MANAGED_BY_LABEL, OPERATOR_NAME);
+        return labels;
+    }
+
+    // With server-side apply only the fields set on the desired object are sent and owned by the operator,
+    // fields defaulted or managed by other controllers are left untouched
+    protected <F extends HasMetadata, R extends Resource<F>> F createOrApply(NonNamespaceOperation<F, ?, R> operation, F desired) {
+        if (serverSideApply) {
+            return operation.withName(desired.getMetadata().getName()).patch(SERVER_SIDE_APPLY, desired);
+        }
+        return operation.createOrReplace(desired);
+    }
+
+    protected <F extends HasMetadata, R extends Resource<F>> F applyOrCreate(NonNamespaceOperation<F, ?, R> operation, F desired) {
+        if (serverSideApply) {
+            return operation.withName(desired.getMetadata().getName()).patch(SERVER_SIDE_APPLY, desired);
+        }
+        try {
+            return operation.create(desired);
+        } catch (KubernetesClientException e) {
+            if (e.getCode() != HttpURLConnection.HTTP_CONFLICT) {
+                throw e;
+            }
+            // Created by a previous reconcile the informer has not caught up with yet
+            LOGGER.debug("{} {} already exists", desired.getKind(), desired.getMetadata().getName());
+            return operation.withName(desired.getMetadata().getName()).get();
+        }
+    }
+
+    // Compares a hash of the state the operator generated with the hash stamped on the current object,
+    // so that fields defaulted by the API server never trigger a write
+    protected boolean isDesiredStateChanged(HasMetadata current, HasMetadata desired) {
+        if (current == null || current.getMetadata().getAnnotations() == null) {
+            return true;
+        }
+        return !ResourceUtils.hash(desired).equals(current.getMetadata().getAnnotations().get(DESIRED_STATE_HASH_ANNOTATION));
+    }
+
+    // Stamps the object about to be written with the hash isDesiredStateChanged compares with
+    protected <F extends HasMetadata> F stampHash(F desired) {
+        final String desiredHash = ResourceUtils.hash(desired);
+        if (desired.getMetadata().getAnnotations() == null) {
+            desired.getMetadata().setAnnotations(new HashMap<>());
+        }
+        desired.getMetadata().getAnnotations().put(DESIRED_STATE_HASH_ANNOTATION, desiredHash);
+        return desired;
+    }
+
+    // The primary cache is authoritative: a resource missing from it has been deleted
+    protected T getCurrentResource(T resource) {
+        if (primaryCache != null) {
+            return primaryCache.get(new ResourceID(resource.getMetadata().getName(), resource.getMetadata().getNamespace()))
+                    .orElse(null);
+        }
+        return (T) client.resources(resource.getClass())
+                .inNamespace(resource.getMetadata().getNamespace())
+                .withName(resource.getMetadata().getName())
+                .get();
+    }
+
+    protected <F extends HasMetadata> List<EventSource> getInformerEventSources(ScopedInformer<F> informer) {
+        return getInformerEventSources(informer, d -> {
+            // Shared objects, e.g. the OpenAPI ConfigMap of a service domain type, are owned by several primaries
             List<OwnerReference> ownerReferences = d.getMetadata().getOwnerReferences();
-            if (!ownerReferences.isEmpty()) {
-                return Set.of(new ResourceID(ownerReferences.get(0).getName(), d.getMetadata().getNamespace()));
-            } else {
+            if (ownerReferences == null || ownerReferences.isEmpty()) {
                 return EMPTY_SET;
             }
+            return ownerReferences.stream()
+                    .map(ownerReference -> new ResourceID(ownerReference.getName(), d.getMetadata().getNamespace()))
+                    .collect(Collectors.toSet());
         });
     }
 
+    protected <F extends HasMetadata> List<EventSource> getInformerEventSources(ScopedInformer<F> informer, Function<F, Set<ResourceID>> primaryResources) {
+        return informer.getInformers()
+                .stream()
+                .<EventSource>map(sharedIndexInformer -> new InformerEventSource<F, T>(sharedIndexInformer, d -> {
+                    final Set<ResourceID> resources = primaryResources.apply(d);
+                    // Only existing primaries are reconciled and taken off the pending ones, e.g. not the owner of
+                    // a child of the other controller
+                    metrics.markPending(getControllerName(), primaryCache == null ? resources : resources.stream()
+                            .filter(resource -> primaryCache.get(resource).isPresent())
+                            .collect(Collectors.toSet()));
+                    return resources;
+                }))
+                .collect(Collectors.toList());
+    }
+
     protected boolean removeStatusCondition(T resource, String type) {
         final String resourceClassName = resource.getClass().getSimpleName();
         if (resource.getStatus() == null) {
@@ -88,11 +312,13 @@ public abstract class AbstractController<K, E extends AbstractResourceStatus, T
             return false;
         }
         Condition current = resource.getStatus().getCondition(condition.getType());
-        if (current != null) {
-            condition.setLastTransitionTime(now());
-        }
         if (!areSameConditions(condition, current)) {
-            condition.setLastTransitionTime(now());
+            // The transition time only moves when the status does, not when the reason or message change
+            if (current != null && current.getLastTransitionTime() != null && Objects.equals(current.getStatus(), condition.getStatus())) {
+                condition.setLastTransitionTime(current.getLastTransitionTime());
+            } else {
+                condition.setLastTransitionTime(now());
+            }
             resource.getStatus().setCondition(condition);
             LOGGER.debug("Set status condition for {} to {}", resource.getMetadata().getName(), condition);
             return true;
@@ -108,32 +334,100 @@ public abstract class AbstractController<K, E extends AbstractResourceStatus, T
     }
 
     protected UpdateControl<T> updateStatusWithCondition(T resource, Condition condition) {
-        if (setStatusCondition(resource, condition)) {
-            return UpdateControl.updateStatus(resource);
-        }
+        setStatusCondition(resource, condition);
         return updateStatus(resource);
     }
 
     protected UpdateControl<T> updateStatus(T resource) {
-        T currentResource = (T) client.resources(resource.getClass())
-                .inNamespace(resource.getMetadata().getNamespace())
-                .withName(resource.getMetadata().getName())
-                .get();
+        return observePhase(resource, "status", () -> getStatusUpdate(resource));
+    }
+
+    // The status is compared with the cached primary and only the fields that changed are sent in a merge patch,
+    // JOSDK then has nothing left to write. Resources missing from the cache get their whole status replaced.
+    private UpdateControl<T> getStatusUpdate(T resource) {
+        T currentResource = getCurrentResource(resource);
         if (currentResource == null) {
             return UpdateControl.updateStatus(resource);
         }
+        if (!patchStatus) {
+            return currentResource.getStatus() == null || isStatusChanged(resource, currentResource)
+                    ? UpdateControl.updateStatus(resource)
+                    : UpdateControl.noUpdate();
+        }
+        final Map<String, Object> statusPatch = getStatusPatch(resource, currentResource);
+        if (!statusPatch.isEmpty()) {
+            patchStatus(resource, statusPatch);
+        }
+        return UpdateControl.noUpdate();
+    }
+
+    // Merge patches replace lists as a whole, so all the conditions are sent when any of them changed
+    Map<String, Object> getStatusPatch(T resource, T currentResource) {
+        final Map<String, Object> desired = toMap(resource.getStatus());
+        final Map<String, Object> current = toMap(currentResource.getStatus());
+        final Map<String, Object> patch = new TreeMap<>();
+        desired.forEach((field, value) -> {
+            if (!CONDITIONS_FIELD.equals(field) && !Objects.equals(value, current.get(field))) {
+                patch.put(field, value);
+            }
+        });
+        current.forEach((field, value) -> {
+            if (value != null && !desired.containsKey(field)) {
+                patch.put(field, null);
+            }
+        });
+        if (currentResource.getStatus() == null || isStatusChanged(resource, currentResource)) {
+            patch.put(CONDITIONS_FIELD, desired.get(CONDITIONS_FIELD));
+        }
+        return patch;
+    }
+
+    private Map<String, Object> toMap(E status) {
+        if (status == null) {
+            return Map.of();
+        }
+        return Serialization.jsonMapper().convertValue(status, STATUS_MAP_TYPE);
+    }
+
+    // Sent as a merge patch of the status subresource, removed fields are set to null
+    private void patchStatus(T resource, Map<String, Object> statusPatch) {
+        final String name = resource.getMetadata().getName();
+        final String namespace = resource.getMetadata().getNamespace();
+        final GenericKubernetesResource patch = new GenericKubernetesResourceBuilder()
+                .withApiVersion(resource.getApiVersion())
+                .withKind(resource.getKind())
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(namespace)
+                .endMetadata()
+                .build();
+        patch.setAdditionalProperty("status", statusPatch);
+        LOGGER.debug("Patching status of {} {} with {}", resource.getKind(), name, statusPatch.keySet());
+        try {
+            client.genericKubernetesResources(CustomResourceDefinitionContext.fromCustomResourceType(resource.getClass()))
+                    .inNamespace(namespace)
+                    .withName(name)
+                    .patchStatus(patch);
+            metrics.statusPatched();
+        } catch (KubernetesClientException e) {
+            if (e.getCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+                throw e;
+            }
+            LOGGER.debug("{} {} was deleted before its status could be patched", resource.getKind(), name);
+        }
+    }
+
+    // Conditions added, removed or changed other than in their last transition time
+    protected boolean isStatusChanged(T resource, T currentResource) {
         if (resource.getStatus().getConditions()
                 .stream()
                 .anyMatch(c -> !areSameConditions(c, currentResource.getStatus().getCondition(c.getType())))) {
-            return UpdateControl.updateStatus(resource);
+            return true;
         }
-        if (currentResource.getStatus()
+        return currentResource.getStatus()
                 .getConditions()
                 .stream()
-                .anyMatch(c -> resource.getStatus().getCondition(c.getType()) == null)) {
-            return UpdateControl.updateStatus(resource);
-        }
-        return UpdateControl.noUpdate();
+                .anyMatch(c -> resource.getStatus().getCondition(c.getType()) == null);
     }
 
     // The only ignored field when comparing two conditions is the
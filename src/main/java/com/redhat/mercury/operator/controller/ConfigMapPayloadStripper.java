@@ -0,0 +1,64 @@
+package com.redhat.mercury.operator.controller;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.cache.Indexer;
+
+// Turns the ConfigMap informer store into a metadata-only cache. The stored instances are shared with the
+// other readers of the informer and are never modified: once the informer hands one to its handlers it is
+// replaced in the store by a copy without the payload, leaving the name, labels, owner references and
+// resourceVersion resident while the OpenAPI and routes documents are read from the API server only when needed.
+class ConfigMapPayloadStripper implements ResourceEventHandler<ConfigMap> {
+
+    private final Indexer<ConfigMap> store;
+
+    ConfigMapPayloadStripper(Indexer<ConfigMap> store) {
+        this.store = store;
+    }
+
+    @Override
+    public void onAdd(ConfigMap configMap) {
+        replace(configMap);
+    }
+
+    @Override
+    public void onUpdate(ConfigMap oldConfigMap, ConfigMap newConfigMap) {
+        replace(newConfigMap);
+    }
+
+    @Override
+    public void onDelete(ConfigMap configMap, boolean deletedFinalStateUnknown) {
+    }
+
+    private void replace(ConfigMap configMap) {
+        if (!hasPayload(configMap)) {
+            return;
+        }
+        final String key = configMap.getMetadata().getNamespace() + "/" + configMap.getMetadata().getName();
+        // The store serializes its writes on itself, a newer version stored by the informer meanwhile is left alone
+        synchronized (store) {
+            if (store.getByKey(key) == configMap) {
+                store.update(strip(configMap));
+            }
+        }
+    }
+
+    // A copy of the ConfigMap without its payload, the ConfigMap itself when it has none
+    static ConfigMap strip(ConfigMap configMap) {
+        if (configMap == null || !hasPayload(configMap)) {
+            return configMap;
+        }
+        return new ConfigMapBuilder()
+                .withApiVersion(configMap.getApiVersion())
+                .withKind(configMap.getKind())
+                .withMetadata(new ObjectMetaBuilder(configMap.getMetadata()).build())
+                .withImmutable(configMap.getImmutable())
+                .build();
+    }
+
+    private static boolean hasPayload(ConfigMap configMap) {
+        return configMap.getData() != null || configMap.getBinaryData() != null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.redhat.mercury.operator.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import com.redhat.mercury.operator.utils.ResourceUtils;
+
+// Pre-rendered Integration specs (flows, traits and dependencies) for a service domain type, api version
+// and operator version, one per distinct direct routes so that namespaces with edited routes do not evict
+// each other. It remembers the direct routes ConfigMaps, by namespace and resourceVersion, it has already
+// been validated against so that unchanged ConfigMaps never need to be parsed again. Only the specs of the
+// namespaces still using the template are kept.
+class IntegrationTemplate {
+
+    // Keyed by the digest of the routes, the routes themselves are not kept
+    private final ConcurrentMap<String, Map<String, Object>> specs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Source> sources = new ConcurrentHashMap<>();
+
+    // The spec rendered for the ConfigMap of the namespace, null when the ConfigMap changed since
+    Map<String, Object> getSpec(String namespace, String resourceVersion) {
+        final Source source = sources.get(namespace);
+        return source != null && resourceVersion != null && resourceVersion.equals(source.resourceVersion) ? source.spec : null;
+    }
+
+    Map<String, Object> getSpec(String routes, Function<String, Map<String, Object>> renderer) {
+        final String digest = ResourceUtils.sha256(Objects.requireNonNullElse(routes, "").getBytes(StandardCharsets.UTF_8));
+        return specs.computeIfAbsent(digest, key -> renderer.apply(routes));
+    }
+
+    // Specs no namespace uses anymore are dropped
+    void addSource(String namespace, String resourceVersion, Map<String, Object> spec) {
+        if (resourceVersion == null) {
+            return;
+        }
+        final Source previous = sources.put(namespace, new Source(resourceVersion, spec));
+        if (previous != null && previous.spec != spec) {
+            removeUnusedSpecs();
+        }
+    }
+
+    // The direct routes ConfigMap of the namespace or its last service domain of the type is gone
+    void removeSource(String namespace) {
+        if (sources.remove(namespace) != null) {
+            removeUnusedSpecs();
+        }
+    }
+
+    boolean isUnused() {
+        return sources.isEmpty();
+    }
+
+    private void removeUnusedSpecs() {
+        specs.values().removeIf(rendered -> sources.values().stream().noneMatch(source -> source.spec == rendered));
+    }
+
+    private static final class Source {
+        private final String resourceVersion;
+        private final Map<String, Object> spec;
+
+        private Source(String resourceVersion, Map<String, Object> spec) {
+            this.resourceVersion = resourceVersion;
+            this.spec = spec;
+        }
+    }
+}
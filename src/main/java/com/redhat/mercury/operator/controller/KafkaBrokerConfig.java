@@ -0,0 +1,99 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import com.redhat.mercury.operator.model.KafkaConfig;
+
+import static com.redhat.mercury.operator.model.KafkaConfig.PROFILE_BALANCED;
+import static com.redhat.mercury.operator.model.KafkaConfig.PROFILE_LOW_LATENCY;
+import static com.redhat.mercury.operator.model.KafkaConfig.PROFILE_THROUGHPUT;
+
+// Broker configuration of the Kafka of a ServiceDomainInfra: the settings derived from the number of replicas,
+// then the profile, then the explicit overrides. Options Strimzi manages itself are rejected before the Kafka is written.
+final class KafkaBrokerConfig {
+
+    private static final Map<String, Map<String, Object>> PROFILES = Map.of(
+            PROFILE_BALANCED, Map.of(
+                    "num.network.threads", 3,
+                    "num.io.threads", 8,
+                    "socket.send.buffer.bytes", 102400,
+                    "socket.receive.buffer.bytes", 102400,
+                    "log.segment.bytes", 1073741824,
+                    "compression.type", "producer",
+                    "num.partitions", 3,
+                    "replica.fetch.max.bytes", 1048576),
+            PROFILE_THROUGHPUT, Map.of(
+                    "num.network.threads", 8,
+                    "num.io.threads", 16,
+                    "socket.send.buffer.bytes", 1048576,
+                    "socket.receive.buffer.bytes", 1048576,
+                    "log.segment.bytes", 1073741824,
+                    "compression.type", "lz4",
+                    "num.partitions", 6,
+                    "replica.fetch.max.bytes", 10485760,
+                    "num.replica.fetchers", 4),
+            PROFILE_LOW_LATENCY, Map.of(
+                    "num.network.threads", 6,
+                    "num.io.threads", 8,
+                    "socket.send.buffer.bytes", 131072,
+                    "socket.receive.buffer.bytes", 131072,
+                    "log.segment.bytes", 268435456,
+                    "compression.type", "producer",
+                    "num.partitions", 3,
+                    "replica.fetch.max.bytes", 1048576,
+                    "replica.fetch.wait.max.ms", 50,
+                    "num.replica.fetchers", 2));
+
+    // Strimzi forbidden broker options and the exceptions it allows
+    private static final List<String> FORBIDDEN_PREFIXES = List.of("listeners", "advertised.", "broker.", "listener.",
+            "host.name", "port", "inter.broker.listener.name", "sasl.", "ssl.", "security.", "password.",
+            "principal.builder.class", "log.dir", "zookeeper.connect", "zookeeper.set.acl", "authorizer.", "super.user",
+            "cruise.control.metrics.topic", "cruise.control.metrics.reporter.bootstrap.servers", "node.id",
+            "process.roles", "controller.");
+    private static final List<String> FORBIDDEN_PREFIX_EXCEPTIONS = List.of("zookeeper.connection.timeout.ms",
+            "ssl.cipher.suites", "ssl.protocol", "ssl.enabled.protocols", "ssl.secure.random.implementation",
+            "cruise.control.metrics.topic.num.partitions", "cruise.control.metrics.topic.replication.factor",
+            "cruise.control.metrics.topic.retention.ms", "cruise.control.metrics.topic.auto.create.retries",
+            "cruise.control.metrics.topic.auto.create.timeout.ms", "cruise.control.metrics.topic.min.insync.replicas",
+            "controller.quorum.election.backoff.max.ms", "controller.quorum.election.timeout.ms",
+            "controller.quorum.fetch.timeout.ms");
+
+    private KafkaBrokerConfig() {
+    }
+
+    static Map<String, Object> build(Map<String, Object> replicationConfig, KafkaConfig kafka) {
+        final Map<String, Object> config = new TreeMap<>(replicationConfig);
+        if (kafka.getProfile() != null) {
+            final Map<String, Object> profile = PROFILES.get(kafka.getProfile());
+            if (profile == null) {
+                throw new IllegalArgumentException("Unsupported kafka profile: " + kafka.getProfile()
+                        + " supported values are " + new TreeMap<>(PROFILES).keySet());
+            }
+            config.putAll(profile);
+        }
+        if (kafka.getConfig() != null) {
+            config.putAll(kafka.getConfig());
+        }
+        validate(config);
+        return config;
+    }
+
+    static void validate(Map<String, Object> config) {
+        final List<String> forbidden = config.keySet()
+                .stream()
+                .filter(KafkaBrokerConfig::isForbidden)
+                .sorted()
+                .collect(Collectors.toList());
+        if (!forbidden.isEmpty()) {
+            throw new IllegalArgumentException("Kafka config options " + forbidden + " are managed by Strimzi and cannot be set");
+        }
+    }
+
+    private static boolean isForbidden(String option) {
+        return !FORBIDDEN_PREFIX_EXCEPTIONS.contains(option)
+                && FORBIDDEN_PREFIXES.stream().anyMatch(option::startsWith);
+    }
+}
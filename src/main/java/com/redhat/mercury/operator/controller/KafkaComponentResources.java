@@ -0,0 +1,75 @@
+package com.redhat.mercury.operator.controller;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.redhat.mercury.operator.model.KafkaComponentConfig;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+import io.strimzi.api.kafka.model.JvmOptions;
+import io.strimzi.api.kafka.model.JvmOptionsBuilder;
+
+// Resources and JVM options of the Kafka cluster components. Requests and limits are made equal so that the pods
+// get the Guaranteed QoS class, and the heap defaults to a share of the memory so that the rest of the container
+// memory is left to the page cache and off-heap buffers.
+final class KafkaComponentResources {
+
+    static final double BROKER_HEAP_RATIO = 0.5;
+    static final double ZOOKEEPER_HEAP_RATIO = 0.75;
+    static final double ENTITY_OPERATOR_HEAP_RATIO = 0.75;
+
+    private static final String MEMORY = "memory";
+    private static final BigDecimal MEBIBYTE = BigDecimal.valueOf(1024 * 1024);
+
+    private KafkaComponentResources() {
+    }
+
+    static ResourceRequirements getResources(KafkaComponentConfig component) {
+        if (component == null || component.getResources() == null) {
+            return null;
+        }
+        // Each resource gets its limit, or its request when it has no limit, as both request and limit
+        final Map<String, Quantity> guaranteed = new HashMap<>();
+        if (component.getResources().getRequests() != null) {
+            guaranteed.putAll(component.getResources().getRequests());
+        }
+        if (component.getResources().getLimits() != null) {
+            guaranteed.putAll(component.getResources().getLimits());
+        }
+        return new ResourceRequirementsBuilder()
+                .withRequests(new HashMap<>(guaranteed))
+                .withLimits(new HashMap<>(guaranteed))
+                .build();
+    }
+
+    static JvmOptions getJvmOptions(KafkaComponentConfig component, double heapRatio) {
+        if (component == null) {
+            return null;
+        }
+        String xmx = component.getXmx();
+        if (xmx == null) {
+            xmx = getHeap(getResources(component), heapRatio);
+        }
+        if (xmx == null && component.getXms() == null && component.getGcOptions() == null) {
+            return null;
+        }
+        return new JvmOptionsBuilder()
+                .withXmx(xmx)
+                .withXms(component.getXms() != null ? component.getXms() : xmx)
+                .withXx(component.getGcOptions())
+                .build();
+    }
+
+    private static String getHeap(ResourceRequirements resources, double heapRatio) {
+        if (resources == null || !resources.getRequests().containsKey(MEMORY)) {
+            return null;
+        }
+        final BigDecimal memory = Quantity.getAmountInBytes(resources.getRequests().get(MEMORY));
+        final long heap = memory.multiply(BigDecimal.valueOf(heapRatio)).divide(MEBIBYTE, 0, RoundingMode.DOWN).longValue();
+        return heap > 0 ? heap + "m" : null;
+    }
+}
@@ -0,0 +1,126 @@
+package com.redhat.mercury.operator.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.commons.io.IOUtils;
+
+import com.redhat.mercury.operator.model.KafkaMetricsConfig;
+
+import io.fabric8.kubernetes.api.model.ConfigMapKeySelectorBuilder;
+import io.strimzi.api.kafka.model.JmxPrometheusExporterMetricsBuilder;
+import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.api.kafka.model.KafkaExporterSpec;
+import io.strimzi.api.kafka.model.KafkaExporterSpecBuilder;
+import io.strimzi.api.kafka.model.MetricsConfig;
+
+// Prometheus metrics of the Kafka of a ServiceDomainInfra. Strimzi runs the JMX exporter in the broker and ZooKeeper
+// pods with the rules of a ConfigMap owned by the ServiceDomainInfra, and deploys Kafka Exporter for the topic offsets
+// and the consumer group lag. Both are scraped on the Strimzi metrics port: the brokers through their pod DNS names,
+// Kafka Exporter through a Service created by the operator as not all Strimzi versions expose it.
+final class KafkaMetrics {
+
+    static final String METRICS_SUFFIX = "-kafka-metrics";
+    static final String KAFKA_EXPORTER_COMPONENT = "-kafka-exporter";
+    static final String KAFKA_METRICS_KEY = "kafka-metrics-config.yml";
+    static final String ZOOKEEPER_METRICS_KEY = "zookeeper-metrics-config.yml";
+    // Told apart from the other managed ConfigMaps and Services, whose informers do not need to cache them
+    static final Map<String, String> METRICS_LABELS = Map.of("app.kubernetes.io/component", "kafka-metrics");
+    static final String METRICS_PORT_NAME = "tcp-prometheus";
+    static final int METRICS_PORT = 9404;
+
+    private static final String RULES_DIR = "/kafka-metrics/";
+    private static final Map<String, String> CONFIG_MAP_DATA = Map.of(
+            KAFKA_METRICS_KEY, read(KAFKA_METRICS_KEY),
+            ZOOKEEPER_METRICS_KEY, read(ZOOKEEPER_METRICS_KEY));
+
+    private KafkaMetrics() {
+    }
+
+    static String getConfigMapName(String clusterName) {
+        return clusterName + METRICS_SUFFIX;
+    }
+
+    static String getKafkaExporterServiceName(String clusterName) {
+        return clusterName + KAFKA_EXPORTER_COMPONENT + "-metrics";
+    }
+
+    static Map<String, String> getConfigMapData() {
+        return CONFIG_MAP_DATA;
+    }
+
+    static MetricsConfig getMetricsConfig(KafkaMetricsConfig metrics, String clusterName, String key) {
+        if (metrics == null) {
+            return null;
+        }
+        return new JmxPrometheusExporterMetricsBuilder()
+                .withNewValueFrom()
+                .withConfigMapKeyRef(new ConfigMapKeySelectorBuilder()
+                        .withName(getConfigMapName(clusterName))
+                        .withKey(key)
+                        .build())
+                .endValueFrom()
+                .build();
+    }
+
+    static boolean isKafkaExporterEnabled(KafkaMetricsConfig metrics) {
+        return metrics != null && !Boolean.FALSE.equals(metrics.getKafkaExporter());
+    }
+
+    // Strimzi exports all the topics and groups when the regular expressions are not set
+    static KafkaExporterSpec getKafkaExporter(KafkaMetricsConfig metrics) {
+        if (!isKafkaExporterEnabled(metrics)) {
+            return null;
+        }
+        return new KafkaExporterSpecBuilder()
+                .withTopicRegex(metrics.getTopicRegex())
+                .withGroupRegex(metrics.getGroupRegex())
+                .build();
+    }
+
+    // Whether the brokers or ZooKeeper still read the rules ConfigMap
+    static boolean hasMetricsConfig(Kafka kafka) {
+        return kafka != null && kafka.getSpec() != null
+                && (kafka.getSpec().getKafka() != null && kafka.getSpec().getKafka().getMetricsConfig() != null
+                || kafka.getSpec().getZookeeper() != null && kafka.getSpec().getZookeeper().getMetricsConfig() != null);
+    }
+
+    // Brokers are scraped through the headless <cluster>-kafka-brokers service, the pods of the broker node pool being
+    // named after their node ids and the ZooKeeper mode brokers numbered from 0
+    static List<String> getEndpoints(KafkaMetricsConfig metrics, Kafka kafka, List<Integer> brokerIds) {
+        final String clusterName = kafka.getMetadata().getName();
+        final String namespace = kafka.getMetadata().getNamespace();
+        final List<Integer> ids = brokerIds != null
+                ? brokerIds.stream().sorted().collect(Collectors.toList())
+                : IntStream.range(0, kafka.getSpec().getKafka().getReplicas()).boxed().collect(Collectors.toList());
+        final List<String> endpoints = new ArrayList<>();
+        for (Integer id : ids) {
+            endpoints.add(getUrl(clusterName + KafkaTopology.KAFKA_COMPONENT + "-" + id + "." + clusterName + "-kafka-brokers", namespace));
+        }
+        if (isKafkaExporterEnabled(metrics)) {
+            endpoints.add(getUrl(getKafkaExporterServiceName(clusterName), namespace));
+        }
+        return endpoints;
+    }
+
+    private static String getUrl(String host, String namespace) {
+        return "http://" + host + "." + namespace + ".svc:" + METRICS_PORT + "/metrics";
+    }
+
+    private static String read(String key) {
+        try (InputStream stream = KafkaMetrics.class.getResourceAsStream(RULES_DIR + key)) {
+            if (stream == null) {
+                throw new IllegalStateException("Missing metrics rules " + RULES_DIR + key);
+            }
+            return IOUtils.toString(stream, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read " + RULES_DIR + key, e);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.redhat.mercury.operator.model.KafkaConfig;
+import com.redhat.mercury.operator.model.KafkaKRaftConfig;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.kubernetes.model.Scope;
+import io.strimzi.api.kafka.model.Kafka;
+
+import static com.redhat.mercury.operator.model.KafkaKRaftConfig.MODE_ENABLED;
+import static com.redhat.mercury.operator.model.KafkaKRaftConfig.MODE_MIGRATION;
+
+// KRaft mode of the Kafka of a ServiceDomainInfra. The controllers and the brokers run in their own KafkaNodePools,
+// which are not part of the Strimzi api the operator is built with, so they are handled as generic resources.
+// A ZooKeeper based cluster is moved to KRaft one Strimzi step at a time, each step waiting for the Kafka to be ready:
+// the brokers are upgraded to the KRaft Kafka version with the inter broker protocol pinned, then the protocol is
+// raised, the brokers are adopted by a node pool, the controllers are added and the metadata migrated, then ZooKeeper
+// is removed.
+final class KafkaNodePools {
+
+    static final String NODE_POOLS_ANNOTATION = "strimzi.io/node-pools";
+    static final String KRAFT_ANNOTATION = "strimzi.io/kraft";
+    static final String ENABLED = "enabled";
+    // Node pools without KRaft, the brokers still use ZooKeeper
+    static final String DISABLED = "disabled";
+    static final String MIGRATION = "migration";
+    // Steps without node pools before the migration, told apart by the version and protocol of the Kafka
+    static final String VERSION_UPGRADE = "version-upgrade";
+    static final String PROTOCOL_UPGRADE = "protocol-upgrade";
+    static final String PROTOCOL_VERSION_CONFIG = "inter.broker.protocol.version";
+    static final String POST_MIGRATION_STATE = "KRaftPostMigration";
+    static final String METADATA_STATE_PROPERTY = "kafkaMetadataState";
+    static final String METADATA_VERSION_PROPERTY = "metadataVersion";
+    static final String SPEC_PROPERTY = "spec";
+    static final String STATUS_PROPERTY = "status";
+    static final String NODE_IDS_PROPERTY = "nodeIds";
+
+    // Pods are named <cluster>-<pool>-<n>: the broker pool keeps the names of the ZooKeeper mode brokers so that
+    // migrated brokers keep their pods and volumes. Pool names being unique in a namespace, a single KRaft cluster
+    // can run in each namespace.
+    static final String BROKER_POOL = "kafka";
+    static final String CONTROLLER_POOL = "controller";
+    static final String ROLE_BROKER = "broker";
+    static final String ROLE_CONTROLLER = "controller";
+    static final int DEFAULT_CONTROLLER_REPLICAS = 3;
+
+    // ZooKeeper to KRaft migrations need Kafka 3.5 or later
+    static final String KRAFT_KAFKA_VERSION = "3.6.1";
+    static final String KRAFT_METADATA_VERSION = "3.6";
+
+    static final CustomResourceDefinitionContext NODE_POOL_DEFINITION = new CustomResourceDefinitionContext.Builder()
+            .withGroup("kafka.strimzi.io")
+            .withVersion("v1beta2")
+            .withKind("KafkaNodePool")
+            .withPlural("kafkanodepools")
+            .withScope(Scope.NAMESPACED.toString())
+            .build();
+
+    private KafkaNodePools() {
+    }
+
+    // The mode the Kafka is moved to on this reconcile: null for ZooKeeper without node pools, disabled, migration or
+    // enabled. The current Kafka is only considered ready once Strimzi has observed its latest generation.
+    static String getMode(KafkaKRaftConfig kraft, Kafka current, boolean currentReady) {
+        final String desired = getDesiredMode(kraft);
+        final String currentMode = current == null ? null : getCurrentMode(current);
+        if (current == null || currentMode == null && desired == null) {
+            return desired;
+        }
+        if (desired == null) {
+            throw new IllegalArgumentException("Kafka " + current.getMetadata().getName() + (usesNodePools(currentMode)
+                    ? " uses node pools, moving it back to ZooKeeper is not supported"
+                    : " was upgraded for its KRaft migration, downgrading it is not supported"));
+        }
+        if (MODE_ENABLED.equals(desired) && !hasControllers(currentMode)) {
+            throw new IllegalArgumentException("Kafka " + current.getMetadata().getName()
+                    + " uses ZooKeeper, set kraft.mode to " + MODE_MIGRATION + " and wait for the migration to complete before enabling KRaft");
+        }
+        if (MODE_MIGRATION.equals(desired) && ENABLED.equals(currentMode)) {
+            throw new IllegalArgumentException("Kafka " + current.getMetadata().getName() + " already completed its KRaft migration");
+        }
+        if (currentMode == null) {
+            return VERSION_UPGRADE;
+        }
+        if (VERSION_UPGRADE.equals(currentMode)) {
+            return currentReady ? PROTOCOL_UPGRADE : VERSION_UPGRADE;
+        }
+        if (PROTOCOL_UPGRADE.equals(currentMode)) {
+            return currentReady ? DISABLED : PROTOCOL_UPGRADE;
+        }
+        if (DISABLED.equals(currentMode)) {
+            return currentReady ? MIGRATION : DISABLED;
+        }
+        if (MIGRATION.equals(currentMode)) {
+            return MODE_ENABLED.equals(desired) && currentReady && POST_MIGRATION_STATE.equals(getMetadataState(current))
+                    ? ENABLED
+                    : MIGRATION;
+        }
+        return currentMode;
+    }
+
+    static Map<String, String> getAnnotations(String mode) {
+        if (!usesNodePools(mode)) {
+            return Map.of();
+        }
+        return Map.of(NODE_POOLS_ANNOTATION, ENABLED, KRAFT_ANNOTATION, mode);
+    }
+
+    static Map<String, String> getCurrentAnnotations(HasMetadata kafka) {
+        final Map<String, String> annotations = new TreeMap<>();
+        if (kafka != null && kafka.getMetadata().getAnnotations() != null) {
+            for (String key : List.of(NODE_POOLS_ANNOTATION, KRAFT_ANNOTATION)) {
+                if (kafka.getMetadata().getAnnotations().containsKey(key)) {
+                    annotations.put(key, kafka.getMetadata().getAnnotations().get(key));
+                }
+            }
+        }
+        return annotations;
+    }
+
+    static boolean usesNodePools(String mode) {
+        return DISABLED.equals(mode) || MIGRATION.equals(mode) || ENABLED.equals(mode);
+    }
+
+    // The inter broker protocol stays at the one of the previous Kafka version until the brokers run the new one
+    static boolean hasKRaftProtocol(String mode) {
+        return mode != null && !VERSION_UPGRADE.equals(mode);
+    }
+
+    static boolean hasControllers(String mode) {
+        return MIGRATION.equals(mode) || ENABLED.equals(mode);
+    }
+
+    static boolean hasZooKeeper(String mode) {
+        return !ENABLED.equals(mode);
+    }
+
+    static String getMetadataState(Kafka kafka) {
+        if (kafka == null || kafka.getStatus() == null || kafka.getStatus().getAdditionalProperties() == null) {
+            return null;
+        }
+        final Object state = kafka.getStatus().getAdditionalProperties().get(METADATA_STATE_PROPERTY);
+        return state == null ? null : state.toString();
+    }
+
+    // The brokers replicating the topics, the ones of the broker node pool when KRaft is configured
+    static int getBrokerReplicas(KafkaConfig kafka) {
+        if (kafka.getKraft() != null && kafka.getKraft().getBrokers() != null && kafka.getKraft().getBrokers().getReplicas() != null) {
+            return kafka.getKraft().getBrokers().getReplicas();
+        }
+        return kafka.getReplicas();
+    }
+
+    static int getControllerReplicas(KafkaKRaftConfig kraft) {
+        if (kraft.getControllers() != null && kraft.getControllers().getReplicas() != null) {
+            return kraft.getControllers().getReplicas();
+        }
+        return DEFAULT_CONTROLLER_REPLICAS;
+    }
+
+    static Map<String, Object> buildSpec(List<String> roles, int replicas, Object storage, Object resources, Object jvmOptions) {
+        final Map<String, Object> spec = new TreeMap<>();
+        spec.put("roles", roles);
+        spec.put("replicas", replicas);
+        spec.put("storage", toMap(storage));
+        if (resources != null) {
+            spec.put("resources", toMap(resources));
+        }
+        if (jvmOptions != null) {
+            spec.put("jvmOptions", toMap(jvmOptions));
+        }
+        return spec;
+    }
+
+    private static String getDesiredMode(KafkaKRaftConfig kraft) {
+        if (kraft == null) {
+            return null;
+        }
+        if (kraft.getMode() == null) {
+            return MODE_ENABLED;
+        }
+        if (!MODE_ENABLED.equals(kraft.getMode()) && !MODE_MIGRATION.equals(kraft.getMode())) {
+            throw new IllegalArgumentException("Unsupported kafka kraft mode: " + kraft.getMode()
+                    + " supported values are [" + MODE_ENABLED + ", " + MODE_MIGRATION + "]");
+        }
+        return kraft.getMode();
+    }
+
+    // The node pool modes are annotated on the Kafka, the upgrade steps before them are read from its version
+    private static String getCurrentMode(Kafka current) {
+        final String annotated = getAnnotation(current, KRAFT_ANNOTATION);
+        if (annotated != null || current.getSpec() == null || current.getSpec().getKafka() == null
+                || !KRAFT_KAFKA_VERSION.equals(current.getSpec().getKafka().getVersion())) {
+            return annotated;
+        }
+        final Map<String, Object> config = current.getSpec().getKafka().getConfig();
+        return config != null && KRAFT_METADATA_VERSION.equals(String.valueOf(config.get(PROTOCOL_VERSION_CONFIG)))
+                ? PROTOCOL_UPGRADE
+                : VERSION_UPGRADE;
+    }
+
+    private static String getAnnotation(HasMetadata resource, String key) {
+        return resource.getMetadata().getAnnotations() == null ? null : resource.getMetadata().getAnnotations().get(key);
+    }
+
+    // Strimzi model objects are written with their JSON representation
+    private static Map<String, Object> toMap(Object value) {
+        return Serialization.jsonMapper().convertValue(value, Map.class);
+    }
+}
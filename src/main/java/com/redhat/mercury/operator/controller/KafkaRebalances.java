@@ -0,0 +1,118 @@
+package com.redhat.mercury.operator.controller;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.redhat.mercury.operator.model.MercuryConstants;
+
+import io.strimzi.api.kafka.model.KafkaRebalance;
+import io.strimzi.api.kafka.model.balancing.KafkaRebalanceMode;
+import io.strimzi.api.kafka.model.status.Condition;
+
+// Partitions moved by Cruise Control when the brokers of a ServiceDomainInfra change. The rebalance of new brokers
+// happens once they are running, while the brokers being removed are only removed from the Kafka once their partitions
+// have moved away. The operator approves the proposals itself and refreshes the ones Cruise Control failed to compute.
+final class KafkaRebalances {
+
+    static final String REBALANCE_SUFFIX = "-rebalance";
+    static final String REBALANCE_ANNOTATION = "strimzi.io/rebalance";
+    static final String APPROVE = "approve";
+    static final String REFRESH = "refresh";
+    // Brokers the partitions are spread across once the rebalance is done
+    static final String TARGET_REPLICAS_ANNOTATION = MercuryConstants.GROUP + "/kafka-broker-replicas";
+    // Last time the operator asked for a proposal, Cruise Control needs some metrics windows before it can compute one
+    static final String REQUESTED_AT_ANNOTATION = MercuryConstants.GROUP + "/requested-at";
+
+    static final String STATE_PROPOSAL_READY = "ProposalReady";
+    static final String STATE_REBALANCING = "Rebalancing";
+    static final String STATE_READY = "Ready";
+    static final String STATE_NOT_READY = "NotReady";
+
+    // Strimzi rejects Cruise Control on a single broker, whose partitions have nowhere to move anyway
+    static final int MIN_CRUISE_CONTROL_BROKERS = 2;
+
+    private KafkaRebalances() {
+    }
+
+    // The broker replicas the Kafka is given: brokers being removed stay until their partitions are moved away
+    static int getBrokerReplicas(Integer balancedReplicas, int desiredReplicas) {
+        if (balancedReplicas == null) {
+            return desiredReplicas;
+        }
+        return Math.max(balancedReplicas, desiredReplicas);
+    }
+
+    // Whether Cruise Control is deployed with a Kafka of the given brokers
+    static boolean isCruiseControlEnabled(int brokerReplicas) {
+        return brokerReplicas >= MIN_CRUISE_CONTROL_BROKERS;
+    }
+
+    static KafkaRebalanceMode getMode(int balancedReplicas, int desiredReplicas) {
+        return desiredReplicas > balancedReplicas ? KafkaRebalanceMode.ADD_BROKERS : KafkaRebalanceMode.REMOVE_BROKERS;
+    }
+
+    // New brokers get the highest ids and the ones with the highest ids are removed first. Without the node ids of a
+    // node pool the brokers are numbered from 0.
+    static List<Integer> getBrokerIds(List<Integer> nodeIds, int balancedReplicas, int desiredReplicas) {
+        final List<Integer> ids = nodeIds != null
+                ? nodeIds.stream().sorted().collect(Collectors.toList())
+                : IntStream.range(0, Math.max(balancedReplicas, desiredReplicas)).boxed().collect(Collectors.toList());
+        return ids.subList(Math.max(0, ids.size() - Math.abs(desiredReplicas - balancedReplicas)), ids.size());
+    }
+
+    static boolean isSameRebalance(KafkaRebalance rebalance, KafkaRebalanceMode mode, List<Integer> brokers) {
+        return rebalance.getSpec() != null
+                && mode == rebalance.getSpec().getMode()
+                && Objects.equals(brokers, rebalance.getSpec().getBrokers());
+    }
+
+    // The annotations can be edited by hand: a missing or invalid value is treated as missing
+    static Integer getTargetReplicas(KafkaRebalance rebalance) {
+        final String value = getAnnotation(rebalance, TARGET_REPLICAS_ANNOTATION);
+        try {
+            return value == null ? null : Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static Instant getRequestedAt(KafkaRebalance rebalance) {
+        final String value = getAnnotation(rebalance, REQUESTED_AT_ANNOTATION);
+        try {
+            return value == null ? null : Instant.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // Strimzi reports the state of a rebalance as the type of its only True condition
+    static String getState(KafkaRebalance rebalance) {
+        if (rebalance == null || rebalance.getStatus() == null || rebalance.getStatus().getConditions() == null) {
+            return null;
+        }
+        return rebalance.getStatus().getConditions().stream()
+                .filter(c -> "True".equals(c.getStatus()))
+                .map(Condition::getType)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String getAnnotation(KafkaRebalance rebalance, String key) {
+        return rebalance.getMetadata().getAnnotations() == null ? null : rebalance.getMetadata().getAnnotations().get(key);
+    }
+
+    static String getMessage(KafkaRebalance rebalance) {
+        if (rebalance == null || rebalance.getStatus() == null || rebalance.getStatus().getConditions() == null) {
+            return null;
+        }
+        return rebalance.getStatus().getConditions().stream()
+                .map(Condition::getMessage)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,144 @@
+package com.redhat.mercury.operator.controller;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.strimzi.api.kafka.model.KafkaSpec;
+
+import static com.redhat.mercury.operator.controller.KafkaNodePools.METADATA_VERSION_PROPERTY;
+
+// Semantic comparison of the stored and desired Kafka specs. The Kafka is only written on genuine changes: numbers and
+// strings holding the same value are equal (the broker config map mixes both and is read back with the types of the
+// stored JSON), empty sections are the same as missing ones, and the fields of the spec, kafka and zookeeper sections
+// the operator does not write are left to Strimzi and the API server. Changed broker configs Kafka updates at runtime
+// are told apart from the changes Strimzi rolls the pods for.
+final class KafkaSpecDiff {
+
+    static final String CONFIG_PATH = "kafka.config";
+
+    // Cluster-wide broker configs Kafka reconfigures without a restart, Strimzi applies them to the running brokers
+    static final Set<String> DYNAMIC_BROKER_CONFIGS = Set.of(
+            // Log defaults of the topics
+            "log.segment.bytes", "log.roll.ms", "log.roll.jitter.ms", "log.index.size.max.bytes", "log.index.interval.bytes",
+            "log.flush.interval.messages", "log.flush.interval.ms", "log.retention.bytes", "log.retention.ms",
+            "log.segment.delete.delay.ms", "log.cleanup.policy", "log.cleaner.delete.retention.ms",
+            "log.cleaner.min.compaction.lag.ms", "log.cleaner.max.compaction.lag.ms", "log.cleaner.min.cleanable.ratio",
+            "log.preallocate", "log.message.timestamp.type", "log.message.timestamp.difference.max.ms",
+            "log.message.downconversion.enable", "message.max.bytes", "min.insync.replicas", "compression.type",
+            "unclean.leader.election.enable",
+            // Thread pools and log cleaner
+            "num.io.threads", "num.network.threads", "num.replica.fetchers", "num.recovery.threads.per.data.dir",
+            "background.threads", "log.cleaner.threads", "log.cleaner.io.max.bytes.per.second", "log.cleaner.dedupe.buffer.size",
+            "log.cleaner.io.buffer.size", "log.cleaner.io.buffer.load.factor", "log.cleaner.backoff.ms",
+            // Connection quotas
+            "max.connections", "max.connections.per.ip", "max.connections.per.ip.overrides", "max.connection.creation.rate");
+
+    // Fields written by the operator in the sections Strimzi and the API server may add fields to, keyed by the path of
+    // the section. The content of these fields is compared in full, removed fields included.
+    private static final Map<String, Set<String>> OWNED_FIELDS = Map.of(
+            "", Set.of("kafka", "zookeeper", "entityOperator", "cruiseControl", "kafkaExporter"),
+            "kafka", Set.of("replicas", "resources", "jvmOptions", "listeners", "authorization", "version", "config", "storage",
+                    "rack", "template", "metricsConfig", METADATA_VERSION_PROPERTY),
+            "zookeeper", Set.of("replicas", "resources", "jvmOptions", "storage", "metricsConfig", "template"));
+
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?([eE][-+]?\\d+)?");
+
+    private final Set<String> dynamicConfigs = new TreeSet<>();
+    private final Set<String> restartChanges = new TreeSet<>();
+
+    private KafkaSpecDiff() {
+    }
+
+    static KafkaSpecDiff diff(KafkaSpec current, KafkaSpec desired) {
+        final KafkaSpecDiff diff = new KafkaSpecDiff();
+        diff.compare("", toMap(current), toMap(desired));
+        return diff;
+    }
+
+    boolean isChanged() {
+        return !dynamicConfigs.isEmpty() || !restartChanges.isEmpty();
+    }
+
+    boolean isRestartRequired() {
+        return !restartChanges.isEmpty();
+    }
+
+    // Broker configs applied to the running brokers
+    Set<String> getDynamicConfigs() {
+        return Collections.unmodifiableSet(dynamicConfigs);
+    }
+
+    // Paths of the changes Strimzi rolls or adds pods for
+    Set<String> getRestartChanges() {
+        return Collections.unmodifiableSet(restartChanges);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void compare(String path, Object current, Object desired) {
+        if (isEmpty(current) && isEmpty(desired)) {
+            return;
+        }
+        if (current instanceof Map && desired instanceof Map) {
+            compareMaps(path, (Map<String, Object>) current, (Map<String, Object>) desired);
+        } else if (current instanceof List && desired instanceof List && ((List<?>) current).size() == ((List<?>) desired).size()) {
+            for (int i = 0; i < ((List<?>) desired).size(); i++) {
+                compare(path + "[" + i + "]", ((List<?>) current).get(i), ((List<?>) desired).get(i));
+            }
+        } else if (current instanceof Map || current instanceof List || desired instanceof Map || desired instanceof List
+                || !normalize(current).equals(normalize(desired))) {
+            addChange(path);
+        }
+    }
+
+    private void compareMaps(String path, Map<String, Object> current, Map<String, Object> desired) {
+        final Set<String> owned = OWNED_FIELDS.get(path);
+        final Set<String> keys = new TreeSet<>(desired.keySet());
+        for (String key : current.keySet()) {
+            if (owned == null || owned.contains(key)) {
+                keys.add(key);
+            }
+        }
+        for (String key : keys) {
+            compare(path.isEmpty() ? key : path + "." + key, current.get(key), desired.get(key));
+        }
+    }
+
+    private void addChange(String path) {
+        final String config = path.startsWith(CONFIG_PATH + ".") ? path.substring(CONFIG_PATH.length() + 1) : null;
+        if (config != null && DYNAMIC_BROKER_CONFIGS.contains(config)) {
+            dynamicConfigs.add(config);
+        } else {
+            restartChanges.add(path);
+        }
+    }
+
+    private static boolean isEmpty(Object value) {
+        return value == null
+                || value instanceof Map && ((Map<?, ?>) value).isEmpty()
+                || value instanceof Collection && ((Collection<?>) value).isEmpty();
+    }
+
+    // Numbers are compared by value whether they are stored as JSON numbers or strings, e.g. 3, 3.0 and "3"
+    private static String normalize(Object value) {
+        if (value == null) {
+            return "";
+        }
+        final String text = value.toString();
+        if ((value instanceof Number || value instanceof String) && NUMBER.matcher(text).matches()) {
+            return new BigDecimal(text).stripTrailingZeros().toPlainString();
+        }
+        return text;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toMap(KafkaSpec spec) {
+        return spec == null ? Map.of() : Serialization.jsonMapper().convertValue(spec, Map.class);
+    }
+}
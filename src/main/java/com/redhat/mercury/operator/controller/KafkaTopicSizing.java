@@ -0,0 +1,59 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.redhat.mercury.operator.model.KafkaConfig;
+import com.redhat.mercury.operator.model.KafkaTopicConfig;
+
+// Partitions, replication and configuration of the KafkaTopic of a ServiceDomain. Without an explicit count the
+// partitions are sized from the expected throughput, and never fewer than the consumer replicas. Partitions can only
+// grow, a topic is never shrunk below its current count.
+final class KafkaTopicSizing {
+
+    static final int DEFAULT_PARTITIONS = 3;
+    static final int MAX_DEFAULT_REPLICAS = 3;
+
+    private KafkaTopicSizing() {
+    }
+
+    static int getPartitions(KafkaTopicConfig topic, Integer consumerReplicas, int partitionThroughput, Integer currentPartitions) {
+        int partitions = DEFAULT_PARTITIONS;
+        if (topic != null && topic.getPartitions() != null) {
+            partitions = topic.getPartitions();
+        } else if (topic != null && topic.getThroughput() != null) {
+            partitions = Math.max(1, (topic.getThroughput() + partitionThroughput - 1) / partitionThroughput);
+        }
+        if (consumerReplicas != null) {
+            partitions = Math.max(partitions, consumerReplicas);
+        }
+        if (currentPartitions != null) {
+            partitions = Math.max(partitions, currentPartitions);
+        }
+        return partitions;
+    }
+
+    static int getReplicas(KafkaTopicConfig topic, KafkaConfig kafka) {
+        if (topic != null && topic.getReplicas() != null) {
+            return topic.getReplicas();
+        }
+        return Math.min(KafkaNodePools.getBrokerReplicas(kafka), MAX_DEFAULT_REPLICAS);
+    }
+
+    static Map<String, Object> getConfig(KafkaTopicConfig topic) {
+        final Map<String, Object> config = new TreeMap<>();
+        if (topic == null) {
+            return config;
+        }
+        if (topic.getRetentionMs() != null) {
+            config.put("retention.ms", topic.getRetentionMs());
+        }
+        if (topic.getSegmentBytes() != null) {
+            config.put("segment.bytes", topic.getSegmentBytes());
+        }
+        if (topic.getCompressionType() != null) {
+            config.put("compression.type", topic.getCompressionType());
+        }
+        return config;
+    }
+}
@@ -0,0 +1,104 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import com.redhat.mercury.operator.model.KafkaTopologyConfig;
+
+import io.fabric8.kubernetes.api.model.Affinity;
+import io.fabric8.kubernetes.api.model.AffinityBuilder;
+import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.LabelSelectorBuilder;
+import io.fabric8.kubernetes.api.model.PodAffinityTerm;
+import io.fabric8.kubernetes.api.model.PodAffinityTermBuilder;
+import io.fabric8.kubernetes.api.model.TopologySpreadConstraintBuilder;
+import io.strimzi.api.kafka.model.Rack;
+import io.strimzi.api.kafka.model.RackBuilder;
+import io.strimzi.api.kafka.model.template.PodTemplate;
+import io.strimzi.api.kafka.model.template.PodTemplateBuilder;
+
+import static com.redhat.mercury.operator.model.KafkaTopologyConfig.DEFAULT_ZONE_KEY;
+import static com.redhat.mercury.operator.model.KafkaTopologyConfig.DO_NOT_SCHEDULE;
+import static com.redhat.mercury.operator.model.KafkaTopologyConfig.SCHEDULE_ANYWAY;
+
+// Placement of the Kafka cluster pods. The brokers use the zone as their rack so that the replicas of a partition land
+// in different zones and consumers fetch from the closest replica, and the pods of each component are spread across
+// the zones and kept off the nodes already running one of them.
+final class KafkaTopology {
+
+    static final String HOSTNAME_KEY = "kubernetes.io/hostname";
+    static final String REPLICA_SELECTOR_CLASS = "replica.selector.class";
+    static final String RACK_AWARE_REPLICA_SELECTOR = "org.apache.kafka.common.replica.RackAwareReplicaSelector";
+    static final String KAFKA_COMPONENT = "-kafka";
+    static final String ZOOKEEPER_COMPONENT = "-zookeeper";
+    static final String STRIMZI_NAME_LABEL = "strimzi.io/name";
+
+    private static final int PREFERRED_ANTI_AFFINITY_WEIGHT = 100;
+
+    private KafkaTopology() {
+    }
+
+    static Rack getRack(KafkaTopologyConfig topology) {
+        if (topology == null) {
+            return null;
+        }
+        return new RackBuilder().withTopologyKey(getZoneKey(topology)).build();
+    }
+
+    static Map<String, Object> getBrokerConfig(KafkaTopologyConfig topology) {
+        if (topology == null) {
+            return Map.of();
+        }
+        return Map.of(REPLICA_SELECTOR_CLASS, RACK_AWARE_REPLICA_SELECTOR);
+    }
+
+    // Pods of a component are selected by the strimzi.io/name label Strimzi gives them: <cluster>-kafka or <cluster>-zookeeper
+    static PodTemplate getPodTemplate(KafkaTopologyConfig topology, String clusterName, String component) {
+        if (topology == null) {
+            return null;
+        }
+        final String whenUnsatisfiable = topology.getWhenUnsatisfiable() != null ? topology.getWhenUnsatisfiable() : SCHEDULE_ANYWAY;
+        if (!SCHEDULE_ANYWAY.equals(whenUnsatisfiable) && !DO_NOT_SCHEDULE.equals(whenUnsatisfiable)) {
+            throw new IllegalArgumentException("Unsupported kafka topology whenUnsatisfiable: " + whenUnsatisfiable
+                    + " supported values are [" + DO_NOT_SCHEDULE + ", " + SCHEDULE_ANYWAY + "]");
+        }
+        final LabelSelector selector = new LabelSelectorBuilder()
+                .withMatchLabels(Map.of(STRIMZI_NAME_LABEL, clusterName + component))
+                .build();
+        return new PodTemplateBuilder()
+                .withAffinity(getAntiAffinity(topology, selector))
+                .withTopologySpreadConstraints(new TopologySpreadConstraintBuilder()
+                        .withTopologyKey(getZoneKey(topology))
+                        .withMaxSkew(topology.getMaxSkew() != null ? topology.getMaxSkew() : 1)
+                        .withWhenUnsatisfiable(whenUnsatisfiable)
+                        .withLabelSelector(selector)
+                        .build())
+                .build();
+    }
+
+    private static Affinity getAntiAffinity(KafkaTopologyConfig topology, LabelSelector selector) {
+        final PodAffinityTerm term = new PodAffinityTermBuilder()
+                .withTopologyKey(HOSTNAME_KEY)
+                .withLabelSelector(selector)
+                .build();
+        if (Boolean.TRUE.equals(topology.getRequiredAntiAffinity())) {
+            return new AffinityBuilder()
+                    .withNewPodAntiAffinity()
+                    .withRequiredDuringSchedulingIgnoredDuringExecution(List.of(term))
+                    .endPodAntiAffinity()
+                    .build();
+        }
+        return new AffinityBuilder()
+                .withNewPodAntiAffinity()
+                .addNewPreferredDuringSchedulingIgnoredDuringExecution()
+                .withWeight(PREFERRED_ANTI_AFFINITY_WEIGHT)
+                .withPodAffinityTerm(term)
+                .endPreferredDuringSchedulingIgnoredDuringExecution()
+                .endPodAntiAffinity()
+                .build();
+    }
+
+    private static String getZoneKey(KafkaTopologyConfig topology) {
+        return topology.getZoneKey() != null ? topology.getZoneKey() : DEFAULT_ZONE_KEY;
+    }
+}
@@ -0,0 +1,92 @@
+package com.redhat.mercury.operator.controller;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+// Exponential backoff of the reschedules of resources waiting on other resources to become ready. The delay of each
+// resource grows from the initial interval by the multiplier up to the maximum interval, and is spread by the jitter
+// so that resources waiting on the same event do not all reconcile at once. It is reset once a reconcile completes
+// without being rescheduled.
+@Singleton
+public class ReschedulePolicy {
+
+    public static final String BACKOFF_RESOURCES = "mercury.reconcile.backoff.resources";
+    public static final String BACKOFF_DELAY = "mercury.reconcile.backoff.delay";
+    private static final String CONTROLLER_TAG = "controller";
+
+    @ConfigProperty(name = "mercury.operator.reschedule.initial-interval", defaultValue = "5s")
+    Duration initialInterval;
+
+    @ConfigProperty(name = "mercury.operator.reschedule.max-interval", defaultValue = "5m")
+    Duration maxInterval;
+
+    @ConfigProperty(name = "mercury.operator.reschedule.multiplier", defaultValue = "2")
+    double multiplier;
+
+    @ConfigProperty(name = "mercury.operator.reschedule.jitter", defaultValue = "0.2")
+    double jitter;
+
+    @Inject
+    MeterRegistry registry;
+
+    DoubleSupplier random = () -> ThreadLocalRandom.current().nextDouble();
+
+    // Consecutive reschedules by controller and resource
+    private final ConcurrentMap<String, ConcurrentMap<ResourceID, Integer>> attempts = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        if (initialInterval.isNegative() || initialInterval.isZero() || maxInterval.compareTo(initialInterval) < 0) {
+            throw new IllegalStateException("mercury.operator.reschedule.max-interval must be greater than the initial interval, which must be positive");
+        }
+        if (multiplier < 1) {
+            throw new IllegalStateException("mercury.operator.reschedule.multiplier must be at least 1");
+        }
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalStateException("mercury.operator.reschedule.jitter must be between 0 and 1");
+        }
+    }
+
+    public Duration nextDelay(String controller, HasMetadata resource) {
+        final int attempt = getAttempts(controller).merge(toResourceID(resource), 1, Integer::sum) - 1;
+        final double backoff = Math.min(maxInterval.toMillis(), initialInterval.toMillis() * Math.pow(multiplier, attempt));
+        final Duration delay = Duration.ofMillis(Math.round(backoff * (1 + jitter * (2 * random.getAsDouble() - 1))));
+        Timer.builder(BACKOFF_DELAY)
+                .tags(CONTROLLER_TAG, controller)
+                .register(registry)
+                .record(delay);
+        return delay;
+    }
+
+    public void reset(String controller, HasMetadata resource) {
+        getAttempts(controller).remove(toResourceID(resource));
+    }
+
+    int getAttempts(String controller, HasMetadata resource) {
+        return getAttempts(controller).getOrDefault(toResourceID(resource), 0);
+    }
+
+    private ConcurrentMap<ResourceID, Integer> getAttempts(String controller) {
+        return attempts.computeIfAbsent(controller,
+                c -> registry.gaugeMapSize(BACKOFF_RESOURCES, Tags.of(CONTROLLER_TAG, c), new ConcurrentHashMap<>()));
+    }
+
+    private ResourceID toResourceID(HasMetadata resource) {
+        return new ResourceID(resource.getMetadata().getName(), resource.getMetadata().getNamespace());
+    }
+}
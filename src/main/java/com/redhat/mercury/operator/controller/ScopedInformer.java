@@ -0,0 +1,75 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+
+// Informers of a resource kind over the watched namespaces: a single informer for any namespace
+// when no namespace is configured, otherwise one informer per watched namespace of the shard. Their stores are
+// indexed by namespace so that listing a namespace does not scan the objects of the others.
+class ScopedInformer<T extends HasMetadata> {
+
+    private final SharedIndexInformer<T> anyNamespaceInformer;
+    private final Map<String, SharedIndexInformer<T>> namespaceInformers;
+
+    ScopedInformer(WatchScope watchScope, Function<String, SharedIndexInformer<T>> informerFactory) {
+        final Optional<List<String>> namespaces = watchScope.getWatchedNamespaces();
+        final Function<String, SharedIndexInformer<T>> indexedInformerFactory = informerFactory.andThen(ScopedInformer::withNamespaceIndex);
+        this.anyNamespaceInformer = namespaces.isPresent() ? null : indexedInformerFactory.apply(null);
+        this.namespaceInformers = namespaces.orElse(List.of()).stream()
+                .distinct()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), indexedInformerFactory));
+    }
+
+    T get(String namespace, String name) {
+        final SharedIndexInformer<T> informer = getInformer(namespace);
+        return informer == null ? null : informer.getIndexer().getByKey(namespace + "/" + name);
+    }
+
+    // Once the informer of the namespace has listed it, an object missing from its store does not exist
+    boolean hasSynced(String namespace) {
+        final SharedIndexInformer<T> informer = getInformer(namespace);
+        return informer != null && informer.hasSynced();
+    }
+
+    List<T> list(String namespace) {
+        final SharedIndexInformer<T> informer = getInformer(namespace);
+        return informer == null ? List.of() : informer.getIndexer().byIndex(Cache.NAMESPACE_INDEX, namespace);
+    }
+
+    List<T> byIndex(String namespace, String indexName, String key) {
+        final SharedIndexInformer<T> informer = getInformer(namespace);
+        return informer == null ? List.of() : informer.getIndexer().byIndex(indexName, key);
+    }
+
+    // Indexers are added before the informers are started
+    void addIndexer(String indexName, Function<T, List<String>> indexFunc) {
+        getInformers().forEach(informer -> informer.addIndexers(Map.of(indexName, indexFunc)));
+    }
+
+    int size() {
+        return getInformers().stream().mapToInt(informer -> informer.getIndexer().listKeys().size()).sum();
+    }
+
+    Collection<SharedIndexInformer<T>> getInformers() {
+        return anyNamespaceInformer != null ? List.of(anyNamespaceInformer) : namespaceInformers.values();
+    }
+
+    private static <T extends HasMetadata> SharedIndexInformer<T> withNamespaceIndex(SharedIndexInformer<T> informer) {
+        if (!informer.getIndexer().getIndexers().containsKey(Cache.NAMESPACE_INDEX)) {
+            informer.addIndexers(Map.of(Cache.NAMESPACE_INDEX, Cache::metaNamespaceIndexFunc));
+        }
+        return informer;
+    }
+
+    private SharedIndexInformer<T> getInformer(String namespace) {
+        return anyNamespaceInformer != null ? anyNamespaceInformer : namespaceInformers.get(namespace);
+    }
+}
@@ -1,23 +1,27 @@
 package com.redhat.mercury.operator.controller;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
 
-import org.apache.commons.io.IOUtils;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.yaml.snakeyaml.Yaml;
 
+import com.redhat.mercury.operator.assets.ServiceDomainAssetRegistry;
+import com.redhat.mercury.operator.assets.ServiceDomainAssets;
 import com.redhat.mercury.operator.model.HttpExposeType;
+import com.redhat.mercury.operator.model.KafkaUserConfig;
 import com.redhat.mercury.operator.model.MercuryConstants;
 import com.redhat.mercury.operator.model.ServiceDomain;
 import com.redhat.mercury.operator.model.ServiceDomainInfra;
@@ -31,9 +35,13 @@ import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.ContainerPortBuilder;
+import io.fabric8.kubernetes.api.model.EnvVar;
 import io.fabric8.kubernetes.api.model.EnvVarBuilder;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.LabelSelectorBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
 import io.fabric8.kubernetes.api.model.PodSpecBuilder;
 import io.fabric8.kubernetes.api.model.PodTemplateSpecBuilder;
@@ -43,17 +51,33 @@ import io.fabric8.kubernetes.api.model.ServicePortBuilder;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 import io.fabric8.kubernetes.api.model.apps.DeploymentSpecBuilder;
-import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
-import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
 import io.fabric8.kubernetes.model.Scope;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.api.reconciler.ControllerConfiguration;
+import io.javaoperatorsdk.operator.api.reconciler.DeleteControl;
 import io.javaoperatorsdk.operator.api.reconciler.EventSourceContext;
 import io.javaoperatorsdk.operator.api.reconciler.EventSourceInitializer;
 import io.javaoperatorsdk.operator.api.reconciler.Reconciler;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
 import io.javaoperatorsdk.operator.processing.event.source.EventSource;
+import io.strimzi.api.kafka.model.AclOperation;
+import io.strimzi.api.kafka.model.AclResourcePatternType;
+import io.strimzi.api.kafka.model.AclRule;
+import io.strimzi.api.kafka.model.AclRuleBuilder;
+import io.strimzi.api.kafka.model.AclRuleGroupResourceBuilder;
+import io.strimzi.api.kafka.model.AclRuleTopicResourceBuilder;
+import io.strimzi.api.kafka.model.KafkaTopic;
+import io.strimzi.api.kafka.model.KafkaTopicBuilder;
+import io.strimzi.api.kafka.model.KafkaUser;
+import io.strimzi.api.kafka.model.KafkaUserAuthorizationSimpleBuilder;
+import io.strimzi.api.kafka.model.KafkaUserBuilder;
+import io.strimzi.api.kafka.model.KafkaUserQuotas;
+import io.strimzi.api.kafka.model.KafkaUserQuotasBuilder;
+import io.strimzi.api.kafka.model.KafkaUserScramSha512ClientAuthentication;
+import io.strimzi.api.kafka.model.status.Status;
 
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.CONDITION_READY;
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.MESSAGE_WAITING;
@@ -63,13 +87,19 @@ import static com.redhat.mercury.operator.model.AbstractResourceStatus.STATUS_FA
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.STATUS_TRUE;
 import static com.redhat.mercury.operator.model.HttpExposeType.DEFAULT_API_VERSION;
 import static com.redhat.mercury.operator.model.ServiceDomainStatus.CONDITION_INTEGRATION_READY;
+import static com.redhat.mercury.operator.model.ServiceDomainStatus.CONDITION_KAFKA_TOPIC_READY;
+import static com.redhat.mercury.operator.model.ServiceDomainStatus.CONDITION_KAFKA_USER_READY;
 import static com.redhat.mercury.operator.model.ServiceDomainStatus.CONDITION_SERVICE_DOMAIN_INFRA_READY;
 import static com.redhat.mercury.operator.model.ServiceDomainStatus.MESSAGE_CANT_READ_CONFIG_MAPS_FILE;
 import static com.redhat.mercury.operator.model.ServiceDomainStatus.MESSAGE_INTEGRATION_NOT_READY;
+import static com.redhat.mercury.operator.model.ServiceDomainStatus.MESSAGE_KAFKA_TOPIC_NOT_READY;
+import static com.redhat.mercury.operator.model.ServiceDomainStatus.MESSAGE_KAFKA_USER_NOT_READY;
 import static com.redhat.mercury.operator.model.ServiceDomainStatus.MESSAGE_SDI_NOT_FOUND;
 import static com.redhat.mercury.operator.model.ServiceDomainStatus.MESSAGE_SDI_NOT_READY;
 import static com.redhat.mercury.operator.model.ServiceDomainStatus.REASON_CANT_READ_CONFIG_MAPS_FILE;
 import static com.redhat.mercury.operator.model.ServiceDomainStatus.REASON_INTEGRATION_WAITING;
+import static com.redhat.mercury.operator.model.ServiceDomainStatus.REASON_KAFKA_TOPIC_WAITING;
+import static com.redhat.mercury.operator.model.ServiceDomainStatus.REASON_KAFKA_USER_WAITING;
 import static com.redhat.mercury.operator.model.ServiceDomainStatus.REASON_SDI;
 import static com.redhat.mercury.operator.utils.ResourceUtils.toLowerHyphen;
 
@@ -80,27 +110,39 @@ public class ServiceDomainController extends AbstractController<ServiceDomainSpe
     public static final String SERVICE_DOMAIN_OWNER_REFERENCES_KIND = ServiceDomain.class.getSimpleName();
     public static final String MERCURY_BINDING_LABEL = "mercury-binding";
     public static final String INTEGRATION_SUFFIX = "-camelk-rest";
+    public static final String KAFKA_TOPIC_SUFFIX = "-topic";
+    public static final String KAFKA_USER_SUFFIX = "-user";
+    public static final String STRIMZI_CLUSTER_LABEL = "strimzi.io/cluster";
     public static final String CONFIG_MAP_CAMEL_ROUTES_DIRECT_KEY = "directs.yaml";
     private static final String SERVICE_DOMAIN_LABEL = "service-domain";
     private static final String BUSINESS_SERVICE_CONTAINER_NAME = "business-service";
     private static final String APP_LABEL = "app";
     private static final String MERCURY_KAFKA_BROKER_ENV_VAR = "KAFKA_BOOTSTRAP_SERVERS";
+    private static final String KAFKA_SECURITY_PROTOCOL_ENV_VAR = "KAFKA_SECURITY_PROTOCOL";
+    private static final String KAFKA_SASL_MECHANISM_ENV_VAR = "KAFKA_SASL_MECHANISM";
+    private static final String KAFKA_SASL_JAAS_CONFIG_ENV_VAR = "KAFKA_SASL_JAAS_CONFIG";
+    private static final String KAFKA_GROUP_ID_ENV_VAR = "KAFKA_GROUP_ID";
+    private static final String KAFKA_SECURITY_PROTOCOL = "SASL_PLAINTEXT";
+    private static final String KAFKA_SASL_MECHANISM = "SCRAM-SHA-512";
+    private static final String KAFKA_USER_SASL_JAAS_CONFIG_KEY = "sasl.jaas.config";
     private static final String INTERNAL = "internal";
     private static final String TCP_PROTOCOL = "TCP";
     private static final String DEPLOYMENT_CONTAINER_IMAGE_PULL_POLICY = "Always";
     private static final String SERVICE_NAME = "grpc";
     private static final int SERVICE_PORT = 9000;
-    private static final String COMMENT_LINE_REGEX = "(?m)^#.*";
     private static final String APP_LABEL_BIAN_PREFIX = "bian-";
     public static final String OPENAPI_CM_SUFFIX = "-openapi";
+    private static final String DIRECT_CM_SUFFIX = "-rest-" + DEFAULT_API_VERSION;
     private static final String INTEGRATION_SPEC_PROPERTY = "spec";
     private static final String INTEGRATION_STATUS_PROPERTY = "status";
     private static final String INTEGRATION_TYPE_PROPERTY = "type";
     private static final String INTEGRATION_CONDITIONS_PROPERTY = "conditions";
     private static final String OPENAPI_FILENAME = "openapi.json";
-    private static final String DIRECT_FILENAME = "directs.yaml";
-    public static final String OPEN_API_CONFIG_MAP_VERSION = "v10";
-    private static final String FILE_DIR_TEMPLATE = "/%s/%s/";
+    private static final int OPENAPI_DIGEST_LENGTH = 12;
+
+    private static final String CONTROLLER_NAME = "service-domain";
+    private static final String SERVICE_DOMAIN_INFRA_INDEX = "serviceDomainInfra";
+    private static final String OWNER_INDEX = "owner";
 
     private static final CustomResourceDefinitionContext CAMEL_RESOURCE_DEFINITION = new CustomResourceDefinitionContext.Builder()
             .withGroup("camel.apache.org")
@@ -109,39 +151,202 @@ public class ServiceDomainController extends AbstractController<ServiceDomainSpe
             .withScope(Scope.NAMESPACED.toString())
             .build();
 
+    @Inject
+    ServiceDomainAssetRegistry assetRegistry;
+
+    @ConfigProperty(name = "mercury.operator.configmap-metadata-only", defaultValue = "true")
+    boolean configMapMetadataOnly;
+
     @ConfigProperty(name = "application.version")
     String version;
 
+    // Produce throughput in MB/s a single partition is sized for
+    @ConfigProperty(name = "mercury.operator.kafka-topic.partition-throughput", defaultValue = "10")
+    int partitionThroughput;
+
+    // Quotas of the service domains not setting their own, unlimited when not set
+    @ConfigProperty(name = "mercury.operator.kafka-user.producer-byte-rate")
+    Optional<Integer> defaultProducerByteRate;
+
+    @ConfigProperty(name = "mercury.operator.kafka-user.consumer-byte-rate")
+    Optional<Integer> defaultConsumerByteRate;
+
+    @ConfigProperty(name = "mercury.operator.kafka-user.request-percentage")
+    Optional<Integer> defaultRequestPercentage;
+
+    private ScopedInformer<Deployment> deploymentInformer;
+    private ScopedInformer<GenericKubernetesResource> integrationInformer;
+    private ScopedInformer<Service> servicesInformer;
+    private ScopedInformer<ConfigMap> routeConfigMapInformer;
+    private ScopedInformer<ServiceDomainInfra> serviceDomainInfraInformer;
+    private ScopedInformer<KafkaTopic> kafkaTopicInformer;
+    private ScopedInformer<KafkaUser> kafkaUserInformer;
+
+    // ServiceDomains indexed by the ServiceDomainInfra they reference in spec.serviceDomainInfra
+    private ScopedInformer<ServiceDomain> serviceDomainInformer;
+
+    // Rendered Integration specs by service domain type, api version and operator version
+    private final ConcurrentMap<String, IntegrationTemplate> integrationTemplates = new ConcurrentHashMap<>();
+
+    // Generation, readiness and broker of the ServiceDomainInfras last seen by their event source
+    private final ConcurrentMap<String, String> serviceDomainInfraStates = new ConcurrentHashMap<>();
+
     @Override
     public List<EventSource> prepareEventSources(EventSourceContext<ServiceDomain> context) {
-        SharedIndexInformer<Deployment> deploymentInformer = client.resources(Deployment.class)
-                .inAnyNamespace()
-                .withLabel(MANAGED_BY_LABEL, OPERATOR_NAME)
-                .runnableInformer(0);
+        registerPrimaryCache(context);
+
+        deploymentInformer = getManagedInformer(client.resources(Deployment.class));
+        integrationInformer = getManagedInformer(client.genericKubernetesResources(CAMEL_RESOURCE_DEFINITION));
+        servicesInformer = getManagedInformer(client.services());
+        routeConfigMapInformer = getManagedInformer(client.configMaps());
+        kafkaTopicInformer = getManagedInformer(client.resources(KafkaTopic.class));
+        kafkaUserInformer = getManagedInformer(client.resources(KafkaUser.class));
+        routeConfigMapInformer.addIndexer(OWNER_INDEX, cm -> cm.getMetadata().getOwnerReferences() == null
+                ? List.of()
+                : cm.getMetadata().getOwnerReferences().stream().map(OwnerReference::getUid).filter(Objects::nonNull).collect(Collectors.toList()));
+        if (configMapMetadataOnly) {
+            routeConfigMapInformer.getInformers().forEach(informer -> informer.addEventHandler(new ConfigMapPayloadStripper(informer.getIndexer())));
+        }
+        routeConfigMapInformer.getInformers().forEach(informer -> informer.addEventHandler(new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(ConfigMap configMap) {
+            }
+
+            @Override
+            public void onUpdate(ConfigMap oldConfigMap, ConfigMap newConfigMap) {
+            }
+
+            // The specs rendered for the direct routes of the namespace go with their ConfigMap
+            @Override
+            public void onDelete(ConfigMap configMap, boolean deletedFinalStateUnknown) {
+                final String name = configMap.getMetadata().getName();
+                if (name.endsWith(DIRECT_CM_SUFFIX)) {
+                    forgetIntegrationSpecs(configMap.getMetadata().getNamespace(), name.substring(0, name.length() - DIRECT_CM_SUFFIX.length()));
+                }
+            }
+        }));
+
+        // ServiceDomainInfras are not selected by shard, with label sharding a service domain may reference one owned by another replica
+        serviceDomainInfraInformer = getScopedInformer(client.resources(ServiceDomainInfra.class), Map.of());
+
+        serviceDomainInformer = getScopedInformer(client.resources(ServiceDomain.class), Map.of());
+        serviceDomainInformer.addIndexer(SERVICE_DOMAIN_INFRA_INDEX, sd -> sd.getSpec() == null || sd.getSpec().getServiceDomainInfra() == null
+                ? List.of()
+                : List.of(getServiceDomainInfraKey(sd.getMetadata().getNamespace(), sd.getSpec().getServiceDomainInfra())));
+
+        metrics.registerInformer(CONTROLLER_NAME, "deployments", deploymentInformer, ScopedInformer::size);
+        metrics.registerInformer(CONTROLLER_NAME, "integrations", integrationInformer, ScopedInformer::size);
+        metrics.registerInformer(CONTROLLER_NAME, "services", servicesInformer, ScopedInformer::size);
+        metrics.registerInformer(CONTROLLER_NAME, "configmaps", routeConfigMapInformer, ScopedInformer::size);
+        metrics.registerInformer(CONTROLLER_NAME, "servicedomaininfras", serviceDomainInfraInformer, ScopedInformer::size);
+        metrics.registerInformer(CONTROLLER_NAME, "servicedomains", serviceDomainInformer, ScopedInformer::size);
+        metrics.registerInformer(CONTROLLER_NAME, "kafkatopics", kafkaTopicInformer, ScopedInformer::size);
+        metrics.registerInformer(CONTROLLER_NAME, "kafkausers", kafkaUserInformer, ScopedInformer::size);
+
+        final List<EventSource> eventSources = new ArrayList<>();
+        eventSources.addAll(getInformerEventSources(deploymentInformer));
+        eventSources.addAll(getInformerEventSources(integrationInformer));
+        eventSources.addAll(getInformerEventSources(servicesInformer));
+        eventSources.addAll(getInformerEventSources(routeConfigMapInformer));
+        eventSources.addAll(getInformerEventSources(kafkaTopicInformer));
+        eventSources.addAll(getInformerEventSources(kafkaUserInformer));
+        eventSources.addAll(getInformerEventSources(serviceDomainInfraInformer, this::getServiceDomainsToWake));
+        // Only kept for its index, the events of the ServiceDomains reach the controller through its own informer
+        eventSources.addAll(getInformerEventSources(serviceDomainInformer, sd -> Set.of()));
+        return eventSources;
+    }
 
-        SharedIndexInformer<GenericKubernetesResource> integrationInformer = client.genericKubernetesResources(CAMEL_RESOURCE_DEFINITION)
-                .inAnyNamespace()
-                .withLabel(MANAGED_BY_LABEL, OPERATOR_NAME)
-                .runnableInformer(0);
+    @Override
+    protected String getControllerName() {
+        return CONTROLLER_NAME;
+    }
 
-        SharedIndexInformer<Service> servicesInformer = client.services()
-                .inAnyNamespace()
-                .withLabel(MANAGED_BY_LABEL, OPERATOR_NAME)
-                .runnableInformer(0);
+    ScopedInformer<ConfigMap> getRouteConfigMapInformer() {
+        return routeConfigMapInformer;
+    }
 
-        SharedIndexInformer<ConfigMap> routeConfigMapInformer = client.configMaps()
-                .inAnyNamespace()
-                .withLabel(MANAGED_BY_LABEL, OPERATOR_NAME)
-                .runnableInformer(0);
+    ScopedInformer<ServiceDomainInfra> getServiceDomainInfraInformer() {
+        return serviceDomainInfraInformer;
+    }
 
-        return List.of(getInformerEventSource(deploymentInformer),
-                getInformerEventSource(integrationInformer),
-                getInformerEventSource(servicesInformer),
-                getInformerEventSource(routeConfigMapInformer));
+    Set<ResourceID> getServiceDomainsForInfra(ServiceDomainInfra sdi) {
+        final String namespace = sdi.getMetadata().getNamespace();
+        return serviceDomainInformer.byIndex(namespace, SERVICE_DOMAIN_INFRA_INDEX, getServiceDomainInfraKey(namespace, sdi.getMetadata().getName()))
+                .stream()
+                .map(sd -> new ResourceID(sd.getMetadata().getName(), namespace))
+                .collect(Collectors.toSet());
+    }
+
+    // The ServiceDomains only depend on the spec, readiness and broker of their infra: its other status updates, e.g.
+    // the rebalance condition or the metrics endpoints, do not wake them. Added and deleted infras always do.
+    Set<ResourceID> getServiceDomainsToWake(ServiceDomainInfra sdi) {
+        final String namespace = sdi.getMetadata().getNamespace();
+        final String name = sdi.getMetadata().getName();
+        final String key = getServiceDomainInfraKey(namespace, name);
+        // The informer store is updated before the event is sent, a deleted infra is no longer in it
+        final String state = serviceDomainInfraInformer.get(namespace, name) == null ? null : getServiceDomainInfraState(sdi);
+        final String previous = state == null ? serviceDomainInfraStates.remove(key) : serviceDomainInfraStates.put(key, state);
+        if (state != null && state.equals(previous)) {
+            return Set.of();
+        }
+        return getServiceDomainsForInfra(sdi);
+    }
+
+    private static String getServiceDomainInfraState(ServiceDomainInfra sdi) {
+        final boolean ready = sdi.getStatus() != null && sdi.getStatus().isReady();
+        final String kafkaBroker = sdi.getStatus() == null ? null : sdi.getStatus().getKafkaBroker();
+        return sdi.getMetadata().getGeneration() + "/" + ready + "/" + kafkaBroker;
+    }
+
+    private static String getServiceDomainInfraKey(String namespace, String sdiName) {
+        return namespace + "/" + sdiName;
+    }
+
+    @Override
+    public DeleteControl cleanup(ServiceDomain sd, Context context) {
+        forgetResource(sd);
+        forgetIntegrationSpecs(sd);
+        return DeleteControl.defaultDelete();
+    }
+
+    // The specs rendered for the namespace go with its last service domain of the type
+    private void forgetIntegrationSpecs(ServiceDomain sd) {
+        if (sd.getSpec() == null || sd.getSpec().getType() == null) {
+            return;
+        }
+        final String namespace = sd.getMetadata().getNamespace();
+        final boolean lastOfType = serviceDomainInformer.list(namespace)
+                .stream()
+                .noneMatch(other -> !other.getMetadata().getName().equals(sd.getMetadata().getName())
+                        && other.getSpec() != null && other.getSpec().getType() == sd.getSpec().getType());
+        if (lastOfType) {
+            forgetIntegrationSpecs(namespace, toLowerHyphen(sd.getSpec().getType().value));
+        }
+    }
+
+    void forgetIntegrationSpecs(String namespace, String sdTypeAsString) {
+        integrationTemplates.forEach((key, template) -> {
+            if (key.startsWith(sdTypeAsString + "/")) {
+                template.removeSource(namespace);
+                if (template.isUnused()) {
+                    integrationTemplates.remove(key, template);
+                }
+            }
+        });
     }
 
     @Override
     public UpdateControl<ServiceDomain> reconcile(ServiceDomain sd, Context context) {
+        // The primary informers only watch the namespaces of the shard when sharding by namespace over a list of
+        // namespaces, otherwise they also see the resources of the other shards
+        if (!watchScope.isInShard(sd)) {
+            forgetResource(sd);
+            return UpdateControl.noUpdate();
+        }
+        return observeReconcile(sd, () -> reconcileServiceDomain(sd));
+    }
+
+    private UpdateControl<ServiceDomain> reconcileServiceDomain(ServiceDomain sd) {
         setStatusCondition(sd, new ConditionBuilder()
                 .withType(CONDITION_READY)
                 .withStatus(STATUS_FALSE)
@@ -150,7 +355,9 @@ public class ServiceDomainController extends AbstractController<ServiceDomainSpe
                 .build());
         String sdName = sd.getMetadata().getName();
         final String sdiName = sd.getSpec().getServiceDomainInfra();
-        ServiceDomainInfra sdi = client.resources(ServiceDomainInfra.class).inNamespace(sd.getMetadata().getNamespace()).withName(sdiName).get();
+        final String sdNamespace = sd.getMetadata().getNamespace();
+        ServiceDomainInfra sdi = observePhase(sd, "service-domain-infra", () -> getCachedOrFetch(serviceDomainInfraInformer, sdNamespace, sdiName,
+                () -> client.resources(ServiceDomainInfra.class).inNamespace(sdNamespace).withName(sdiName).get()));
 
         if (sdi == null) {
             LOGGER.error("{} service domain infra not found", sdiName);
@@ -169,8 +376,7 @@ public class ServiceDomainController extends AbstractController<ServiceDomainSpe
                     .withStatus(STATUS_FALSE)
                     .withReason(REASON_SDI)
                     .withMessage(sdiName + " " + MESSAGE_SDI_NOT_READY)
-                    .build())
-                    .rescheduleAfter(10, TimeUnit.SECONDS);
+                    .build());
         }
         setStatusCondition(sd, new ConditionBuilder()
                 .withType(CONDITION_SERVICE_DOMAIN_INFRA_READY)
@@ -178,8 +384,16 @@ public class ServiceDomainController extends AbstractController<ServiceDomainSpe
                 .build());
 
         try {
-            createOrUpdateDeployment(sd, sdi.getStatus().getKafkaBroker());
-            createOrUpdateService(sd);
+            final boolean authentication = ServiceDomainInfraController.isAuthenticationEnabled(sdi);
+            observePhase(sd, "deployment", () -> createOrUpdateDeployment(sd, sdi.getStatus().getKafkaBroker(), authentication));
+            observePhase(sd, "service", () -> createOrUpdateService(sd));
+            setStatusCondition(sd, observePhase(sd, "kafka-topic", () -> createOrUpdateKafkaTopic(sd, sdi)));
+            if (authentication) {
+                setStatusCondition(sd, observePhase(sd, "kafka-user", () -> createOrUpdateKafkaUser(sd, sdi)));
+            } else {
+                observePhase(sd, "kafka-user", () -> deleteKafkaUser(sd));
+                removeStatusCondition(sd, CONDITION_KAFKA_USER_READY);
+            }
 
             if (sd.getSpec().getExpose() != null && sd.getSpec().getExpose().getHttp() != null) {
                 final HttpExposeType httpExposeType = sd.getSpec().getExpose().getHttp();
@@ -188,31 +402,39 @@ public class ServiceDomainController extends AbstractController<ServiceDomainSpe
                 final String apiVersion = httpExposeType.getApiVersion();
 
                 if (DEFAULT_API_VERSION.equals(apiVersion)) {
-                    final String directConfigMapName = sdTypeAsString + "-rest-" + DEFAULT_API_VERSION;
-                    Condition integrationCondition = createConfigMaps(sd, sdTypeAsString, apiVersion, directConfigMapName);
-                    if (integrationCondition != null) {
-                        return updateStatusWithCondition(sd, integrationCondition);
+                    final String directConfigMapName = sdTypeAsString + DIRECT_CM_SUFFIX;
+                    final String openApiConfigMapName = getOpenApiConfigMapName(sdTypeAsString, apiVersion);
+                    final ServiceDomainAssets assets = assetRegistry.get(apiVersion, sdTypeAsString);
+                    if (assets == null) {
+                        LOGGER.error("{} service domain cant read openapi and direct rest mapping config files", sdName);
+                        return updateStatusWithCondition(sd, new ConditionBuilder()
+                                .withType(CONDITION_INTEGRATION_READY)
+                                .withStatus(STATUS_FALSE)
+                                .withReason(REASON_CANT_READ_CONFIG_MAPS_FILE)
+                                .withMessage(MESSAGE_CANT_READ_CONFIG_MAPS_FILE)
+                                .build());
                     }
+                    final ConfigMap sdDirectConfigMap = observePhase(sd, "config-maps", () -> createConfigMaps(sd, sdTypeAsString, assets, openApiConfigMapName, directConfigMapName));
 
-                    final ConfigMap sdDirectConfigMap = client.configMaps().inNamespace(sd.getMetadata().getNamespace()).withName(directConfigMapName).get();
-                    String sdCamelRouteYaml = sdDirectConfigMap.getData().get(CONFIG_MAP_CAMEL_ROUTES_DIRECT_KEY);
-                    integrationCondition = createOrUpdateCamelKHttpIntegration(sd, sdCamelRouteYaml);
+                    final Condition integrationCondition = observePhase(sd, "integration", () -> createOrUpdateCamelKHttpIntegration(sd,
+                            getIntegrationSpec(sdTypeAsString, apiVersion, openApiConfigMapName, sdDirectConfigMap)));
                     setStatusCondition(sd, integrationCondition);
                     if (STATUS_FALSE.equals(integrationCondition.getStatus())) {
-                        return updateStatus(sd).rescheduleAfter(5, TimeUnit.SECONDS);
+                        return rescheduleWithBackoff(sd, updateStatus(sd));
                     }
                 }
             } else {
-                deleteCamelHttpIntegration(sd);
+                observePhase(sd, "integration", () -> deleteCamelHttpIntegration(sd));
                 removeStatusCondition(sd, CONDITION_INTEGRATION_READY);
             }
 
             if (areAllConditionsReady(sd)) {
                 return updateStatusWithReadyCondition(sd, CONDITION_READY);
             }
-            return updateStatus(sd);
+            return rescheduleWithBackoff(sd, updateStatus(sd));
         } catch (Exception e) {
             LOGGER.error("{} service domain failed to be created/updated", sdName, e);
+            metrics.reconcileFailed(CONTROLLER_NAME, e);
             return updateStatusWithCondition(sd, new ConditionBuilder()
                     .withType(CONDITION_READY)
                     .withStatus(STATUS_FALSE)
@@ -222,107 +444,164 @@ public class ServiceDomainController extends AbstractController<ServiceDomainSpe
         }
     }
 
-    private Condition createConfigMaps(ServiceDomain sd, String sdTypeAsString, String apiVersion, String directConfigMapName) throws IOException {
-        final String filesDir = String.format(FILE_DIR_TEMPLATE, apiVersion, sdTypeAsString);
-        final String openApiConfigMapName = sdTypeAsString + OPENAPI_CM_SUFFIX + "-" + OPEN_API_CONFIG_MAP_VERSION;
+    // The OpenAPI ConfigMap name carries a digest of the bundled specification so that a changed
+    // specification results in a new ConfigMap that all the service domains of the type move to
+    String getOpenApiConfigMapName(String sdTypeAsString, String apiVersion) {
+        final ServiceDomainAssets assets = assetRegistry.get(apiVersion, sdTypeAsString);
+        if (assets == null) {
+            return null;
+        }
+        return sdTypeAsString + OPENAPI_CM_SUFFIX + "-" + assets.getOpenApiDigest().substring(0, OPENAPI_DIGEST_LENGTH);
+    }
+
+    // Returns the direct routes ConfigMap, the one just created when the informer has not seen it yet
+    private ConfigMap createConfigMaps(ServiceDomain sd, String sdTypeAsString, ServiceDomainAssets assets, String openApiConfigMapName, String directConfigMapName) {
+        final String sdNamespace = sd.getMetadata().getNamespace();
         String sdName = sd.getMetadata().getName();
 
-        final ConfigMap sdOpenApiConfigMap = client.configMaps().inNamespace(sd.getMetadata().getNamespace()).withName(openApiConfigMapName).get();
+        // Service domains of the same type share the OpenAPI ConfigMap, each of them holds an owner
+        // reference on it so that it is garbage collected together with the last one
+        final OwnerReference sdOwnerReference = new OwnerReferenceBuilder()
+                .withName(sdName)
+                .withUid(sd.getMetadata().getUid())
+                .withKind(SERVICE_DOMAIN_OWNER_REFERENCES_KIND)
+                .withApiVersion(MercuryConstants.API_VERSION)
+                .build();
+        ConfigMap sdOpenApiConfigMap = getConfigMap(sdNamespace, openApiConfigMapName);
         if (sdOpenApiConfigMap == null) {
-            final InputStream openApiFileAsStream = getClass().getResourceAsStream(filesDir + OPENAPI_FILENAME);
-            if (openApiFileAsStream == null) {
-                LOGGER.error("{} service domain cant read openapi mapping config file", sdName);
-                return new ConditionBuilder()
-                        .withType(CONDITION_INTEGRATION_READY)
-                        .withStatus(STATUS_FALSE)
-                        .withReason(REASON_CANT_READ_CONFIG_MAPS_FILE)
-                        .withMessage(MESSAGE_CANT_READ_CONFIG_MAPS_FILE)
-                        .build();
-            }
-
             final ConfigMap openApiCM = new ConfigMapBuilder()
                     .withNewMetadata()
                     .withName(openApiConfigMapName)
-                    .withNamespace(sd.getMetadata().getNamespace())
-                    .withOwnerReferences(List.of(new OwnerReferenceBuilder()
-                            .withName(sd.getMetadata().getName())
-                            .withUid(sd.getMetadata().getUid())
-                            .withKind(SERVICE_DOMAIN_OWNER_REFERENCES_KIND)
-                            .withApiVersion(MercuryConstants.API_VERSION)
-                            .build()))
-                    .withLabels(Map.of(MANAGED_BY_LABEL, OPERATOR_NAME))
+                    .withNamespace(sdNamespace)
+                    .withOwnerReferences(List.of(sdOwnerReference))
+                    .withLabels(getSharedLabels())
                     .endMetadata()
-                    .withData(Map.of(OPENAPI_FILENAME, IOUtils.toString(openApiFileAsStream, StandardCharsets.UTF_8)))
+                    .withData(Map.of(OPENAPI_FILENAME, assets.getOpenApi()))
                     .build();
 
-            client.configMaps().inNamespace(sd.getMetadata().getNamespace()).withName(openApiConfigMapName).create(openApiCM);
+            // Another service domain of the type may have created it since the informer last heard of it
+            sdOpenApiConfigMap = applyOrCreate(client.configMaps().inNamespace(sdNamespace), openApiCM);
+        }
+        // Service domains of other shards may share it, it is labelled to be seen by all of them
+        if (!isOwnedBy(sdOpenApiConfigMap, sd) || !isShared(sdOpenApiConfigMap)) {
+            LOGGER.debug("Sharing OpenAPI ConfigMap {} with {}", openApiConfigMapName, sdName);
+            client.configMaps().inNamespace(sdNamespace).withName(openApiConfigMapName)
+                    .edit(cm -> {
+                        if (isOwnedBy(cm, sd) && isShared(cm)) {
+                            return cm;
+                        }
+                        final ConfigMapBuilder shared = new ConfigMapBuilder(cm)
+                                .editMetadata()
+                                .addToLabels(getSharedLabels())
+                                .endMetadata();
+                        return isOwnedBy(cm, sd) ? shared.build() : shared
+                                .editMetadata()
+                                .addToOwnerReferences(sdOwnerReference)
+                                .endMetadata()
+                                .build();
+                    });
         }
+        releaseStaleOpenApiConfigMaps(sd, sdTypeAsString, openApiConfigMapName);
 
-        ConfigMap sdDirectConfigMap = client.configMaps().inNamespace(sd.getMetadata().getNamespace()).withName(directConfigMapName).get();
+        ConfigMap sdDirectConfigMap = getConfigMap(sd.getMetadata().getNamespace(), directConfigMapName);
         if (sdDirectConfigMap == null) {
-            final InputStream directFileAsStream = getClass().getResourceAsStream(filesDir + DIRECT_FILENAME);
-            if (directFileAsStream == null) {
-                LOGGER.error("{} service domain cant read direct rest mapping config file", sdName);
-                return new ConditionBuilder()
-                        .withType(CONDITION_INTEGRATION_READY)
-                        .withStatus(STATUS_FALSE)
-                        .withReason(REASON_CANT_READ_CONFIG_MAPS_FILE)
-                        .withMessage(MESSAGE_CANT_READ_CONFIG_MAPS_FILE)
-                        .build();
-            }
-
             final ConfigMap directCM = new ConfigMapBuilder()
                     .withNewMetadata()
                     .withName(directConfigMapName)
                     .withNamespace(sd.getMetadata().getNamespace())
-                    .withOwnerReferences(List.of(new OwnerReferenceBuilder()
-                            .withName(sd.getMetadata().getName())
-                            .withUid(sd.getMetadata().getUid())
-                            .withKind(SERVICE_DOMAIN_OWNER_REFERENCES_KIND)
-                            .withApiVersion(MercuryConstants.API_VERSION)
-                            .build()))
-                    .withLabels(Map.of(MANAGED_BY_LABEL, OPERATOR_NAME))
+                    .withOwnerReferences(List.of(sdOwnerReference))
+                    .withLabels(getManagedLabels(sd))
                     .endMetadata()
-                    .withData(Map.of(CONFIG_MAP_CAMEL_ROUTES_DIRECT_KEY, IOUtils.toString(directFileAsStream, StandardCharsets.UTF_8)))
+                    .withData(Map.of(CONFIG_MAP_CAMEL_ROUTES_DIRECT_KEY, assets.getDirects()))
                     .build();
 
-            client.configMaps().inNamespace(sd.getMetadata().getNamespace()).withName(directConfigMapName).create(directCM);
+            sdDirectConfigMap = applyOrCreate(client.configMaps().inNamespace(sd.getMetadata().getNamespace()), directCM);
         }
 
-        return null;
+        return sdDirectConfigMap;
+    }
+
+    // Drops the service domain ownership of OpenAPI ConfigMaps generated from a previous specification,
+    // deleting them once no other service domain references them
+    private void releaseStaleOpenApiConfigMaps(ServiceDomain sd, String sdTypeAsString, String openApiConfigMapName) {
+        final String sdNamespace = sd.getMetadata().getNamespace();
+        final String prefix = sdTypeAsString + OPENAPI_CM_SUFFIX + "-";
+        // Only the ConfigMaps owned by the service domain are looked at, not every ConfigMap of the namespace
+        final List<ConfigMap> configMaps = routeConfigMapInformer != null
+                ? routeConfigMapInformer.byIndex(sdNamespace, OWNER_INDEX, sd.getMetadata().getUid())
+                : client.configMaps().inNamespace(sdNamespace).withLabel(MANAGED_BY_LABEL, OPERATOR_NAME).list().getItems();
+        for (ConfigMap configMap : configMaps) {
+            final String name = configMap.getMetadata().getName();
+            if (!name.startsWith(prefix) || name.equals(openApiConfigMapName) || !isOwnedBy(configMap, sd)) {
+                continue;
+            }
+            if (configMap.getMetadata().getOwnerReferences().size() == 1) {
+                LOGGER.debug("Deleting stale OpenAPI ConfigMap {}", name);
+                client.configMaps().inNamespace(sdNamespace).withName(name).delete();
+            } else {
+                LOGGER.debug("Releasing stale OpenAPI ConfigMap {} from {}", name, sd.getMetadata().getName());
+                client.configMaps().inNamespace(sdNamespace).withName(name)
+                        .edit(cm -> new ConfigMapBuilder(cm)
+                                .editMetadata()
+                                .removeMatchingFromOwnerReferences(ref -> sd.getMetadata().getUid().equals(ref.getUid()))
+                                .endMetadata()
+                                .build());
+            }
+        }
+    }
+
+    private boolean isOwnedBy(HasMetadata resource, ServiceDomain sd) {
+        return resource.getMetadata().getOwnerReferences() != null && resource.getMetadata().getOwnerReferences()
+                .stream()
+                .anyMatch(ref -> Objects.equals(ref.getUid(), sd.getMetadata().getUid()));
+    }
+
+    private boolean isShared(HasMetadata resource) {
+        return resource.getMetadata().getLabels() != null
+                && resource.getMetadata().getLabels().entrySet().containsAll(getSharedLabels().entrySet());
+    }
+
+    // Until its handler has run, the store still holds the ConfigMap as the informer received it
+    ConfigMap getConfigMap(String namespace, String name) {
+        final ConfigMap configMap = getCachedOrFetch(routeConfigMapInformer, namespace, name,
+                () -> client.configMaps().inNamespace(namespace).withName(name).get());
+        return configMapMetadataOnly ? ConfigMapPayloadStripper.strip(configMap) : configMap;
+    }
+
+    // Cached ConfigMaps only keep their metadata, the payload is fetched when it is actually needed
+    private Map<String, String> getConfigMapData(ConfigMap configMap) {
+        if (configMap.getData() != null) {
+            return configMap.getData();
+        }
+        final ConfigMap fetched = client.configMaps().inNamespace(configMap.getMetadata().getNamespace()).withName(configMap.getMetadata().getName()).get();
+        return fetched == null || fetched.getData() == null ? Map.of() : fetched.getData();
+    }
+
+    private GenericKubernetesResource getIntegration(String namespace, String name) {
+        return getCachedOrFetch(integrationInformer, namespace, name,
+                () -> client.genericKubernetesResources(CAMEL_RESOURCE_DEFINITION).inNamespace(namespace).withName(name).get());
     }
 
     private void deleteCamelHttpIntegration(ServiceDomain sd) {
         final String integrationName = sd.getMetadata().getName() + INTEGRATION_SUFFIX;
-        final GenericKubernetesResource integration = client.genericKubernetesResources(CAMEL_RESOURCE_DEFINITION).inNamespace(sd.getMetadata().getNamespace()).withName(integrationName).get();
+        final GenericKubernetesResource integration = getIntegration(sd.getMetadata().getNamespace(), integrationName);
         if (integration != null) {
             client.genericKubernetesResources(CAMEL_RESOURCE_DEFINITION).inNamespace(sd.getMetadata().getNamespace()).withName(integrationName).delete();
         }
     }
 
-    private Condition createOrUpdateCamelKHttpIntegration(ServiceDomain sd, String sdCamelRouteYaml) {
+    private Condition createOrUpdateCamelKHttpIntegration(ServiceDomain sd, Map<String, Object> integrationSpec) {
         final String integrationName = sd.getMetadata().getName() + INTEGRATION_SUFFIX;
-
-        String yamlString = mergeCamelYamls(sd, integrationName, sdCamelRouteYaml);
-
-        Resource<GenericKubernetesResource> expected = client.genericKubernetesResources(CAMEL_RESOURCE_DEFINITION)
-                .inNamespace(sd.getMetadata().getNamespace())
-                .load(new ByteArrayInputStream(yamlString.getBytes(StandardCharsets.UTF_8)));
-
         final String sdNamespace = sd.getMetadata().getNamespace();
-        GenericKubernetesResource current = client.genericKubernetesResources(CAMEL_RESOURCE_DEFINITION)
-                .inNamespace(sdNamespace)
-                .withName(integrationName)
-                .get();
+        GenericKubernetesResource current = getIntegration(sdNamespace, integrationName);
 
         if (current == null || !Objects.equals(
                 current.getAdditionalProperties().get(INTEGRATION_SPEC_PROPERTY),
-                expected.get().getAdditionalProperties().get(INTEGRATION_SPEC_PROPERTY))
+                integrationSpec)
         ) {
             LOGGER.debug("Creating or replacing Integration {}", integrationName);
-            client.genericKubernetesResources(CAMEL_RESOURCE_DEFINITION)
-                    .inNamespace(sd.getMetadata().getNamespace())
-                    .createOrReplace(expected.get());
+            createOrApply(client.genericKubernetesResources(CAMEL_RESOURCE_DEFINITION)
+                    .inNamespace(sdNamespace), buildIntegration(sd, integrationName, integrationSpec));
             LOGGER.debug("Created or replaced Integration {}", integrationName);
         }
 
@@ -350,23 +629,31 @@ public class ServiceDomainController extends AbstractController<ServiceDomainSpe
         return false;
     }
 
-    private String mergeCamelYamls(ServiceDomain sd, String integrationName, String sdCamelRouteYaml) {
-        final com.redhat.mercury.model.ServiceDomain sdType = sd.getSpec().getType();
-        final String sdTypeAsString = toLowerHyphen(sdType.value);
+    Map<String, Object> getIntegrationSpec(String sdTypeAsString, String apiVersion, String openApiConfigMapName, ConfigMap directConfigMap) {
+        final String templateKey = sdTypeAsString + "/" + apiVersion + "/" + version + "/" + openApiConfigMapName;
+        final String namespace = directConfigMap.getMetadata().getNamespace();
+        final String resourceVersion = directConfigMap.getMetadata().getResourceVersion();
 
-        sdCamelRouteYaml = sdCamelRouteYaml.replaceAll(COMMENT_LINE_REGEX, "").trim();
+        final IntegrationTemplate template = integrationTemplates.computeIfAbsent(templateKey, key -> new IntegrationTemplate());
+        final Map<String, Object> renderedSpec = template.getSpec(namespace, resourceVersion);
+        if (renderedSpec != null) {
+            return renderedSpec;
+        }
+        final String sdCamelRouteYaml = getConfigMapData(directConfigMap).get(CONFIG_MAP_CAMEL_ROUTES_DIRECT_KEY);
+        final Map<String, Object> spec = template.getSpec(sdCamelRouteYaml, routes -> {
+            LOGGER.debug("Rendering Integration template {}", templateKey);
+            // Routes left as bundled reuse the tree parsed at startup
+            final ServiceDomainAssets assets = assetRegistry.get(apiVersion, sdTypeAsString);
+            final Object flows = assets != null && assets.getDirects().equals(routes)
+                    ? assets.getRoutes()
+                    : ServiceDomainAssetRegistry.parseRoutes(routes);
+            return renderIntegrationSpec(sdTypeAsString, openApiConfigMapName, flows);
+        });
+        template.addSource(namespace, resourceVersion, spec);
+        return spec;
+    }
 
-        Yaml yaml = new Yaml();
-        Map<String, Object> data = new LinkedHashMap<>();
-        data.put("apiVersion", "camel.apache.org/v1");
-        data.put("kind", "Integration");
-        data.put("metadata", Map.of("name", integrationName,
-                "namespace", sd.getMetadata().getNamespace(),
-                "labels", Map.of(MANAGED_BY_LABEL, OPERATOR_NAME),
-                "ownerReferences", List.of(new TreeMap<>(Map.of("apiVersion", MercuryConstants.API_VERSION,
-                        "kind", SERVICE_DOMAIN_OWNER_REFERENCES_KIND,
-                        "name", sd.getMetadata().getName(),
-                        "uid", sd.getMetadata().getUid())))));
+    Map<String, Object> renderIntegrationSpec(String sdTypeAsString, String openApiConfigMapName, Object flows) {
         final Map<String, Object> specMap = new TreeMap<>(
                 Map.of("traits",
                         Map.of("environment",
@@ -377,18 +664,51 @@ public class ServiceDomainController extends AbstractController<ServiceDomainSpe
                                         )
                                 ),
                                 "openapi", Map.of("configuration",
-                                        Map.of("configmaps", List.of(sdTypeAsString + OPENAPI_CM_SUFFIX + "-" + OPEN_API_CONFIG_MAP_VERSION))
+                                        Map.of("configmaps", List.of(openApiConfigMapName))
                                 )
                         ),
                         "dependencies",
                         List.of("mvn:io.github.open-accelerators:" + sdTypeAsString + "-common:" + version,
                                 "camel:protobuf"),
-                        "flows", yaml.load(sdCamelRouteYaml)));
-        data.put("spec", specMap);
-        return yaml.dumpAsMap(data);
+                        "flows", flows));
+        return Collections.unmodifiableMap(specMap);
     }
 
-    private void createOrUpdateDeployment(ServiceDomain sd, String kafkaBrokerUrl) {
+    private GenericKubernetesResource buildIntegration(ServiceDomain sd, String integrationName, Map<String, Object> spec) {
+        GenericKubernetesResource integration = new GenericKubernetesResource();
+        integration.setApiVersion("camel.apache.org/v1");
+        integration.setKind("Integration");
+        integration.setMetadata(new ObjectMetaBuilder()
+                .withName(integrationName)
+                .withNamespace(sd.getMetadata().getNamespace())
+                .withLabels(getManagedLabels(sd))
+                .withOwnerReferences(new OwnerReferenceBuilder()
+                        .withName(sd.getMetadata().getName())
+                        .withUid(sd.getMetadata().getUid())
+                        .withKind(SERVICE_DOMAIN_OWNER_REFERENCES_KIND)
+                        .withApiVersion(MercuryConstants.API_VERSION)
+                        .build())
+                .build());
+        integration.setAdditionalProperty(INTEGRATION_SPEC_PROPERTY, spec);
+        return integration;
+    }
+
+    private void createOrUpdateDeployment(ServiceDomain sd, String kafkaBrokerUrl, boolean authentication) {
+        String sdNS = sd.getMetadata().getNamespace();
+        String sdName = sd.getMetadata().getName();
+        Deployment desiredDeployment = buildDeployment(sd, kafkaBrokerUrl, authentication);
+
+        final Deployment sdDeployment = getCachedOrFetch(deploymentInformer, sdNS, sdName,
+                () -> client.apps().deployments().inNamespace(sdNS).withName(sdName).get());
+
+        if (isDesiredStateChanged(sdDeployment, desiredDeployment)) {
+            LOGGER.debug("Creating or replacing Deployment {}", sdName);
+            createOrApply(client.apps().deployments().inNamespace(sdNS), stampHash(desiredDeployment));
+            LOGGER.debug("Created or replaced Deployment {}", sdName);
+        }
+    }
+
+    Deployment buildDeployment(ServiceDomain sd, String kafkaBrokerUrl, boolean authentication) {
         String sdNS = sd.getMetadata().getNamespace();
         String sdName = sd.getMetadata().getName();
 
@@ -398,8 +718,10 @@ public class ServiceDomainController extends AbstractController<ServiceDomainSpe
                 .withNamespace(sdNS)
                 .withLabels(Map.of(APP_LABEL, APP_LABEL_BIAN_PREFIX + sdName, SERVICE_DOMAIN_LABEL, sdName,
                         MANAGED_BY_LABEL, OPERATOR_NAME))
+                .addToLabels(watchScope.getShardLabels(sd))
                 .endMetadata()
                 .withSpec(new DeploymentSpecBuilder()
+                        .withReplicas(sd.getSpec().getReplicas())
                         .withSelector(new LabelSelectorBuilder()
                                 .withMatchLabels(Map.of(APP_LABEL, APP_LABEL_BIAN_PREFIX + sdName))
                                 .build())
@@ -415,9 +737,7 @@ public class ServiceDomainController extends AbstractController<ServiceDomainSpe
                                                 .withPorts(new ContainerPortBuilder()
                                                         .withContainerPort(SERVICE_PORT)
                                                         .withName(SERVICE_NAME).build())
-                                                .withEnv(new EnvVarBuilder()
-                                                        .withName(MERCURY_KAFKA_BROKER_ENV_VAR)
-                                                        .withValue(kafkaBrokerUrl).build())
+                                                .withEnv(buildKafkaEnv(sdName, kafkaBrokerUrl, authentication))
                                                 .build())
                                         .build())
                                 .build())
@@ -430,21 +750,226 @@ public class ServiceDomainController extends AbstractController<ServiceDomainSpe
                 .withKind(SERVICE_DOMAIN_OWNER_REFERENCES_KIND)
                 .withApiVersion(MercuryConstants.API_VERSION)
                 .build()));
+        return desiredDeployment;
+    }
 
-        final Deployment sdDeployment = client.apps().deployments().inNamespace(sdNS).withName(sdName).get();
-
-        if (sdDeployment == null || !Objects.equals(sdDeployment.getSpec(), desiredDeployment.getSpec())) {
-            LOGGER.debug("Creating or replacing Deployment {}", sdName);
-            client.apps().deployments().inNamespace(sdNS).createOrReplace(desiredDeployment);
-            LOGGER.debug("Created or replaced Deployment {}", sdName);
+    // The SASL settings are only passed when the Kafka requires the credentials of the KafkaUser
+    private List<EnvVar> buildKafkaEnv(String sdName, String kafkaBrokerUrl, boolean authentication) {
+        final List<EnvVar> env = new ArrayList<>();
+        env.add(new EnvVarBuilder()
+                .withName(MERCURY_KAFKA_BROKER_ENV_VAR)
+                .withValue(kafkaBrokerUrl).build());
+        if (authentication) {
+            env.add(new EnvVarBuilder()
+                    .withName(KAFKA_SECURITY_PROTOCOL_ENV_VAR)
+                    .withValue(KAFKA_SECURITY_PROTOCOL).build());
+            env.add(new EnvVarBuilder()
+                    .withName(KAFKA_SASL_MECHANISM_ENV_VAR)
+                    .withValue(KAFKA_SASL_MECHANISM).build());
+            env.add(new EnvVarBuilder()
+                    .withName(KAFKA_SASL_JAAS_CONFIG_ENV_VAR)
+                    .withNewValueFrom()
+                    .withNewSecretKeyRef()
+                    .withName(sdName + KAFKA_USER_SUFFIX)
+                    .withKey(KAFKA_USER_SASL_JAAS_CONFIG_KEY)
+                    .endSecretKeyRef()
+                    .endValueFrom()
+                    .build());
         }
+        env.add(new EnvVarBuilder()
+                .withName(KAFKA_GROUP_ID_ENV_VAR)
+                .withValue(sdName).build());
+        return env;
     }
 
     private void createOrUpdateService(ServiceDomain sd) {
         String sdNS = sd.getMetadata().getNamespace();
         String svcName = ResourceUtils.toLowerHyphen(sd.getSpec().getType().value);
+        Service desiredService = buildService(sd);
+
+        final Service sdService = getCachedOrFetch(servicesInformer, sdNS, svcName,
+                () -> client.services().inNamespace(sdNS).withName(svcName).get());
+
+        if (isDesiredStateChanged(sdService, desiredService)) {
+            LOGGER.debug("Creating or replacing Service {}", svcName);
+            createOrApply(client.services().inNamespace(sdNS), stampHash(desiredService));
+            LOGGER.debug("Created or replaced Service {}", svcName);
+        }
+    }
+
+    private Condition createOrUpdateKafkaTopic(ServiceDomain sd, ServiceDomainInfra sdi) {
+        final String sdNamespace = sd.getMetadata().getNamespace();
+        final String topicName = sd.getMetadata().getName() + KAFKA_TOPIC_SUFFIX;
+        final KafkaTopic current = getCachedOrFetch(kafkaTopicInformer, sdNamespace, topicName,
+                () -> client.resources(KafkaTopic.class).inNamespace(sdNamespace).withName(topicName).get());
+        final KafkaTopic desired = buildKafkaTopic(sd, sdi, current);
+
+        if (isDesiredStateChanged(current, desired)) {
+            LOGGER.debug("Creating or replacing KafkaTopic {}", topicName);
+            createOrApply(client.resources(KafkaTopic.class).inNamespace(sdNamespace), stampHash(desired));
+            LOGGER.debug("Created or replaced KafkaTopic {}", topicName);
+        }
+        sd.getStatus().setKafkaTopic(topicName);
+
+        if (current != null && isReady(current.getStatus())) {
+            return new ConditionBuilder()
+                    .withType(CONDITION_KAFKA_TOPIC_READY)
+                    .withStatus(STATUS_TRUE)
+                    .build();
+        }
+        return new ConditionBuilder()
+                .withType(CONDITION_KAFKA_TOPIC_READY)
+                .withStatus(STATUS_FALSE)
+                .withReason(REASON_KAFKA_TOPIC_WAITING)
+                .withMessage(MESSAGE_KAFKA_TOPIC_NOT_READY)
+                .build();
+    }
+
+    KafkaTopic buildKafkaTopic(ServiceDomain sd, ServiceDomainInfra sdi, KafkaTopic current) {
+        final Integer currentPartitions = current != null && current.getSpec() != null ? current.getSpec().getPartitions() : null;
+        final Map<String, String> labels = getManagedLabels(sd);
+        labels.put(STRIMZI_CLUSTER_LABEL, sdi.getMetadata().getName());
+
+        return new KafkaTopicBuilder()
+                .withNewMetadata()
+                .withName(sd.getMetadata().getName() + KAFKA_TOPIC_SUFFIX)
+                .withNamespace(sd.getMetadata().getNamespace())
+                .withLabels(labels)
+                .withOwnerReferences(new OwnerReferenceBuilder()
+                        .withName(sd.getMetadata().getName())
+                        .withUid(sd.getMetadata().getUid())
+                        .withKind(SERVICE_DOMAIN_OWNER_REFERENCES_KIND)
+                        .withApiVersion(MercuryConstants.API_VERSION)
+                        .build())
+                .endMetadata()
+                .withNewSpec()
+                .withPartitions(KafkaTopicSizing.getPartitions(sd.getSpec().getKafkaTopic(), sd.getSpec().getReplicas(),
+                        partitionThroughput, currentPartitions))
+                .withReplicas(KafkaTopicSizing.getReplicas(sd.getSpec().getKafkaTopic(), sdi.getSpec().getKafka()))
+                .withConfig(KafkaTopicSizing.getConfig(sd.getSpec().getKafkaTopic()))
+                .endSpec()
+                .build();
+    }
 
-        Service desiredService = new ServiceBuilder()
+    private Condition createOrUpdateKafkaUser(ServiceDomain sd, ServiceDomainInfra sdi) {
+        final String sdNamespace = sd.getMetadata().getNamespace();
+        final String userName = sd.getMetadata().getName() + KAFKA_USER_SUFFIX;
+        final KafkaUser current = getCachedOrFetch(kafkaUserInformer, sdNamespace, userName,
+                () -> client.resources(KafkaUser.class).inNamespace(sdNamespace).withName(userName).get());
+        final KafkaUser desired = buildKafkaUser(sd, sdi);
+
+        if (isDesiredStateChanged(current, desired)) {
+            LOGGER.debug("Creating or replacing KafkaUser {}", userName);
+            createOrApply(client.resources(KafkaUser.class).inNamespace(sdNamespace), stampHash(desired));
+            LOGGER.debug("Created or replaced KafkaUser {}", userName);
+        }
+
+        if (current != null && isReady(current.getStatus())) {
+            sd.getStatus().setKafkaUser(current.getStatus().getUsername());
+            sd.getStatus().setKafkaUserSecret(current.getStatus().getSecret());
+            return new ConditionBuilder()
+                    .withType(CONDITION_KAFKA_USER_READY)
+                    .withStatus(STATUS_TRUE)
+                    .build();
+        }
+        return new ConditionBuilder()
+                .withType(CONDITION_KAFKA_USER_READY)
+                .withStatus(STATUS_FALSE)
+                .withReason(REASON_KAFKA_USER_WAITING)
+                .withMessage(MESSAGE_KAFKA_USER_NOT_READY)
+                .build();
+    }
+
+    // The user of a service domain whose infra no longer requires authentication is removed with its credentials
+    private void deleteKafkaUser(ServiceDomain sd) {
+        final String sdNamespace = sd.getMetadata().getNamespace();
+        final String userName = sd.getMetadata().getName() + KAFKA_USER_SUFFIX;
+        final KafkaUser current = getCachedOrFetch(kafkaUserInformer, sdNamespace, userName,
+                () -> client.resources(KafkaUser.class).inNamespace(sdNamespace).withName(userName).get());
+        if (current != null) {
+            client.resources(KafkaUser.class).inNamespace(sdNamespace).withName(userName).delete();
+        }
+        sd.getStatus().setKafkaUser(null);
+        sd.getStatus().setKafkaUserSecret(null);
+    }
+
+    // SCRAM user allowed to use the topic of the service domain and the consumer groups named after it
+    KafkaUser buildKafkaUser(ServiceDomain sd, ServiceDomainInfra sdi) {
+        final String sdName = sd.getMetadata().getName();
+        final String topicName = sdName + KAFKA_TOPIC_SUFFIX;
+        final Map<String, String> labels = getManagedLabels(sd);
+        labels.put(STRIMZI_CLUSTER_LABEL, sdi.getMetadata().getName());
+
+        final List<AclRule> acls = new ArrayList<>();
+        for (AclOperation operation : List.of(AclOperation.READ, AclOperation.WRITE, AclOperation.DESCRIBE, AclOperation.DESCRIBECONFIGS)) {
+            acls.add(new AclRuleBuilder()
+                    .withResource(new AclRuleTopicResourceBuilder()
+                            .withName(topicName)
+                            .withPatternType(AclResourcePatternType.LITERAL)
+                            .build())
+                    .withOperation(operation)
+                    .build());
+        }
+        acls.add(new AclRuleBuilder()
+                .withResource(new AclRuleGroupResourceBuilder()
+                        .withName(sdName)
+                        .withPatternType(AclResourcePatternType.PREFIX)
+                        .build())
+                .withOperation(AclOperation.READ)
+                .build());
+
+        return new KafkaUserBuilder()
+                .withNewMetadata()
+                .withName(sdName + KAFKA_USER_SUFFIX)
+                .withNamespace(sd.getMetadata().getNamespace())
+                .withLabels(labels)
+                .withOwnerReferences(new OwnerReferenceBuilder()
+                        .withName(sdName)
+                        .withUid(sd.getMetadata().getUid())
+                        .withKind(SERVICE_DOMAIN_OWNER_REFERENCES_KIND)
+                        .withApiVersion(MercuryConstants.API_VERSION)
+                        .build())
+                .endMetadata()
+                .withNewSpec()
+                .withAuthentication(new KafkaUserScramSha512ClientAuthentication())
+                .withAuthorization(new KafkaUserAuthorizationSimpleBuilder()
+                        .withAcls(acls)
+                        .build())
+                .withQuotas(buildKafkaUserQuotas(sd))
+                .endSpec()
+                .build();
+    }
+
+    private KafkaUserQuotas buildKafkaUserQuotas(ServiceDomain sd) {
+        final KafkaUserConfig config = sd.getSpec().getKafkaUser() != null ? sd.getSpec().getKafkaUser() : new KafkaUserConfig();
+        final Integer producerByteRate = config.getProducerByteRate() != null ? config.getProducerByteRate() : defaultProducerByteRate.orElse(null);
+        final Integer consumerByteRate = config.getConsumerByteRate() != null ? config.getConsumerByteRate() : defaultConsumerByteRate.orElse(null);
+        final Integer requestPercentage = config.getRequestPercentage() != null ? config.getRequestPercentage() : defaultRequestPercentage.orElse(null);
+        if (producerByteRate == null && consumerByteRate == null && requestPercentage == null) {
+            return null;
+        }
+        return new KafkaUserQuotasBuilder()
+                .withProducerByteRate(producerByteRate)
+                .withConsumerByteRate(consumerByteRate)
+                .withRequestPercentage(requestPercentage)
+                .build();
+    }
+
+    // Strimzi resources report the outcome of their operators in a Ready condition
+    private boolean isReady(Status status) {
+        if (status == null || status.getConditions() == null) {
+            return false;
+        }
+        return status.getConditions()
+                .stream()
+                .anyMatch(c -> CONDITION_READY.equals(c.getType()) && STATUS_TRUE.equals(c.getStatus()));
+    }
+
+    Service buildService(ServiceDomain sd) {
+        String sdNS = sd.getMetadata().getNamespace();
+        String svcName = ResourceUtils.toLowerHyphen(sd.getSpec().getType().value);
+
+        return new ServiceBuilder()
                 .withApiVersion("v1")
                 .withNewMetadata()
                 .withName(svcName)
@@ -452,6 +977,7 @@ public class ServiceDomainController extends AbstractController<ServiceDomainSpe
                 .withLabels(Map.of(APP_LABEL, APP_LABEL_BIAN_PREFIX + svcName, SERVICE_DOMAIN_LABEL,
                         svcName, MERCURY_BINDING_LABEL, INTERNAL,
                         MANAGED_BY_LABEL, OPERATOR_NAME))
+                .addToLabels(watchScope.getShardLabels(sd))
                 .withOwnerReferences(List.of(new OwnerReferenceBuilder()
                         .withName(sd.getMetadata().getName())
                         .withUid(sd.getMetadata().getUid())
@@ -465,13 +991,5 @@ public class ServiceDomainController extends AbstractController<ServiceDomainSpe
                         .withName(SERVICE_NAME).build())
                 .withSelector(Map.of(APP_LABEL, APP_LABEL_BIAN_PREFIX + sd.getMetadata().getName()))
                 .endSpec().build();
-
-        final Service sdService = client.services().inNamespace(sdNS).withName(svcName).get();
-
-        if (sdService == null || !Objects.equals(sdService.getSpec(), desiredService.getSpec())) {
-            LOGGER.debug("Creating or replacing Service {}", svcName);
-            client.services().inNamespace(sdNS).createOrReplace(desiredService);
-            LOGGER.debug("Created or replaced Service {}", svcName);
-        }
     }
 }
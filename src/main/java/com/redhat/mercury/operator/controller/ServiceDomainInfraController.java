@@ -1,36 +1,64 @@
 package com.redhat.mercury.operator.controller;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.redhat.mercury.operator.model.KafkaConfig;
+import com.redhat.mercury.operator.model.KafkaConfigBuilder;
+import com.redhat.mercury.operator.model.KafkaMetricsConfig;
+import com.redhat.mercury.operator.model.KafkaNodePoolConfig;
+import com.redhat.mercury.operator.model.KafkaStorage;
+import com.redhat.mercury.operator.model.KafkaTopologyConfig;
 import com.redhat.mercury.operator.model.MercuryConstants;
 import com.redhat.mercury.operator.model.ServiceDomainInfra;
+import com.redhat.mercury.operator.model.ServiceDomainInfraBuilder;
 import com.redhat.mercury.operator.model.ServiceDomainInfraSpec;
+import com.redhat.mercury.operator.model.ServiceDomainInfraSpecBuilder;
 import com.redhat.mercury.operator.model.ServiceDomainInfraStatus;
 
 import io.fabric8.kubernetes.api.model.Condition;
 import io.fabric8.kubernetes.api.model.ConditionBuilder;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
-import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.api.reconciler.ControllerConfiguration;
+import io.javaoperatorsdk.operator.api.reconciler.DeleteControl;
 import io.javaoperatorsdk.operator.api.reconciler.EventSourceContext;
 import io.javaoperatorsdk.operator.api.reconciler.EventSourceInitializer;
 import io.javaoperatorsdk.operator.api.reconciler.Reconciler;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
 import io.javaoperatorsdk.operator.processing.event.source.EventSource;
+import io.strimzi.api.kafka.model.CruiseControlSpecBuilder;
 import io.strimzi.api.kafka.model.EntityOperatorSpecBuilder;
 import io.strimzi.api.kafka.model.EntityTopicOperatorSpecBuilder;
+import io.strimzi.api.kafka.model.EntityUserOperatorSpecBuilder;
 import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.api.kafka.model.KafkaAuthorizationSimpleBuilder;
 import io.strimzi.api.kafka.model.KafkaBuilder;
 import io.strimzi.api.kafka.model.KafkaClusterSpecBuilder;
+import io.strimzi.api.kafka.model.KafkaRebalance;
+import io.strimzi.api.kafka.model.KafkaRebalanceBuilder;
 import io.strimzi.api.kafka.model.ZookeeperClusterSpecBuilder;
+import io.strimzi.api.kafka.model.balancing.KafkaRebalanceMode;
+import io.strimzi.api.kafka.model.listener.KafkaListenerAuthenticationScramSha512;
+import io.strimzi.api.kafka.model.listener.KafkaListenerAuthenticationTls;
 import io.strimzi.api.kafka.model.listener.arraylistener.GenericKafkaListenerBuilder;
 import io.strimzi.api.kafka.model.listener.arraylistener.KafkaListenerType;
 import io.strimzi.api.kafka.model.status.ListenerStatus;
@@ -38,16 +66,63 @@ import io.strimzi.api.kafka.model.storage.EphemeralStorage;
 import io.strimzi.api.kafka.model.storage.PersistentClaimStorageBuilder;
 import io.strimzi.api.kafka.model.storage.SingleVolumeStorage;
 import io.strimzi.api.kafka.model.storage.Storage;
+import io.strimzi.api.kafka.model.template.KafkaClusterTemplateBuilder;
+import io.strimzi.api.kafka.model.template.ZookeeperClusterTemplateBuilder;
 
+import static com.redhat.mercury.operator.controller.KafkaComponentResources.BROKER_HEAP_RATIO;
+import static com.redhat.mercury.operator.controller.KafkaComponentResources.ENTITY_OPERATOR_HEAP_RATIO;
+import static com.redhat.mercury.operator.controller.KafkaComponentResources.ZOOKEEPER_HEAP_RATIO;
+import static com.redhat.mercury.operator.controller.KafkaComponentResources.getJvmOptions;
+import static com.redhat.mercury.operator.controller.KafkaComponentResources.getResources;
+import static com.redhat.mercury.operator.controller.KafkaMetrics.KAFKA_EXPORTER_COMPONENT;
+import static com.redhat.mercury.operator.controller.KafkaMetrics.KAFKA_METRICS_KEY;
+import static com.redhat.mercury.operator.controller.KafkaMetrics.METRICS_LABELS;
+import static com.redhat.mercury.operator.controller.KafkaMetrics.METRICS_PORT;
+import static com.redhat.mercury.operator.controller.KafkaMetrics.METRICS_PORT_NAME;
+import static com.redhat.mercury.operator.controller.KafkaMetrics.ZOOKEEPER_METRICS_KEY;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.BROKER_POOL;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.CONTROLLER_POOL;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.ENABLED;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.KRAFT_KAFKA_VERSION;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.KRAFT_METADATA_VERSION;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.METADATA_VERSION_PROPERTY;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.NODE_IDS_PROPERTY;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.NODE_POOL_DEFINITION;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.PROTOCOL_VERSION_CONFIG;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.ROLE_BROKER;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.ROLE_CONTROLLER;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.SPEC_PROPERTY;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.STATUS_PROPERTY;
+import static com.redhat.mercury.operator.controller.KafkaRebalances.APPROVE;
+import static com.redhat.mercury.operator.controller.KafkaRebalances.REBALANCE_ANNOTATION;
+import static com.redhat.mercury.operator.controller.KafkaRebalances.REBALANCE_SUFFIX;
+import static com.redhat.mercury.operator.controller.KafkaRebalances.REFRESH;
+import static com.redhat.mercury.operator.controller.KafkaRebalances.REQUESTED_AT_ANNOTATION;
+import static com.redhat.mercury.operator.controller.KafkaRebalances.STATE_NOT_READY;
+import static com.redhat.mercury.operator.controller.KafkaRebalances.STATE_PROPOSAL_READY;
+import static com.redhat.mercury.operator.controller.KafkaRebalances.STATE_READY;
+import static com.redhat.mercury.operator.controller.KafkaRebalances.STATE_REBALANCING;
+import static com.redhat.mercury.operator.controller.KafkaRebalances.TARGET_REPLICAS_ANNOTATION;
+import static com.redhat.mercury.operator.controller.KafkaTopology.KAFKA_COMPONENT;
+import static com.redhat.mercury.operator.controller.KafkaTopology.STRIMZI_NAME_LABEL;
+import static com.redhat.mercury.operator.controller.KafkaTopology.ZOOKEEPER_COMPONENT;
+import static com.redhat.mercury.operator.controller.KafkaTopology.getBrokerConfig;
+import static com.redhat.mercury.operator.controller.KafkaTopology.getPodTemplate;
+import static com.redhat.mercury.operator.controller.KafkaTopology.getRack;
+import static com.redhat.mercury.operator.controller.ServiceDomainController.STRIMZI_CLUSTER_LABEL;
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.MESSAGE_WAITING;
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.REASON_WAITING;
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.STATUS_FALSE;
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.STATUS_TRUE;
 import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.CONDITION_KAFKA_BROKER_READY;
+import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.CONDITION_KAFKA_REBALANCE_READY;
 import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.CONDITION_READY;
 import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.MESSAGE_KAFKA_BROKER_NOT_READY;
 import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.REASON_KAFKA_EXCEPTION;
+import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.REASON_KAFKA_REBALANCE_FAILED;
+import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.REASON_KAFKA_REBALANCING;
 import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.REASON_KAFKA_WAITING;
+import static com.redhat.mercury.operator.utils.ResourceUtils.now;
 import static io.strimzi.api.kafka.model.authentication.KafkaClientAuthenticationPlain.TYPE_PLAIN;
 import static io.strimzi.api.kafka.model.authentication.KafkaClientAuthenticationTls.TYPE_TLS;
 
@@ -56,22 +131,71 @@ public class ServiceDomainInfraController extends AbstractController<ServiceDoma
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ServiceDomainInfraController.class);
 
+    private static final String CONTROLLER_NAME = "service-domain-infra";
     private static final String DEFAULT_PERSISTENT_STORAGE = "100Gi";
     private static final String KAFKA_VERSION = "3.0.0";
     private static final String BROKER_PROTOCOL_VERSION = "3.0";
 
+    // Time given to Cruise Control to compute a proposal before asking it again
+    @ConfigProperty(name = "mercury.operator.kafka-rebalance.retry-interval", defaultValue = "2m")
+    Duration rebalanceRetryInterval;
+
+    private ScopedInformer<KafkaRebalance> kafkaRebalanceInformer;
+    private ScopedInformer<GenericKubernetesResource> kafkaNodePoolInformer;
+    private ScopedInformer<ConfigMap> metricsConfigMapInformer;
+    private ScopedInformer<Service> metricsServiceInformer;
+
     @Override
     public List<EventSource> prepareEventSources(EventSourceContext<ServiceDomainInfra> context) {
-        SharedIndexInformer<Kafka> kafkaInformer = client.resources(Kafka.class)
-                .inAnyNamespace()
-                .withLabel(MANAGED_BY_LABEL, OPERATOR_NAME)
-                .runnableInformer(0);
+        registerPrimaryCache(context);
 
-        return List.of(getInformerEventSource(kafkaInformer));
+        final ScopedInformer<Kafka> kafkaInformer = getManagedInformer(client.resources(Kafka.class));
+        kafkaRebalanceInformer = getManagedInformer(client.resources(KafkaRebalance.class));
+        // Every node pool of the watched namespaces, a pool of another Kafka holds the name the KRaft cluster needs
+        kafkaNodePoolInformer = getScopedInformer(client.genericKubernetesResources(NODE_POOL_DEFINITION), Map.of());
+        metricsConfigMapInformer = getManagedInformer(client.configMaps(), METRICS_LABELS);
+        metricsServiceInformer = getManagedInformer(client.services(), METRICS_LABELS);
+        metrics.registerInformer(CONTROLLER_NAME, "kafkas", kafkaInformer, ScopedInformer::size);
+        metrics.registerInformer(CONTROLLER_NAME, "kafkarebalances", kafkaRebalanceInformer, ScopedInformer::size);
+        metrics.registerInformer(CONTROLLER_NAME, "kafkanodepools", kafkaNodePoolInformer, ScopedInformer::size);
+        metrics.registerInformer(CONTROLLER_NAME, "configmaps", metricsConfigMapInformer, ScopedInformer::size);
+        metrics.registerInformer(CONTROLLER_NAME, "services", metricsServiceInformer, ScopedInformer::size);
+
+        final List<EventSource> eventSources = new ArrayList<>(getInformerEventSources(kafkaInformer));
+        eventSources.addAll(getInformerEventSources(kafkaRebalanceInformer));
+        eventSources.addAll(getInformerEventSources(kafkaNodePoolInformer));
+        eventSources.addAll(getInformerEventSources(metricsConfigMapInformer));
+        eventSources.addAll(getInformerEventSources(metricsServiceInformer));
+        return eventSources;
+    }
+
+    @Override
+    protected String getControllerName() {
+        return CONTROLLER_NAME;
+    }
+
+    ScopedInformer<KafkaRebalance> getKafkaRebalanceInformer() {
+        return kafkaRebalanceInformer;
+    }
+
+    @Override
+    public DeleteControl cleanup(ServiceDomainInfra sdi, Context context) {
+        forgetResource(sdi);
+        return DeleteControl.defaultDelete();
     }
 
     @Override
     public UpdateControl<ServiceDomainInfra> reconcile(ServiceDomainInfra sdi, Context context) {
+        // The primary informers only watch the namespaces of the shard when sharding by namespace over a list of
+        // namespaces, otherwise they also see the resources of the other shards
+        if (!watchScope.isInShard(sdi)) {
+            forgetResource(sdi);
+            return UpdateControl.noUpdate();
+        }
+        return observeReconcile(sdi, () -> reconcileServiceDomainInfra(sdi));
+    }
+
+    private UpdateControl<ServiceDomainInfra> reconcileServiceDomainInfra(ServiceDomainInfra sdi) {
         setStatusCondition(sdi, new ConditionBuilder()
                 .withType(CONDITION_READY)
                 .withStatus(STATUS_FALSE)
@@ -79,21 +203,27 @@ public class ServiceDomainInfraController extends AbstractController<ServiceDoma
                 .withMessage(MESSAGE_WAITING)
                 .build());
         try {
-            Condition kafkaCondition = createOrUpdateKafkaBroker(sdi);
+            Condition kafkaCondition = observePhase(sdi, "kafka", () -> createOrUpdateKafkaBroker(sdi));
             if (kafkaCondition != null) {
                 return updateStatusWithCondition(sdi, kafkaCondition);
             }
-            kafkaCondition = setKafkaBrokerUrl(sdi);
+            kafkaCondition = observePhase(sdi, "kafka-status", () -> setKafkaBrokerUrl(sdi));
             if (STATUS_FALSE.equals(kafkaCondition.getStatus())) {
                 return updateStatusWithCondition(sdi, kafkaCondition);
             }
             setStatusCondition(sdi, kafkaCondition);
-            if (areAllConditionsReady(sdi)) {
-                return updateStatusWithCondition(sdi, buildReadyCondition(CONDITION_READY));
+            final Condition rebalanceCondition = observePhase(sdi, "kafka-rebalance", () -> rebalanceKafka(sdi));
+            setStatusCondition(sdi, rebalanceCondition);
+            if (isKafkaReady(sdi)) {
+                setStatusCondition(sdi, buildReadyCondition(CONDITION_READY));
+            }
+            if (STATUS_FALSE.equals(rebalanceCondition.getStatus())) {
+                return rescheduleWithBackoff(sdi, updateStatus(sdi));
             }
             return updateStatus(sdi);
         } catch (Exception e) {
             LOGGER.error("{} service domain infra failed to be created/updated", sdi.getMetadata().getName(), e);
+            metrics.reconcileFailed(CONTROLLER_NAME, e);
             return updateStatusWithCondition(sdi, new ConditionBuilder()
                     .withType(CONDITION_KAFKA_BROKER_READY)
                     .withStatus(STATUS_FALSE)
@@ -109,6 +239,7 @@ public class ServiceDomainInfraController extends AbstractController<ServiceDoma
                 .withName(sdi.getMetadata().getName())
                 .get();
 
+        sdi.getStatus().setKafkaMetadataState(KafkaNodePools.getMetadataState(kafka));
         if (isKafkaBrokerReady(kafka)) {
             LOGGER.debug("KafkaBroker for {} is Ready", sdi.getMetadata().getName());
             List<ListenerStatus> listeners = kafka.getStatus().getListeners();
@@ -120,6 +251,8 @@ public class ServiceDomainInfraController extends AbstractController<ServiceDoma
                         listenerStatus.get().getBootstrapServers(), sdi.getMetadata().getName());
                 sdi.getStatus().setKafkaBroker(listenerStatus.get().getBootstrapServers());
             }
+            final KafkaMetricsConfig metrics = sdi.getSpec().getKafka().getMetrics();
+            sdi.getStatus().setKafkaMetricsEndpoints(metrics == null ? null : KafkaMetrics.getEndpoints(metrics, kafka, getBrokerNodeIds(sdi)));
             return new ConditionBuilder()
                     .withType(CONDITION_KAFKA_BROKER_READY)
                     .withStatus(STATUS_TRUE)
@@ -134,6 +267,218 @@ public class ServiceDomainInfraController extends AbstractController<ServiceDoma
                 .build();
     }
 
+    // Service domains keep using the Kafka while its partitions are moved
+    private boolean isKafkaReady(ServiceDomainInfra sdi) {
+        return sdi.getStatus()
+                .getConditions()
+                .stream()
+                .filter(c -> !c.getType().equals(CONDITION_READY) && !c.getType().equals(CONDITION_KAFKA_REBALANCE_READY))
+                .allMatch(c -> c.getStatus().equals(STATUS_TRUE));
+    }
+
+    private Condition rebalanceKafka(ServiceDomainInfra sdi) {
+        final String namespace = sdi.getMetadata().getNamespace();
+        final String rebalanceName = sdi.getMetadata().getName() + REBALANCE_SUFFIX;
+        final int desiredReplicas = KafkaNodePools.getBrokerReplicas(sdi.getSpec().getKafka());
+        if (!KafkaRebalances.isCruiseControlEnabled(KafkaRebalances.getBrokerReplicas(sdi.getStatus().getKafkaBrokerReplicas(), desiredReplicas))) {
+            // Cruise Control is not deployed with a single broker, there is nothing to rebalance
+            sdi.getStatus().setKafkaBrokerReplicas(desiredReplicas);
+            return buildReadyCondition(CONDITION_KAFKA_REBALANCE_READY);
+        }
+        KafkaRebalance current = getCachedOrFetch(kafkaRebalanceInformer, namespace, rebalanceName,
+                () -> client.resources(KafkaRebalance.class).inNamespace(namespace).withName(rebalanceName).get());
+        if (current != null && STATE_READY.equals(KafkaRebalances.getState(current))) {
+            LOGGER.debug("KafkaRebalance {} completed", rebalanceName);
+            final Integer targetReplicas = KafkaRebalances.getTargetReplicas(current);
+            if (targetReplicas != null) {
+                sdi.getStatus().setKafkaBrokerReplicas(targetReplicas);
+            } else {
+                // The balanced brokers are left as they were, the partitions are moved again if they still differ
+                LOGGER.warn("KafkaRebalance {} has no valid {} annotation", rebalanceName, TARGET_REPLICAS_ANNOTATION);
+            }
+            client.resources(KafkaRebalance.class).inNamespace(namespace).withName(rebalanceName).delete();
+            current = null;
+        }
+        final Integer balancedReplicas = sdi.getStatus().getKafkaBrokerReplicas();
+        if (balancedReplicas == null) {
+            // Nothing to move on a new cluster
+            sdi.getStatus().setKafkaBrokerReplicas(desiredReplicas);
+        }
+        if (balancedReplicas == null || balancedReplicas == desiredReplicas) {
+            if (current == null) {
+                return buildReadyCondition(CONDITION_KAFKA_REBALANCE_READY);
+            }
+            // The brokers went back to the balanced ones while a proposal was pending
+            if (!STATE_REBALANCING.equals(KafkaRebalances.getState(current))) {
+                client.resources(KafkaRebalance.class).inNamespace(namespace).withName(rebalanceName).delete();
+                return buildReadyCondition(CONDITION_KAFKA_REBALANCE_READY);
+            }
+            return buildRebalancingCondition(current);
+        }
+
+        final KafkaRebalanceMode mode = KafkaRebalances.getMode(balancedReplicas, desiredReplicas);
+        final List<Integer> brokers = KafkaRebalances.getBrokerIds(getBrokerNodeIds(sdi), balancedReplicas, desiredReplicas);
+        if (current != null && !STATE_REBALANCING.equals(KafkaRebalances.getState(current))
+                && !KafkaRebalances.isSameRebalance(current, mode, brokers)) {
+            client.resources(KafkaRebalance.class).inNamespace(namespace).withName(rebalanceName).delete();
+            current = null;
+        }
+        if (current == null) {
+            LOGGER.debug("Creating KafkaRebalance {} to {} {}", rebalanceName, mode, brokers);
+            current = createOrApply(client.resources(KafkaRebalance.class).inNamespace(namespace),
+                    buildKafkaRebalance(sdi, rebalanceName, mode, brokers, desiredReplicas));
+            return buildRebalancingCondition(current);
+        }
+
+        final String state = KafkaRebalances.getState(current);
+        if (STATE_PROPOSAL_READY.equals(state)) {
+            LOGGER.debug("Approving KafkaRebalance {}", rebalanceName);
+            annotateKafkaRebalance(current, Map.of(REBALANCE_ANNOTATION, APPROVE));
+        } else if (STATE_NOT_READY.equals(state)) {
+            final Instant requestedAt = KafkaRebalances.getRequestedAt(current);
+            if (requestedAt == null || requestedAt.plus(rebalanceRetryInterval).isBefore(Instant.now())) {
+                LOGGER.debug("Refreshing KafkaRebalance {}", rebalanceName);
+                annotateKafkaRebalance(current, Map.of(REBALANCE_ANNOTATION, REFRESH, REQUESTED_AT_ANNOTATION, now()));
+            }
+            return new ConditionBuilder()
+                    .withType(CONDITION_KAFKA_REBALANCE_READY)
+                    .withStatus(STATUS_FALSE)
+                    .withReason(REASON_KAFKA_REBALANCE_FAILED)
+                    .withMessage(KafkaRebalances.getMessage(current))
+                    .build();
+        }
+        return buildRebalancingCondition(current);
+    }
+
+    private Condition buildRebalancingCondition(KafkaRebalance rebalance) {
+        return new ConditionBuilder()
+                .withType(CONDITION_KAFKA_REBALANCE_READY)
+                .withStatus(STATUS_FALSE)
+                .withReason(REASON_KAFKA_REBALANCING)
+                .withMessage("Moving partitions to " + KafkaRebalances.getTargetReplicas(rebalance)
+                        + " brokers: " + KafkaRebalances.getState(rebalance))
+                .build();
+    }
+
+    private KafkaRebalance buildKafkaRebalance(ServiceDomainInfra sdi, String rebalanceName, KafkaRebalanceMode mode,
+            List<Integer> brokers, int targetReplicas) {
+        final Map<String, String> labels = getManagedLabels(sdi);
+        labels.put(STRIMZI_CLUSTER_LABEL, sdi.getMetadata().getName());
+        return new KafkaRebalanceBuilder()
+                .withNewMetadata()
+                .withName(rebalanceName)
+                .withNamespace(sdi.getMetadata().getNamespace())
+                .withLabels(labels)
+                .withAnnotations(Map.of(TARGET_REPLICAS_ANNOTATION, String.valueOf(targetReplicas), REQUESTED_AT_ANNOTATION, now()))
+                .withOwnerReferences(buildOwnerReference(sdi))
+                .endMetadata()
+                .withNewSpec()
+                .withMode(mode)
+                .withBrokers(brokers)
+                .endSpec()
+                .build();
+    }
+
+    private void annotateKafkaRebalance(KafkaRebalance rebalance, Map<String, String> annotations) {
+        client.resources(KafkaRebalance.class)
+                .inNamespace(rebalance.getMetadata().getNamespace())
+                .withName(rebalance.getMetadata().getName())
+                .edit(r -> new KafkaRebalanceBuilder(r)
+                        .editMetadata()
+                        .addToAnnotations(annotations)
+                        .endMetadata()
+                        .build());
+    }
+
+    // Ids of the brokers of the node pool, the brokers of a ZooKeeper cluster are numbered from 0
+    @SuppressWarnings("unchecked")
+    private List<Integer> getBrokerNodeIds(ServiceDomainInfra sdi) {
+        if (sdi.getSpec().getKafka().getKraft() == null) {
+            return null;
+        }
+        final GenericKubernetesResource brokerPool = getKafkaNodePool(sdi.getMetadata().getNamespace(), BROKER_POOL);
+        if (brokerPool == null || !(brokerPool.getAdditionalProperties().get(STATUS_PROPERTY) instanceof Map)) {
+            return null;
+        }
+        return (List<Integer>) ((Map<String, Object>) brokerPool.getAdditionalProperties().get(STATUS_PROPERTY)).get(NODE_IDS_PROPERTY);
+    }
+
+    // Brokers being removed are kept until the rebalance moved their partitions away
+    private ServiceDomainInfra getDesiredInfra(ServiceDomainInfra sdi) {
+        final KafkaConfig kafka = sdi.getSpec().getKafka();
+        final int desiredReplicas = KafkaNodePools.getBrokerReplicas(kafka);
+        final int replicas = KafkaRebalances.getBrokerReplicas(
+                sdi.getStatus() == null ? null : sdi.getStatus().getKafkaBrokerReplicas(), desiredReplicas);
+        if (replicas == desiredReplicas) {
+            return sdi;
+        }
+        final KafkaConfig held = kafka.getKraft() == null
+                ? new KafkaConfigBuilder(kafka).withReplicas(replicas).build()
+                : new KafkaConfigBuilder(kafka).editKraft().editOrNewBrokers().withReplicas(replicas).endBrokers().endKraft().build();
+        return new ServiceDomainInfraBuilder(sdi)
+                .withSpec(new ServiceDomainInfraSpecBuilder(sdi.getSpec()).withKafka(held).build())
+                .build();
+    }
+
+    // Ready with its latest spec, a Ready condition left from the previous generation does not count
+    private boolean isKafkaBrokerReconciled(Kafka kafka) {
+        return isKafkaBrokerReady(kafka) && Objects.equals(kafka.getMetadata().getGeneration(), kafka.getStatus().getObservedGeneration());
+    }
+
+    private boolean createOrUpdateKafkaNodePools(ServiceDomainInfra sdi, String kraftMode) {
+        final KafkaConfig kafka = sdi.getSpec().getKafka();
+        final KafkaNodePoolConfig brokers = kafka.getKraft().getBrokers();
+        boolean updated = createOrUpdateKafkaNodePool(sdi, BROKER_POOL, KafkaNodePools.buildSpec(List.of(ROLE_BROKER),
+                KafkaNodePools.getBrokerReplicas(kafka),
+                buildKafkaStorage(brokers != null && brokers.getStorage() != null ? brokers.getStorage() : kafka.getStorage()),
+                getResources(brokers != null ? brokers : kafka.getBroker()),
+                getJvmOptions(brokers != null ? brokers : kafka.getBroker(), BROKER_HEAP_RATIO)));
+        if (KafkaNodePools.hasControllers(kraftMode)) {
+            final KafkaNodePoolConfig controllers = kafka.getKraft().getControllers();
+            updated |= createOrUpdateKafkaNodePool(sdi, CONTROLLER_POOL, KafkaNodePools.buildSpec(List.of(ROLE_CONTROLLER),
+                    KafkaNodePools.getControllerReplicas(kafka.getKraft()),
+                    buildKafkaStorage(controllers != null && controllers.getStorage() != null ? controllers.getStorage() : kafka.getStorage()),
+                    getResources(controllers),
+                    getJvmOptions(controllers, ZOOKEEPER_HEAP_RATIO)));
+        }
+        return updated;
+    }
+
+    private boolean createOrUpdateKafkaNodePool(ServiceDomainInfra sdi, String poolName, Map<String, Object> spec) {
+        final String sdiName = sdi.getMetadata().getName();
+        final GenericKubernetesResource current = getKafkaNodePool(sdi.getMetadata().getNamespace(), poolName);
+        if (current != null) {
+            final String cluster = current.getMetadata().getLabels() == null ? null : current.getMetadata().getLabels().get(STRIMZI_CLUSTER_LABEL);
+            if (!sdiName.equals(cluster)) {
+                throw new IllegalArgumentException("KafkaNodePool " + poolName + " already belongs to Kafka " + cluster
+                        + ", a single KRaft ServiceDomainInfra is supported per namespace");
+            }
+            if (Objects.equals(current.getAdditionalProperties().get(SPEC_PROPERTY), spec)) {
+                return false;
+            }
+        }
+        final Map<String, String> labels = getManagedLabels(sdi);
+        labels.put(STRIMZI_CLUSTER_LABEL, sdiName);
+        final GenericKubernetesResource nodePool = new GenericKubernetesResource();
+        nodePool.setApiVersion(NODE_POOL_DEFINITION.getGroup() + "/" + NODE_POOL_DEFINITION.getVersion());
+        nodePool.setKind(NODE_POOL_DEFINITION.getKind());
+        nodePool.setMetadata(new ObjectMetaBuilder()
+                .withName(poolName)
+                .withNamespace(sdi.getMetadata().getNamespace())
+                .withLabels(labels)
+                .withOwnerReferences(buildOwnerReference(sdi))
+                .build());
+        nodePool.setAdditionalProperty(SPEC_PROPERTY, spec);
+        LOGGER.debug("Creating or replacing KafkaNodePool {}", poolName);
+        createOrApply(client.genericKubernetesResources(NODE_POOL_DEFINITION).inNamespace(sdi.getMetadata().getNamespace()), nodePool);
+        return true;
+    }
+
+    private GenericKubernetesResource getKafkaNodePool(String namespace, String poolName) {
+        return getCachedOrFetch(kafkaNodePoolInformer, namespace, poolName,
+                () -> client.genericKubernetesResources(NODE_POOL_DEFINITION).inNamespace(namespace).withName(poolName).get());
+    }
+
     private boolean isKafkaBrokerReady(Kafka kafka) {
         if (kafka == null || kafka.getStatus() == null || kafka.getStatus().getConditions() == null) {
             return false;
@@ -146,18 +491,34 @@ public class ServiceDomainInfraController extends AbstractController<ServiceDoma
         return condition.isPresent() && condition.get().getStatus().equals(STATUS_TRUE);
     }
 
-    private Condition createOrUpdateKafkaBroker(ServiceDomainInfra sdi) {
+    private Condition createOrUpdateKafkaBroker(ServiceDomainInfra infra) {
+        final ServiceDomainInfra sdi = getDesiredInfra(infra);
         final String sdiName = sdi.getMetadata().getName();
-        Kafka desiredKafka = createKafkaObj(sdi);
         Kafka currentKafka = client.resources(Kafka.class)
                 .inNamespace(sdi.getMetadata().getNamespace())
                 .withName(sdiName)
                 .get();
+        final String kraftMode = KafkaNodePools.getMode(sdi.getSpec().getKafka().getKraft(), currentKafka, isKafkaBrokerReconciled(currentKafka));
+        // The node pools exist before the Kafka is annotated to use them
+        final boolean nodePoolsUpdated = KafkaNodePools.usesNodePools(kraftMode) && createOrUpdateKafkaNodePools(sdi, kraftMode);
+        createOrUpdateKafkaMetrics(sdi, currentKafka);
+        Kafka desiredKafka = createKafkaObj(sdi, kraftMode);
+        final KafkaSpecDiff diff = currentKafka == null ? null : KafkaSpecDiff.diff(currentKafka.getSpec(), desiredKafka.getSpec());
+        final boolean annotationsChanged = currentKafka != null
+                && !Objects.equals(KafkaNodePools.getCurrentAnnotations(currentKafka), KafkaNodePools.getCurrentAnnotations(desiredKafka));
 
-        if (currentKafka == null || !Objects.equals(currentKafka.getSpec(), desiredKafka.getSpec())) {
+        if (currentKafka == null || nodePoolsUpdated || annotationsChanged || diff.isChanged()) {
+            if (diff != null && diff.isChanged()) {
+                LOGGER.info("Kafka {} changed, dynamic broker configs: {}, changes rolling the pods: {}",
+                        sdiName, diff.getDynamicConfigs(), diff.getRestartChanges());
+            }
             LOGGER.debug("Creating or replacing Kafka {}", desiredKafka);
-            currentKafka = client.resources(Kafka.class).inNamespace(sdi.getMetadata().getNamespace()).createOrReplace(desiredKafka);
+            currentKafka = createOrApply(client.resources(Kafka.class).inNamespace(sdi.getMetadata().getNamespace()), desiredKafka);
             LOGGER.debug("Created or replaced Kafka {}", currentKafka);
+            // Strimzi reconfigures the running brokers, the Kafka stays ready
+            if (!nodePoolsUpdated && !annotationsChanged && diff != null && !diff.isRestartRequired()) {
+                return null;
+            }
             return new ConditionBuilder()
                     .withType(CONDITION_KAFKA_BROKER_READY)
                     .withStatus(STATUS_FALSE)
@@ -169,55 +530,180 @@ public class ServiceDomainInfraController extends AbstractController<ServiceDoma
         return null;
     }
 
+    // The rules ConfigMap exists before the Kafka refers to it, and is only deleted on a later pass once Strimzi has
+    // applied a Kafka no longer referring to it. The Kafka Exporter Service is deleted with the exporter. Both are
+    // otherwise garbage collected with the ServiceDomainInfra.
+    private void createOrUpdateKafkaMetrics(ServiceDomainInfra sdi, Kafka currentKafka) {
+        final String namespace = sdi.getMetadata().getNamespace();
+        final String sdiName = sdi.getMetadata().getName();
+        final KafkaMetricsConfig metrics = sdi.getSpec().getKafka().getMetrics();
+        final String configMapName = KafkaMetrics.getConfigMapName(sdiName);
+        final ConfigMap currentConfigMap = getCachedOrFetch(metricsConfigMapInformer, namespace, configMapName,
+                () -> client.configMaps().inNamespace(namespace).withName(configMapName).get());
+        if (metrics != null) {
+            final ConfigMap desired = new ConfigMapBuilder()
+                    .withNewMetadata()
+                    .withName(configMapName)
+                    .withNamespace(namespace)
+                    .withLabels(getMetricsLabels(sdi))
+                    .withOwnerReferences(buildOwnerReference(sdi))
+                    .endMetadata()
+                    .withData(KafkaMetrics.getConfigMapData())
+                    .build();
+            if (isDesiredStateChanged(currentConfigMap, desired)) {
+                LOGGER.debug("Creating or replacing Kafka metrics ConfigMap {}", configMapName);
+                createOrApply(client.configMaps().inNamespace(namespace), stampHash(desired));
+            }
+        } else if (currentConfigMap != null && !KafkaMetrics.hasMetricsConfig(currentKafka) && isKafkaBrokerReconciled(currentKafka)) {
+            LOGGER.debug("Deleting Kafka metrics ConfigMap {}", configMapName);
+            client.configMaps().inNamespace(namespace).withName(configMapName).delete();
+        }
+
+        final String serviceName = KafkaMetrics.getKafkaExporterServiceName(sdiName);
+        final Service currentService = getCachedOrFetch(metricsServiceInformer, namespace, serviceName,
+                () -> client.services().inNamespace(namespace).withName(serviceName).get());
+        if (KafkaMetrics.isKafkaExporterEnabled(metrics)) {
+            final Service desired = new ServiceBuilder()
+                    .withNewMetadata()
+                    .withName(serviceName)
+                    .withNamespace(namespace)
+                    .withLabels(getMetricsLabels(sdi))
+                    .withOwnerReferences(buildOwnerReference(sdi))
+                    .endMetadata()
+                    .withNewSpec()
+                    .withSelector(Map.of(STRIMZI_NAME_LABEL, sdiName + KAFKA_EXPORTER_COMPONENT))
+                    .addNewPort()
+                    .withName(METRICS_PORT_NAME)
+                    .withPort(METRICS_PORT)
+                    .withTargetPort(new IntOrString(METRICS_PORT))
+                    .endPort()
+                    .endSpec()
+                    .build();
+            if (isDesiredStateChanged(currentService, desired)) {
+                LOGGER.debug("Creating or replacing Kafka Exporter Service {}", serviceName);
+                createOrApply(client.services().inNamespace(namespace), stampHash(desired));
+            }
+        } else if (currentService != null) {
+            LOGGER.debug("Deleting Kafka Exporter Service {}", serviceName);
+            client.services().inNamespace(namespace).withName(serviceName).delete();
+        }
+    }
+
+    private Map<String, String> getMetricsLabels(ServiceDomainInfra sdi) {
+        final Map<String, String> labels = getManagedLabels(sdi);
+        labels.putAll(METRICS_LABELS);
+        return labels;
+    }
+
     protected Kafka createKafkaObj(ServiceDomainInfra sdi) {
+        return createKafkaObj(sdi, KafkaNodePools.getMode(sdi.getSpec().getKafka().getKraft(), null, false));
+    }
+
+    // With node pools Strimzi takes the replicas, storage and resources of the brokers from the pools, those of the
+    // kafka section are still written as the Kafka api requires them
+    Kafka createKafkaObj(ServiceDomainInfra sdi, String kraftMode) {
+        final KafkaTopologyConfig topology = sdi.getSpec().getKafka().getTopology();
+        final KafkaMetricsConfig metrics = sdi.getSpec().getKafka().getMetrics();
+        final boolean authentication = isAuthenticationEnabled(sdi);
         Kafka desiredKafka = new KafkaBuilder()
                 .withNewMetadata()
                 .withName(sdi.getMetadata().getName())
                 .withNamespace(sdi.getMetadata().getNamespace())
-                .withLabels(Map.of(MANAGED_BY_LABEL, OPERATOR_NAME))
+                .withLabels(getManagedLabels(sdi))
+                .withAnnotations(KafkaNodePools.getAnnotations(kraftMode))
                 .endMetadata()
                 .withNewSpec()
+                .withCruiseControl(!KafkaRebalances.isCruiseControlEnabled(KafkaNodePools.getBrokerReplicas(sdi.getSpec().getKafka()))
+                        ? null : new CruiseControlSpecBuilder().build())
+                .withKafkaExporter(KafkaMetrics.getKafkaExporter(metrics))
                 .withEntityOperator(new EntityOperatorSpecBuilder()
-                        .withTopicOperator(new EntityTopicOperatorSpecBuilder().build())
+                        .withTopicOperator(new EntityTopicOperatorSpecBuilder()
+                                .withResources(getResources(sdi.getSpec().getKafka().getEntityOperator()))
+                                .withJvmOptions(getJvmOptions(sdi.getSpec().getKafka().getEntityOperator(), ENTITY_OPERATOR_HEAP_RATIO))
+                                .build())
+                        .withUserOperator(!authentication ? null : new EntityUserOperatorSpecBuilder()
+                                .withResources(getResources(sdi.getSpec().getKafka().getEntityOperator()))
+                                .withJvmOptions(getJvmOptions(sdi.getSpec().getKafka().getEntityOperator(), ENTITY_OPERATOR_HEAP_RATIO))
+                                .build())
                         .build())
                 .withKafka(new KafkaClusterSpecBuilder()
                         .withReplicas(sdi.getSpec().getKafka().getReplicas())
+                        .withResources(getResources(sdi.getSpec().getKafka().getBroker()))
+                        .withJvmOptions(getJvmOptions(sdi.getSpec().getKafka().getBroker(), BROKER_HEAP_RATIO))
                         .withListeners(new GenericKafkaListenerBuilder()
                                         .withName(TYPE_PLAIN)
                                         .withPort(9092)
                                         .withType(KafkaListenerType.INTERNAL)
                                         .withTls(false)
+                                        // Service domains authenticate with the credentials of their KafkaUser
+                                        .withAuth(!authentication ? null : new KafkaListenerAuthenticationScramSha512())
                                         .build(),
                                 new GenericKafkaListenerBuilder()
                                         .withName(TYPE_TLS)
                                         .withPort(9093)
                                         .withType(KafkaListenerType.INTERNAL)
                                         .withTls(true)
+                                        // Clients of the tls listener present the certificate of a TLS KafkaUser
+                                        .withAuth(!authentication ? null : new KafkaListenerAuthenticationTls())
                                         .build())
-                        .withVersion(KAFKA_VERSION)
-                        .withConfig(Map.of(
-                                "inter.broker.protocol.version", BROKER_PROTOCOL_VERSION,
-                                "default.replication.factor", sdi.getSpec().getKafka().getReplicas(),
-                                "offsets.topic.replication.factor", sdi.getSpec().getKafka().getReplicas(),
-                                "transaction.state.log.replication.factor", sdi.getSpec().getKafka().getReplicas(),
-                                "transaction.state.log.min.isr", getMinIsr(sdi.getSpec().getKafka().getReplicas()),
-                                "min.insync.replicas", getMinIsr(sdi.getSpec().getKafka().getReplicas())))
+                        .withAuthorization(!authentication ? null : new KafkaAuthorizationSimpleBuilder().build())
+                        .withVersion(kraftMode == null ? KAFKA_VERSION : KRAFT_KAFKA_VERSION)
+                        .withConfig(KafkaBrokerConfig.build(getBrokerReplicationConfig(sdi.getSpec().getKafka(), kraftMode),
+                                sdi.getSpec().getKafka()))
                         .withStorage(buildKafkaStorage(sdi.getSpec().getKafka()))
+                        .withRack(getRack(topology))
+                        .withMetricsConfig(KafkaMetrics.getMetricsConfig(metrics, sdi.getMetadata().getName(), KAFKA_METRICS_KEY))
+                        .withTemplate(topology == null ? null : new KafkaClusterTemplateBuilder()
+                                .withPod(getPodTemplate(topology, sdi.getMetadata().getName(), KAFKA_COMPONENT))
+                                .build())
                         .build())
-                .withZookeeper(new ZookeeperClusterSpecBuilder()
+                .withZookeeper(!KafkaNodePools.hasZooKeeper(kraftMode) ? null : new ZookeeperClusterSpecBuilder()
                         .withReplicas(sdi.getSpec().getKafka().getReplicas())
+                        .withResources(getResources(sdi.getSpec().getKafka().getZookeeper()))
+                        .withJvmOptions(getJvmOptions(sdi.getSpec().getKafka().getZookeeper(), ZOOKEEPER_HEAP_RATIO))
                         .withStorage(buildKafkaStorage(sdi.getSpec().getKafka()))
+                        .withMetricsConfig(KafkaMetrics.getMetricsConfig(metrics, sdi.getMetadata().getName(), ZOOKEEPER_METRICS_KEY))
+                        .withTemplate(topology == null ? null : new ZookeeperClusterTemplateBuilder()
+                                .withPod(getPodTemplate(topology, sdi.getMetadata().getName(), ZOOKEEPER_COMPONENT))
+                                .build())
                         .build())
                 .endSpec()
                 .build();
 
-        desiredKafka.getMetadata().setOwnerReferences(List.of(new OwnerReferenceBuilder()
+        if (ENABLED.equals(kraftMode)) {
+            desiredKafka.getSpec().getKafka().setAdditionalProperty(METADATA_VERSION_PROPERTY, KRAFT_METADATA_VERSION);
+        }
+        desiredKafka.getMetadata().setOwnerReferences(List.of(buildOwnerReference(sdi)));
+        return desiredKafka;
+    }
+
+    // Authentication and authorization are opt-in, turning them on locks out the clients without a KafkaUser
+    static boolean isAuthenticationEnabled(ServiceDomainInfra sdi) {
+        return sdi.getSpec() != null && sdi.getSpec().getKafka() != null && Boolean.TRUE.equals(sdi.getSpec().getKafka().getAuthentication());
+    }
+
+    private OwnerReference buildOwnerReference(ServiceDomainInfra sdi) {
+        return new OwnerReferenceBuilder()
                 .withName(sdi.getMetadata().getName())
                 .withUid(sdi.getMetadata().getUid())
                 .withKind(ServiceDomainInfra.class.getSimpleName())
                 .withApiVersion(MercuryConstants.API_VERSION)
-                .build()));
-        return desiredKafka;
+                .build();
+    }
+
+    private Map<String, Object> getBrokerReplicationConfig(KafkaConfig kafka, String kraftMode) {
+        final Map<String, Object> config = new HashMap<>(getBrokerConfig(kafka.getTopology()));
+        final int replicas = KafkaNodePools.getBrokerReplicas(kafka);
+        // KRaft clusters set the metadata version instead
+        if (!ENABLED.equals(kraftMode)) {
+            config.put(PROTOCOL_VERSION_CONFIG, KafkaNodePools.hasKRaftProtocol(kraftMode) ? KRAFT_METADATA_VERSION : BROKER_PROTOCOL_VERSION);
+        }
+        config.put("default.replication.factor", replicas);
+        config.put("offsets.topic.replication.factor", replicas);
+        config.put("transaction.state.log.replication.factor", replicas);
+        config.put("transaction.state.log.min.isr", getMinIsr(replicas));
+        config.put("min.insync.replicas", getMinIsr(replicas));
+        return config;
     }
 
     private int getMinIsr(Integer replicas) {
@@ -225,17 +711,21 @@ public class ServiceDomainInfraController extends AbstractController<ServiceDoma
     }
 
     private SingleVolumeStorage buildKafkaStorage(KafkaConfig config) {
-        switch (config.getStorage().getType()) {
+        return buildKafkaStorage(config.getStorage());
+    }
+
+    private SingleVolumeStorage buildKafkaStorage(KafkaStorage storage) {
+        switch (storage.getType()) {
             case Storage.TYPE_EPHEMERAL:
                 return new EphemeralStorage();
             case Storage.TYPE_PERSISTENT_CLAIM:
-                Optional<String> size = Optional.of(config.getStorage().getSize());
+                Optional<String> size = Optional.of(storage.getSize());
                 return new PersistentClaimStorageBuilder()
                         .withSize(size.orElse(DEFAULT_PERSISTENT_STORAGE))
                         .build();
             default:
                 throw new IllegalArgumentException("Unsupported kafka storage type: "
-                        + config.getStorage().getType()
+                        + storage.getType()
                         + " supported values are 'ephemeral' and 'persistent-volume-claim'");
         }
     }
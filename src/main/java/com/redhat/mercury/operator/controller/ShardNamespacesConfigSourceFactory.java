@@ -0,0 +1,52 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.config.spi.ConfigSource;
+
+import io.smallrye.config.ConfigSourceContext;
+import io.smallrye.config.ConfigSourceFactory;
+import io.smallrye.config.ConfigValue;
+import io.smallrye.config.PropertiesConfigSource;
+
+// Restricts the informers of the ServiceDomain and ServiceDomainInfra controllers to the watched namespaces of the
+// shard of this replica when sharding by namespace. It takes precedence over application.properties, the namespaces
+// of the controllers can still be set through the environment.
+public class ShardNamespacesConfigSourceFactory implements ConfigSourceFactory {
+
+    static final List<String> CONTROLLER_NAMESPACES_PROPERTIES = List.of(
+            "quarkus.operator-sdk.controllers.servicedomaincontroller.namespaces",
+            "quarkus.operator-sdk.controllers.servicedomaininfracontroller.namespaces");
+    private static final int ORDINAL = 260;
+
+    @Override
+    public Iterable<ConfigSource> getConfigSources(ConfigSourceContext context) {
+        final int shardCount = Integer.parseInt(getValue(context, "mercury.operator.shard.count").orElse("1"));
+        final String shardKey = getValue(context, "mercury.operator.shard.key").orElse(WatchScope.ShardKey.NAMESPACE.name());
+        final List<String> namespaces = getValue(context, "mercury.operator.watched-namespaces")
+                .map(value -> Arrays.stream(value.split(",")).map(String::trim).filter(ns -> !ns.isEmpty()).collect(Collectors.toList()))
+                .orElse(List.of());
+        if (shardCount < 2 || !WatchScope.ShardKey.NAMESPACE.name().equalsIgnoreCase(shardKey) || namespaces.isEmpty()) {
+            return List.of();
+        }
+        final int shardIndex = WatchScope.resolveShardIndex(getValue(context, "mercury.operator.shard.index").map(Integer::valueOf), shardCount);
+        final List<String> shardNamespaces = WatchScope.getShardNamespaces(namespaces, shardIndex, shardCount);
+        // No namespace at all cannot be configured, the replica then relies on the shard check of the controllers
+        if (shardNamespaces.isEmpty()) {
+            return List.of();
+        }
+        final String value = String.join(",", shardNamespaces);
+        final Map<String, String> properties = CONTROLLER_NAMESPACES_PROPERTIES.stream()
+                .collect(Collectors.toMap(property -> property, property -> value));
+        return List.of(new PropertiesConfigSource(properties, "mercury-shard-namespaces", ORDINAL));
+    }
+
+    private static Optional<String> getValue(ConfigSourceContext context, String name) {
+        final ConfigValue value = context.getValue(name);
+        return Optional.ofNullable(value == null ? null : value.getValue()).filter(v -> !v.isBlank());
+    }
+}
@@ -0,0 +1,143 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Singleton;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.redhat.mercury.operator.model.MercuryConstants;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+
+// Namespaces watched by this operator replica and the slice of ServiceDomains and ServiceDomainInfras it owns.
+// With more than one shard each replica reconciles the resources whose shard key hashes to its index, and
+// labels their children with that index so that its informers only list and watch its own slice. When sharding
+// by namespace over a list of watched namespaces, the replica only watches the namespaces of its shard.
+@Singleton
+public class WatchScope {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WatchScope.class);
+    public static final String SHARD_LABEL = MercuryConstants.GROUP + "/shard";
+    public static final String SHARD_KEY_LABEL = MercuryConstants.GROUP + "/shard-key";
+    // Shard label value of the children shared by resources of several shards, watched by every replica
+    public static final String SHARED_SHARD = "shared";
+
+    public enum ShardKey {
+        NAMESPACE,
+        LABEL
+    }
+
+    @ConfigProperty(name = "mercury.operator.watched-namespaces")
+    Optional<List<String>> watchedNamespaces;
+
+    @ConfigProperty(name = "mercury.operator.shard.count", defaultValue = "1")
+    int shardCount;
+
+    @ConfigProperty(name = "mercury.operator.shard.index")
+    Optional<Integer> configuredShardIndex;
+
+    @ConfigProperty(name = "mercury.operator.shard.key", defaultValue = "namespace")
+    ShardKey shardKey;
+
+    private int shardIndex;
+
+    @PostConstruct
+    void init() {
+        if (shardCount < 1) {
+            throw new IllegalStateException("mercury.operator.shard.count must be greater than 0");
+        }
+        shardIndex = resolveShardIndex(configuredShardIndex, shardCount);
+        if (isSharded()) {
+            LOGGER.info("Reconciling shard {} of {} by {}", shardIndex, shardCount, shardKey);
+        }
+        getWatchedNamespaces().ifPresent(namespaces -> LOGGER.info("Watching namespaces {}", namespaces));
+    }
+
+    // The configured namespaces, only those of the shard of this replica when sharding by namespace. An empty list
+    // means no namespace at all, all namespaces are watched when none is configured.
+    public Optional<List<String>> getWatchedNamespaces() {
+        final Optional<List<String>> configured = watchedNamespaces.filter(namespaces -> !namespaces.isEmpty());
+        if (!isSharded() || shardKey != ShardKey.NAMESPACE) {
+            return configured;
+        }
+        return configured.map(namespaces -> getShardNamespaces(namespaces, shardIndex, shardCount));
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public boolean isInShard(HasMetadata resource) {
+        return !isSharded() || getShard(resource) == shardIndex;
+    }
+
+    // Labels identifying the children of a resource as part of its shard
+    public Map<String, String> getShardLabels(HasMetadata owner) {
+        if (!isSharded()) {
+            return Map.of();
+        }
+        return Map.of(SHARD_LABEL, String.valueOf(getShard(owner)));
+    }
+
+    // Labels of the children shared by resources that may belong to different shards
+    public Map<String, String> getSharedLabels() {
+        if (!isSharded()) {
+            return Map.of();
+        }
+        return Map.of(SHARD_LABEL, SHARED_SHARD);
+    }
+
+    // Values of the shard label restricting informers of children to the shard of this replica and to shared children
+    public List<String> getShardSelector() {
+        if (!isSharded()) {
+            return List.of();
+        }
+        return List.of(String.valueOf(shardIndex), SHARED_SHARD);
+    }
+
+    int getShard(HasMetadata resource) {
+        String key = resource.getMetadata().getNamespace();
+        if (shardKey == ShardKey.LABEL && resource.getMetadata().getLabels() != null) {
+            key = resource.getMetadata().getLabels().getOrDefault(SHARD_KEY_LABEL, key);
+        }
+        return shardOf(key, shardCount);
+    }
+
+    static List<String> getShardNamespaces(List<String> namespaces, int shardIndex, int shardCount) {
+        return namespaces.stream()
+                .filter(namespace -> shardOf(namespace, shardCount) == shardIndex)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    // Replicas of a StatefulSet take the shard of their ordinal unless it is configured
+    static int resolveShardIndex(Optional<Integer> configuredShardIndex, int shardCount) {
+        final int shardIndex = configuredShardIndex.orElseGet(() -> shardCount > 1 ? ordinalOf(System.getenv("HOSTNAME")) : 0);
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalStateException("Shard index " + shardIndex + " is out of range for " + shardCount + " shards");
+        }
+        return shardIndex;
+    }
+
+    static int shardOf(String key, int shardCount) {
+        return Math.floorMod(key.hashCode(), shardCount);
+    }
+
+    static int ordinalOf(String hostname) {
+        if (hostname != null) {
+            try {
+                return Integer.parseInt(hostname.substring(hostname.lastIndexOf('-') + 1));
+            } catch (NumberFormatException e) {
+                // handled below
+            }
+        }
+        throw new IllegalStateException("mercury.operator.shard.index is required when the hostname " + hostname + " has no ordinal");
+    }
+}
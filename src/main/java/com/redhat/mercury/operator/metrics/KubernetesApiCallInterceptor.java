@@ -0,0 +1,78 @@
+package com.redhat.mercury.operator.metrics;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+// Counts the requests the operator sends to the API server by resource and verb
+@Singleton
+public class KubernetesApiCallInterceptor implements Interceptor {
+
+    public static final String API_CALLS = "mercury.kubernetes.api.calls";
+    public static final String RESOURCE_TAG = "resource";
+    public static final String VERB_TAG = "verb";
+    private static final String OTHER = "other";
+
+    @Inject
+    MeterRegistry registry;
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        final String[] resourceAndVerb = getResourceAndVerb(request.method(), request.url());
+        registry.counter(API_CALLS, RESOURCE_TAG, resourceAndVerb[0], VERB_TAG, resourceAndVerb[1]).increment();
+        return chain.proceed(request);
+    }
+
+    // Resource paths are /api/v1/... or /apis/<group>/<version>/..., optionally followed by
+    // namespaces/<namespace>, then <resource>[/<name>[/<subresource>]]
+    static String[] getResourceAndVerb(String method, HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        int start;
+        if (segments.size() >= 2 && "api".equals(segments.get(0))) {
+            start = 2;
+        } else if (segments.size() >= 3 && "apis".equals(segments.get(0))) {
+            start = 3;
+        } else {
+            return new String[] { OTHER, method.toLowerCase() };
+        }
+        segments = segments.subList(start, segments.size());
+        if (segments.size() >= 3 && "namespaces".equals(segments.get(0))) {
+            segments = segments.subList(2, segments.size());
+        }
+        if (segments.isEmpty() || segments.get(0).isEmpty()) {
+            return new String[] { OTHER, method.toLowerCase() };
+        }
+
+        String resource = segments.get(0);
+        if (segments.size() > 2) {
+            resource += "/" + segments.get(2);
+        }
+        final boolean named = segments.size() > 1;
+        switch (method) {
+            case "GET":
+                if (Boolean.parseBoolean(url.queryParameter("watch"))) {
+                    return new String[] { resource, "watch" };
+                }
+                return new String[] { resource, named ? "get" : "list" };
+            case "POST":
+                return new String[] { resource, "create" };
+            case "PUT":
+                return new String[] { resource, "update" };
+            case "PATCH":
+                return new String[] { resource, "patch" };
+            case "DELETE":
+                return new String[] { resource, named ? "delete" : "deletecollection" };
+            default:
+                return new String[] { resource, method.toLowerCase() };
+        }
+    }
+}
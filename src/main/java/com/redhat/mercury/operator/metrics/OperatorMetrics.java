@@ -0,0 +1,154 @@
+package com.redhat.mercury.operator.metrics;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+// Reconcile, phase, queue and informer metrics of the controllers, exposed on the Prometheus endpoint
+@Singleton
+public class OperatorMetrics {
+
+    public static final String RECONCILE_DURATION = "mercury.reconcile.duration";
+    public static final String RECONCILE_ERRORS = "mercury.reconcile.errors";
+    public static final String RECONCILE_PENDING = "mercury.reconcile.pending";
+    public static final String RECONCILE_IN_FLIGHT = "mercury.reconcile.in.flight";
+    public static final String PHASE_DURATION = "mercury.reconcile.phase.duration";
+    public static final String INFORMER_CACHE_SIZE = "mercury.informer.cache.size";
+
+    public static final String CONTROLLER_TAG = "controller";
+    public static final String OUTCOME_TAG = "outcome";
+    public static final String PHASE_TAG = "phase";
+    public static final String KIND_TAG = "kind";
+
+    public static final String OUTCOME_NO_UPDATE = "no-update";
+    public static final String OUTCOME_UPDATE_STATUS = "update-status";
+    public static final String OUTCOME_UPDATE_RESOURCE = "update-resource";
+    public static final String OUTCOME_RESCHEDULE = "reschedule";
+    public static final String OUTCOME_ERROR = "error";
+
+    @Inject
+    MeterRegistry registry;
+
+    // Primary resources signalled by an event on one of their secondary resources and not reconciled yet
+    private final ConcurrentMap<String, Set<ResourceID>> pending = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    // Outcome of the reconcile running on this thread that its UpdateControl does not show: a patched status, or an
+    // error the controller caught and reported in the status
+    private final ThreadLocal<String> reportedOutcome = new ThreadLocal<>();
+
+    public <R extends HasMetadata> UpdateControl<R> timeReconcile(String controller, R resource, Supplier<UpdateControl<R>> reconcile) {
+        getPending(controller).remove(getResourceID(resource));
+        final AtomicInteger running = getInFlight(controller);
+        running.incrementAndGet();
+        final Timer.Sample sample = Timer.start(registry);
+        String outcome = OUTCOME_ERROR;
+        reportedOutcome.remove();
+        try {
+            final UpdateControl<R> control = reconcile.get();
+            outcome = getOutcome(control, reportedOutcome.get());
+            return control;
+        } finally {
+            reportedOutcome.remove();
+            running.decrementAndGet();
+            sample.stop(Timer.builder(RECONCILE_DURATION)
+                    .tags(CONTROLLER_TAG, controller, OUTCOME_TAG, outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    public <V> V timePhase(String controller, String phase, Supplier<V> action) {
+        final Timer.Sample sample = Timer.start(registry);
+        try {
+            return action.get();
+        } finally {
+            sample.stop(Timer.builder(PHASE_DURATION)
+                    .tags(CONTROLLER_TAG, controller, PHASE_TAG, phase)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    public void timePhase(String controller, String phase, Runnable action) {
+        timePhase(controller, phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Errors caught by the controllers and reported in the resource status
+    public void reconcileFailed(String controller, Exception e) {
+        registry.counter(RECONCILE_ERRORS, CONTROLLER_TAG, controller, "exception", e.getClass().getSimpleName()).increment();
+        reportedOutcome.set(OUTCOME_ERROR);
+    }
+
+    // The status was written by the controller itself, JOSDK is left with nothing to update
+    public void statusPatched() {
+        if (reportedOutcome.get() == null) {
+            reportedOutcome.set(OUTCOME_UPDATE_STATUS);
+        }
+    }
+
+    public void markPending(String controller, Set<ResourceID> resources) {
+        getPending(controller).addAll(resources);
+    }
+
+    // Resources skipped or deleted before being reconciled are no longer pending
+    public void clearPending(String controller, HasMetadata resource) {
+        getPending(controller).remove(getResourceID(resource));
+    }
+
+    public boolean isPending(String controller, HasMetadata resource) {
+        return getPending(controller).contains(getResourceID(resource));
+    }
+
+    public <S> void registerInformer(String controller, String kind, S informer, ToDoubleFunction<S> size) {
+        Gauge.builder(INFORMER_CACHE_SIZE, informer, size)
+                .tags(CONTROLLER_TAG, controller, KIND_TAG, kind)
+                .register(registry);
+    }
+
+    private Set<ResourceID> getPending(String controller) {
+        return pending.computeIfAbsent(controller,
+                c -> registry.gaugeCollectionSize(RECONCILE_PENDING, Tags.of(CONTROLLER_TAG, c), ConcurrentHashMap.newKeySet()));
+    }
+
+    private AtomicInteger getInFlight(String controller) {
+        return inFlight.computeIfAbsent(controller,
+                c -> registry.gauge(RECONCILE_IN_FLIGHT, Tags.of(CONTROLLER_TAG, c), new AtomicInteger()));
+    }
+
+    private static ResourceID getResourceID(HasMetadata resource) {
+        return new ResourceID(resource.getMetadata().getName(), resource.getMetadata().getNamespace());
+    }
+
+    static String getOutcome(UpdateControl<?> control, String reported) {
+        if (OUTCOME_ERROR.equals(reported)) {
+            return OUTCOME_ERROR;
+        }
+        if (control.getScheduleDelay().isPresent()) {
+            return OUTCOME_RESCHEDULE;
+        }
+        if (control.isUpdateResource()) {
+            return OUTCOME_UPDATE_RESOURCE;
+        }
+        if (control.isUpdateStatus() || OUTCOME_UPDATE_STATUS.equals(reported)) {
+            return OUTCOME_UPDATE_STATUS;
+        }
+        return OUTCOME_NO_UPDATE;
+    }
+}
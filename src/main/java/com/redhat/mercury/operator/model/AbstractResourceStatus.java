@@ -1,7 +1,10 @@
 package com.redhat.mercury.operator.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -10,6 +13,7 @@ import io.fabric8.kubernetes.api.model.Condition;
 import io.sundr.builder.annotations.Buildable;
 import io.sundr.builder.annotations.BuildableReference;
 
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -37,14 +41,35 @@ public abstract class AbstractResourceStatus {
     public static final String STATUS_FALSE = "False";
     public static final String STATUS_TRUE = "True";
 
+    // Only changed through the methods of the status so that the index by type is kept in sync
+    @Getter(AccessLevel.NONE)
     private List<Condition> conditions = new ArrayList<>();
 
+    // Index of the conditions by type, kept up to date by setCondition and rebuilt after the other changes
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient Map<String, Condition> conditionsByType;
+
+    public List<Condition> getConditions() {
+        return Collections.unmodifiableList(conditions);
+    }
+
+    public void setConditions(List<Condition> conditions) {
+        this.conditions = conditions == null ? new ArrayList<>() : new ArrayList<>(conditions);
+        this.conditionsByType = null;
+    }
+
     public Condition getCondition(String key) {
-        return conditions.stream().filter(c -> c.getType().equals(key)).findFirst().orElse(null);
+        return getConditionsByType().get(key);
     }
 
     public void removeCondition(String key) {
-        conditions.removeIf(c -> c.getType().equalsIgnoreCase(key));
+        if (conditions.removeIf(c -> c.getType().equalsIgnoreCase(key))) {
+            conditionsByType = null;
+        }
     }
 
     // All other conditions are Ready means the resource is Ready
@@ -56,16 +81,30 @@ public abstract class AbstractResourceStatus {
 
     @JsonIgnore
     public boolean isSpecificConditionReady(String type) {
-        return conditions.stream().anyMatch(c -> type.equals(c.getType()) && c.getStatus().equalsIgnoreCase(Boolean.TRUE.toString()));
+        Condition condition = getCondition(type);
+        return condition != null && condition.getStatus().equalsIgnoreCase(Boolean.TRUE.toString());
     }
 
     public AbstractResourceStatus setCondition(Condition condition) {
-        //If element type exists remove it before adding the updated condition
-        conditions.removeIf(c -> c.getType().equals(condition.getType()));
-
-        //Add the new condition
-        conditions.add(condition);
+        final Map<String, Condition> index = getConditionsByType();
+        final Condition current = index.put(condition.getType(), condition);
+        if (current == null) {
+            conditions.add(condition);
+        } else {
+            //Replace the existing condition of the same type in place
+            conditions.set(conditions.indexOf(current), condition);
+        }
         return this;
     }
 
+    private Map<String, Condition> getConditionsByType() {
+        if (conditionsByType == null) {
+            final Map<String, Condition> index = new HashMap<>();
+            for (Condition condition : conditions) {
+                index.putIfAbsent(condition.getType(), condition);
+            }
+            conditionsByType = index;
+        }
+        return conditionsByType;
+    }
 }
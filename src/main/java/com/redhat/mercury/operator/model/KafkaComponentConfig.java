@@ -0,0 +1,40 @@
+package com.redhat.mercury.operator.model;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.sundr.builder.annotations.Buildable;
+import io.sundr.builder.annotations.BuildableReference;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.redhat.mercury.operator.model.MercuryConstants.K8S_BUILDER_PACKAGE;
+
+// Resources and JVM options of a Kafka cluster component: the brokers, ZooKeeper or the entity operator
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonDeserialize
+@ToString
+@EqualsAndHashCode
+@Getter
+@Setter
+@Accessors(chain = true)
+@Buildable(editableEnabled = false, lazyCollectionInitEnabled = false, builderPackage = K8S_BUILDER_PACKAGE, refs = {
+        @BuildableReference(ResourceRequirements.class)})
+public class KafkaComponentConfig implements Serializable {
+
+    private ResourceRequirements resources;
+    // Heap sizes, e.g. 2g or 512m, derived from the memory request when not set
+    private String xms;
+    private String xmx;
+    // -XX options, e.g. UseG1GC: "true"
+    private Map<String, String> gcOptions;
+
+}
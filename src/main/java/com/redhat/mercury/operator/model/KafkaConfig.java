@@ -1,6 +1,7 @@
 package com.redhat.mercury.operator.model;
 
 import java.io.Serializable;
+import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -25,7 +26,27 @@ import static com.redhat.mercury.operator.model.MercuryConstants.K8S_BUILDER_PAC
 @Buildable(editableEnabled = false, lazyCollectionInitEnabled = false, builderPackage = K8S_BUILDER_PACKAGE)
 public class KafkaConfig implements Serializable {
 
+    public static final String PROFILE_BALANCED = "balanced";
+    public static final String PROFILE_THROUGHPUT = "throughput";
+    public static final String PROFILE_LOW_LATENCY = "low-latency";
+
     private Integer replicas;
     private KafkaStorage storage;
+    // Broker configuration preset: balanced, throughput or low-latency
+    private String profile;
+    // Broker configuration overriding the profile
+    private Map<String, Object> config;
+    private KafkaComponentConfig broker;
+    private KafkaComponentConfig zookeeper;
+    private KafkaComponentConfig entityOperator;
+    // Rack awareness and spread of the pods, the pods are placed by the default scheduler when not set
+    private KafkaTopologyConfig topology;
+    // KRaft controller and broker node pools, ZooKeeper is deployed next to the brokers when not set
+    private KafkaKRaftConfig kraft;
+    // Prometheus metrics of the brokers and Kafka Exporter, no metrics are exported when not set
+    private KafkaMetricsConfig metrics;
+    // SCRAM-SHA-512 on the plain listener, mutual TLS on the tls listener and simple authorization, service domains
+    // then connect with the credentials and ACLs of their own KafkaUser. The listeners are open when not set
+    private Boolean authentication;
 
 }
@@ -0,0 +1,39 @@
+package com.redhat.mercury.operator.model;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import io.sundr.builder.annotations.Buildable;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.redhat.mercury.operator.model.MercuryConstants.K8S_BUILDER_PACKAGE;
+
+// Metadata managed by KRaft controllers instead of ZooKeeper, with the controllers and the brokers in their own node pools
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonDeserialize
+@ToString
+@EqualsAndHashCode
+@Getter
+@Setter
+@Accessors(chain = true)
+@Buildable(editableEnabled = false, lazyCollectionInitEnabled = false, builderPackage = K8S_BUILDER_PACKAGE)
+public class KafkaKRaftConfig implements Serializable {
+
+    public static final String MODE_MIGRATION = "migration";
+    public static final String MODE_ENABLED = "enabled";
+
+    // enabled (default) or migration to move the metadata of a ZooKeeper based cluster to the controllers first
+    private String mode;
+    // 3 controllers by default
+    private KafkaNodePoolConfig controllers;
+    // The replicas, storage and broker resources of the kafka section by default
+    private KafkaNodePoolConfig brokers;
+
+}
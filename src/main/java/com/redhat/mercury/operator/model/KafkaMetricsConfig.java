@@ -0,0 +1,36 @@
+package com.redhat.mercury.operator.model;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import io.sundr.builder.annotations.Buildable;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.redhat.mercury.operator.model.MercuryConstants.K8S_BUILDER_PACKAGE;
+
+// Prometheus metrics of the Kafka cluster: the JMX metrics of the brokers and the topic and consumer group lag
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonDeserialize
+@ToString
+@EqualsAndHashCode
+@Getter
+@Setter
+@Accessors(chain = true)
+@Buildable(editableEnabled = false, lazyCollectionInitEnabled = false, builderPackage = K8S_BUILDER_PACKAGE)
+public class KafkaMetricsConfig implements Serializable {
+
+    // Deploy Kafka Exporter for the topic offsets and the consumer group lag, true by default
+    private Boolean kafkaExporter;
+    // Topics exported by Kafka Exporter, all of them by default
+    private String topicRegex;
+    // Consumer groups exported by Kafka Exporter, all of them by default
+    private String groupRegex;
+
+}
@@ -0,0 +1,33 @@
+package com.redhat.mercury.operator.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.sundr.builder.annotations.Buildable;
+import io.sundr.builder.annotations.BuildableReference;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.redhat.mercury.operator.model.MercuryConstants.K8S_BUILDER_PACKAGE;
+
+// Size of a KRaft node pool, the resources and JVM options are the ones of a Kafka cluster component
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonDeserialize
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@Buildable(editableEnabled = false, lazyCollectionInitEnabled = false, builderPackage = K8S_BUILDER_PACKAGE, refs = {
+        @BuildableReference(ResourceRequirements.class)})
+public class KafkaNodePoolConfig extends KafkaComponentConfig {
+
+    private Integer replicas;
+    private KafkaStorage storage;
+
+}
@@ -0,0 +1,39 @@
+package com.redhat.mercury.operator.model;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import io.sundr.builder.annotations.Buildable;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.redhat.mercury.operator.model.MercuryConstants.K8S_BUILDER_PACKAGE;
+
+// KafkaTopic of a ServiceDomain. Options not set are derived from the ServiceDomainInfra or left to the broker defaults
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonDeserialize
+@ToString
+@EqualsAndHashCode
+@Getter
+@Setter
+@Accessors(chain = true)
+@Buildable(editableEnabled = false, lazyCollectionInitEnabled = false, builderPackage = K8S_BUILDER_PACKAGE)
+public class KafkaTopicConfig implements Serializable {
+
+    // Partitions, derived from the throughput when not set
+    private Integer partitions;
+    // Expected produce throughput in MB/s
+    private Integer throughput;
+    // Replication factor, defaults to the number of Kafka replicas up to 3
+    private Integer replicas;
+    private Long retentionMs;
+    private Long segmentBytes;
+    private String compressionType;
+
+}
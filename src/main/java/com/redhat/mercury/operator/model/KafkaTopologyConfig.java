@@ -0,0 +1,42 @@
+package com.redhat.mercury.operator.model;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import io.sundr.builder.annotations.Buildable;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.redhat.mercury.operator.model.MercuryConstants.K8S_BUILDER_PACKAGE;
+
+// Placement of the Kafka and ZooKeeper pods across the nodes and zones of the cluster
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonDeserialize
+@ToString
+@EqualsAndHashCode
+@Getter
+@Setter
+@Accessors(chain = true)
+@Buildable(editableEnabled = false, lazyCollectionInitEnabled = false, builderPackage = K8S_BUILDER_PACKAGE)
+public class KafkaTopologyConfig implements Serializable {
+
+    public static final String DEFAULT_ZONE_KEY = "topology.kubernetes.io/zone";
+    public static final String SCHEDULE_ANYWAY = "ScheduleAnyway";
+    public static final String DO_NOT_SCHEDULE = "DoNotSchedule";
+
+    // Node label used as the broker rack and to spread the pods, topology.kubernetes.io/zone by default
+    private String zoneKey;
+    // Maximum difference of pods between two zones, 1 by default
+    private Integer maxSkew;
+    // ScheduleAnyway (default) or DoNotSchedule when the pods can't be spread evenly
+    private String whenUnsatisfiable;
+    // Refuse to schedule two pods of the same component on a node instead of only avoiding it
+    private Boolean requiredAntiAffinity;
+
+}
@@ -0,0 +1,35 @@
+package com.redhat.mercury.operator.model;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import io.sundr.builder.annotations.Buildable;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.redhat.mercury.operator.model.MercuryConstants.K8S_BUILDER_PACKAGE;
+
+// Quotas of the KafkaUser of a ServiceDomain. Quotas not set fall back to the operator defaults, if any
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonDeserialize
+@ToString
+@EqualsAndHashCode
+@Getter
+@Setter
+@Accessors(chain = true)
+@Buildable(editableEnabled = false, lazyCollectionInitEnabled = false, builderPackage = K8S_BUILDER_PACKAGE)
+public class KafkaUserConfig implements Serializable {
+
+    // Bytes per second per broker
+    private Integer producerByteRate;
+    private Integer consumerByteRate;
+    // Share of the broker request handler and network threads time
+    private Integer requestPercentage;
+
+}
@@ -1,5 +1,7 @@
 package com.redhat.mercury.operator.model;
 
+import java.util.List;
+
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
@@ -27,11 +29,20 @@ import static com.redhat.mercury.operator.model.MercuryConstants.K8S_BUILDER_PAC
 public class ServiceDomainInfraStatus extends AbstractResourceStatus {
 
     public static final String CONDITION_KAFKA_BROKER_READY = "KafkaBrokerReady";
+    public static final String CONDITION_KAFKA_REBALANCE_READY = "KafkaRebalanceReady";
 
     public static final String REASON_KAFKA_WAITING = "WaitingForKafka";
     public static final String REASON_KAFKA_EXCEPTION = "KafkaProvisionException";
+    public static final String REASON_KAFKA_REBALANCING = "KafkaRebalancing";
+    public static final String REASON_KAFKA_REBALANCE_FAILED = "KafkaRebalanceFailed";
 
     public static final String MESSAGE_KAFKA_BROKER_NOT_READY = "Kafka Broker not ready";
 
     private String kafkaBroker;
+    // KRaft migration progress reported by Strimzi, e.g. ZooKeeper, KRaftMigration, KRaftPostMigration or KRaft
+    private String kafkaMetadataState;
+    // Brokers the partitions are spread across, the last rebalance target
+    private Integer kafkaBrokerReplicas;
+    // Prometheus scrape URLs of the brokers and Kafka Exporter when the metrics are enabled
+    private List<String> kafkaMetricsEndpoints;
 }
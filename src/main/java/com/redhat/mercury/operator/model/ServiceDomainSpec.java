@@ -28,4 +28,8 @@ public class ServiceDomainSpec implements Serializable {
     private String serviceDomainInfra;
     private com.redhat.mercury.model.ServiceDomain type;
     private ExposeSpec expose;
+    // Replicas of the business service, the topic never has fewer partitions so that every replica consumes
+    private Integer replicas;
+    private KafkaTopicConfig kafkaTopic;
+    private KafkaUserConfig kafkaUser;
 }
@@ -30,6 +30,7 @@ public class ServiceDomainStatus extends AbstractResourceStatus {
     public static final String REASON_INTEGRATION = "Integration";
     public static final String REASON_INTEGRATION_WAITING = "WaitingForIntegration";
     public static final String REASON_KAFKA_TOPIC_WAITING = "WaitingForKafkaTopic";
+    public static final String REASON_KAFKA_USER_WAITING = "WaitingForKafkaUser";
     public static final String REASON_INVALID_CONFIG_MAPS_CONFIGURATION = "InvalidConfigMapsConfiguration";
     public static final String REASON_CANT_READ_CONFIG_MAPS_FILE = "CantReadConfigMapFile";
 
@@ -37,6 +38,7 @@ public class ServiceDomainStatus extends AbstractResourceStatus {
     public static final String MESSAGE_SDI_NOT_READY = "Service Domain Infra is not ready";
     public static final String MESSAGE_INTEGRATION_NOT_READY = "Integration not ready";
     public static final String MESSAGE_KAFKA_TOPIC_NOT_READY = "Kafka Topic not ready";
+    public static final String MESSAGE_KAFKA_USER_NOT_READY = "Kafka User not ready";
     public static final String MESSAGE_CONFIG_MAP_MISSING = "config map is missing";
     public static final String MESSAGE_OPENAPI_CONFIG_MAP_FILE_MISSING = "openapi config map file missing";
     public static final String MESSAGE_CONFIG_MAP_KEY_MISSING = "config map key with the direct routes is missing";
@@ -44,8 +46,11 @@ public class ServiceDomainStatus extends AbstractResourceStatus {
 
     public static final String CONDITION_SERVICE_DOMAIN_INFRA_READY = "ServiceDomainInfraReady";
     public static final String CONDITION_KAFKA_TOPIC_READY = "KafkaTopicReady";
+    public static final String CONDITION_KAFKA_USER_READY = "KafkaUserReady";
     public static final String CONDITION_INTEGRATION_READY = "IntegrationReady";
 
     private String kafkaTopic;
     private String kafkaUser;
+    // Secret holding the credentials of the KafkaUser
+    private String kafkaUserSecret;
 }
\ No newline at end of file
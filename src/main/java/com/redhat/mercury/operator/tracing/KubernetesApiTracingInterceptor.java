@@ -0,0 +1,62 @@
+package com.redhat.mercury.operator.tracing;
+
+import java.io.IOException;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.redhat.mercury.operator.metrics.KubernetesApiCallInterceptor;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+// Records a client span for each API server request made within a reconcile. Requests without a current
+// span, i.e. the informers lists and watches, are not traced.
+@Singleton
+public class KubernetesApiTracingInterceptor implements Interceptor {
+
+    private static final AttributeKey<String> HTTP_METHOD = AttributeKey.stringKey("http.method");
+    private static final AttributeKey<String> HTTP_URL = AttributeKey.stringKey("http.url");
+    private static final AttributeKey<Long> HTTP_STATUS_CODE = AttributeKey.longKey("http.status_code");
+    private static final AttributeKey<String> RESOURCE = AttributeKey.stringKey("k8s.api.resource");
+
+    @Inject
+    Tracer tracer;
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        if (!Span.current().getSpanContext().isValid()) {
+            return chain.proceed(request);
+        }
+
+        final String[] resourceAndVerb = KubernetesApiCallInterceptor.getResourceAndVerb(request.method(), request.url());
+        final Span span = tracer.spanBuilder(resourceAndVerb[1] + " " + resourceAndVerb[0])
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(HTTP_METHOD, request.method())
+                .setAttribute(HTTP_URL, request.url().encodedPath())
+                .setAttribute(RESOURCE, resourceAndVerb[0])
+                .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            final Response response = chain.proceed(request);
+            span.setAttribute(HTTP_STATUS_CODE, (long) response.code());
+            if (response.code() >= 500) {
+                span.setStatus(StatusCode.ERROR);
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
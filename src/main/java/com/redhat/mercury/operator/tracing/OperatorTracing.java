@@ -0,0 +1,47 @@
+package com.redhat.mercury.operator.tracing;
+
+import java.util.function.Supplier;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+
+// Spans for the reconciles and their phases, the Kubernetes client calls made while
+// a span is current are recorded as its children
+@Singleton
+public class OperatorTracing {
+
+    public static final AttributeKey<String> KIND = AttributeKey.stringKey("k8s.resource.kind");
+    public static final AttributeKey<String> NAME = AttributeKey.stringKey("k8s.resource.name");
+    public static final AttributeKey<String> NAMESPACE = AttributeKey.stringKey("k8s.namespace.name");
+    public static final AttributeKey<Long> GENERATION = AttributeKey.longKey("k8s.resource.generation");
+
+    @Inject
+    Tracer tracer;
+
+    public <V> V inSpan(String spanName, HasMetadata resource, Supplier<V> action) {
+        final Span span = tracer.spanBuilder(spanName)
+                .setAttribute(KIND, resource.getKind())
+                .setAttribute(NAME, resource.getMetadata().getName())
+                .setAttribute(NAMESPACE, resource.getMetadata().getNamespace())
+                .startSpan();
+        if (resource.getMetadata().getGeneration() != null) {
+            span.setAttribute(GENERATION, resource.getMetadata().getGeneration());
+        }
+        try (Scope ignored = span.makeCurrent()) {
+            return action.get();
+        } catch (RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -1,10 +1,25 @@
 package com.redhat.mercury.operator.utils;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
 public class ResourceUtils {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // Map entries and properties are sorted so that the same content always hashes the same
+    // regardless of the Map implementation used to build it
+    private static final ObjectMapper HASH_MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+
     private ResourceUtils() {
     }
 
@@ -36,4 +51,26 @@ public class ResourceUtils {
         }
         return result.toString();
     }
+
+    public static String hash(Object value) {
+        try {
+            return sha256(HASH_MAPPER.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to serialize value to compute its hash", e);
+        }
+    }
+
+    public static String sha256(byte[] value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value);
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
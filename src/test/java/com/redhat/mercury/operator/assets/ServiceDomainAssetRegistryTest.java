@@ -0,0 +1,41 @@
+package com.redhat.mercury.operator.assets;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.redhat.mercury.operator.utils.ResourceUtils;
+
+import static com.redhat.mercury.operator.model.HttpExposeType.DEFAULT_API_VERSION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceDomainAssetRegistryTest {
+
+    private final ServiceDomainAssetRegistry registry = new ServiceDomainAssetRegistry();
+
+    @Test
+    void testBundledAssetsAreLoaded() {
+        for (String type : List.of("customer-offer", "customer-credit-rating", "party-routing-profile")) {
+            final ServiceDomainAssets assets = registry.get(DEFAULT_API_VERSION, type);
+            assertThat(assets).isNotNull();
+            assertThat(assets.getType()).isEqualTo(type);
+            assertThat(assets.getOpenApi()).isNotBlank();
+            assertThat(assets.getOpenApiDigest()).isEqualTo(ResourceUtils.sha256(assets.getOpenApi().getBytes(StandardCharsets.UTF_8)));
+            assertThat(assets.getRoutes()).isEqualTo(ServiceDomainAssetRegistry.parseRoutes(assets.getDirects()));
+        }
+    }
+
+    @Test
+    void testUnknownAssets() {
+        assertThat(registry.get(DEFAULT_API_VERSION, "unknown-type")).isNull();
+        assertThat(registry.get("v2", "customer-offer")).isNull();
+    }
+
+    @Test
+    void testParseRoutesIgnoresComments() {
+        assertThat(ServiceDomainAssetRegistry.parseRoutes("# Generated\n- from:\n    uri: direct:Test\n"))
+                .isEqualTo(List.of(Map.of("from", Map.of("uri", "direct:Test"))));
+    }
+}
@@ -1,16 +1,26 @@
 package com.redhat.mercury.operator.controller;
 
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.redhat.mercury.operator.model.ServiceDomain;
 import com.redhat.mercury.operator.model.ServiceDomainInfra;
+import com.redhat.mercury.operator.model.ServiceDomainStatus;
+import com.redhat.mercury.operator.utils.ResourceUtils;
 
+import io.fabric8.kubernetes.api.model.Condition;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
 
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.CONDITION_READY;
+import static com.redhat.mercury.operator.model.AbstractResourceStatus.STATUS_FALSE;
+import static com.redhat.mercury.operator.model.ServiceDomainStatus.CONDITION_SERVICE_DOMAIN_INFRA_READY;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @QuarkusTest
@@ -22,15 +32,17 @@ public class AbstractControllerTest extends AbstractTest{
         mockServer.getKubernetesMockServer().clearExpectations();
     }
 
+    @AfterEach
+    public void afterEach() {
+        deleteServiceDomainInfras();
+    }
+
     @Test
     public void testUpdateStatusWithConditionStateChanged(){
         ServiceDomainInfra sdi = createReadySDI();
         ServiceDomain sd = createServiceDomain();
 
-        mockServer.expect().get()
-                .withPath("/apis/mercury.redhat.io/v1alpha1/namespaces/test-service-domain/servicedomaininfras/service-domain-infra")
-                .andReturn(200, sdi)
-                .always();
+        storeServiceDomainInfra(sdi);
 
         UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
 
@@ -50,10 +62,7 @@ public class AbstractControllerTest extends AbstractTest{
         ServiceDomainInfra sdi = createReadySDI();
         ServiceDomain sd = createServiceDomain();
 
-        mockServer.expect().get()
-                .withPath("/apis/mercury.redhat.io/v1alpha1/namespaces/test-service-domain/servicedomaininfras/service-domain-infra")
-                .andReturn(200, sdi)
-                .always();
+        storeServiceDomainInfra(sdi);
 
         serviceDomainController.reconcile(sd, null);
 
@@ -65,4 +74,93 @@ public class AbstractControllerTest extends AbstractTest{
         UpdateControl<ServiceDomain> update = serviceDomainController.updateStatus(createServiceDomain());
         assertThat(update.isUpdateStatus()).isTrue();
     }
+
+    @Test
+    public void testStatusPatchIsEmptyWhenUnchanged() {
+        ServiceDomain sd = createServiceDomainWithStatus();
+        ServiceDomain current = createServiceDomainWithStatus();
+        sd.getStatus().getCondition(CONDITION_READY).setLastTransitionTime("2022-01-01T00:00:00Z");
+
+        assertThat(serviceDomainController.getStatusPatch(sd, current)).isEmpty();
+    }
+
+    @Test
+    public void testStatusPatchContainsOnlyChangedFields() {
+        ServiceDomain sd = createServiceDomainWithStatus();
+        ServiceDomain current = createServiceDomainWithStatus();
+        sd.getStatus().setKafkaTopic("customer-offer-topic");
+
+        assertThat(serviceDomainController.getStatusPatch(sd, current))
+                .containsOnlyKeys("kafkaTopic")
+                .containsEntry("kafkaTopic", "customer-offer-topic");
+
+        current.getStatus().setKafkaUser("customer-offer-user");
+        assertThat(serviceDomainController.getStatusPatch(sd, current))
+                .containsOnlyKeys("kafkaTopic", "kafkaUser")
+                .containsEntry("kafkaUser", null);
+    }
+
+    @Test
+    public void testStatusPatchContainsAllConditionsWhenOneChanged() {
+        ServiceDomain sd = createServiceDomainWithStatus();
+        ServiceDomain current = createServiceDomainWithStatus();
+        serviceDomainController.setStatusCondition(sd, CONDITION_READY, false);
+
+        Map<String, Object> patch = serviceDomainController.getStatusPatch(sd, current);
+        assertThat(patch).containsOnlyKeys("conditions");
+        assertThat((List<?>) patch.get("conditions")).hasSize(2);
+    }
+
+    @Test
+    public void testTransitionTimeOnlyMovesWithStatus() {
+        ServiceDomain sd = createServiceDomainWithStatus();
+        sd.getStatus().getCondition(CONDITION_READY).setLastTransitionTime("2022-01-01T00:00:00Z");
+
+        assertThat(serviceDomainController.setStatusCondition(sd, CONDITION_READY, true)).isFalse();
+        assertThat(sd.getStatus().getCondition(CONDITION_READY).getLastTransitionTime()).isEqualTo("2022-01-01T00:00:00Z");
+
+        assertThat(serviceDomainController.setStatusCondition(sd, CONDITION_READY, "Reason", "Message", true)).isTrue();
+        assertThat(sd.getStatus().getCondition(CONDITION_READY).getLastTransitionTime()).isEqualTo("2022-01-01T00:00:00Z");
+
+        assertThat(serviceDomainController.setStatusCondition(sd, CONDITION_READY, false)).isTrue();
+        assertThat(sd.getStatus().getCondition(CONDITION_READY).getLastTransitionTime()).isNotEqualTo("2022-01-01T00:00:00Z");
+    }
+
+    @Test
+    public void testConditionsKeepTheirOrder() {
+        ServiceDomain sd = createServiceDomainWithStatus();
+        serviceDomainController.setStatusCondition(sd, CONDITION_SERVICE_DOMAIN_INFRA_READY, false);
+
+        assertThat(sd.getStatus().getConditions())
+                .extracting(Condition::getType)
+                .containsExactly(CONDITION_SERVICE_DOMAIN_INFRA_READY, CONDITION_READY);
+        assertThat(sd.getStatus().getCondition(CONDITION_SERVICE_DOMAIN_INFRA_READY).getStatus()).isEqualTo(STATUS_FALSE);
+
+        sd.getStatus().removeCondition(CONDITION_SERVICE_DOMAIN_INFRA_READY);
+        assertThat(sd.getStatus().getCondition(CONDITION_SERVICE_DOMAIN_INFRA_READY)).isNull();
+        assertThat(sd.getStatus().getConditions()).hasSize(1);
+    }
+
+    @Test
+    public void testDesiredStateCheckDoesNotStampTheHash() {
+        ServiceDomain sd = createServiceDomain();
+        Deployment desired = serviceDomainController.buildDeployment(sd, "www.test", true);
+        Deployment current = serviceDomainController.buildDeployment(sd, "www.test", true);
+
+        final String desiredHash = ResourceUtils.hash(desired);
+        assertThat(serviceDomainController.isDesiredStateChanged(current, desired)).isTrue();
+        assertThat(ResourceUtils.hash(desired)).isEqualTo(desiredHash);
+
+        serviceDomainController.stampHash(current);
+        assertThat(serviceDomainController.isDesiredStateChanged(current, desired)).isFalse();
+        assertThat(serviceDomainController.isDesiredStateChanged(current, serviceDomainController.buildDeployment(sd, "other", true))).isTrue();
+    }
+
+    private ServiceDomain createServiceDomainWithStatus() {
+        ServiceDomain sd = createServiceDomain();
+        sd.setStatus(new ServiceDomainStatus());
+        serviceDomainController.setStatusCondition(sd, CONDITION_SERVICE_DOMAIN_INFRA_READY, true);
+        serviceDomainController.setStatusCondition(sd, CONDITION_READY, true);
+        return sd;
+    }
 }
@@ -1,7 +1,9 @@
 package com.redhat.mercury.operator.controller;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 import javax.inject.Inject;
 
@@ -15,18 +17,26 @@ import com.redhat.mercury.operator.model.ServiceDomainInfraStatusBuilder;
 import com.redhat.mercury.operator.model.ServiceDomainSpecBuilder;
 
 import io.fabric8.kubernetes.api.model.Condition;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.client.CustomResource;
+import io.fabric8.kubernetes.client.NamespacedKubernetesClient;
 import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
 import io.quarkus.test.kubernetes.client.KubernetesTestServer;
 import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.api.kafka.model.KafkaTopic;
+import io.strimzi.api.kafka.model.KafkaUser;
 import io.strimzi.api.kafka.model.status.ConditionBuilder;
 import io.strimzi.api.kafka.model.status.KafkaStatus;
 import io.strimzi.api.kafka.model.status.KafkaStatusBuilder;
+import io.strimzi.api.kafka.model.status.KafkaTopicStatusBuilder;
+import io.strimzi.api.kafka.model.status.KafkaUserStatusBuilder;
 import io.strimzi.api.kafka.model.status.ListenerAddressBuilder;
 import io.strimzi.api.kafka.model.status.ListenerStatusBuilder;
 
+import static com.redhat.mercury.operator.controller.ServiceDomainController.KAFKA_TOPIC_SUFFIX;
+import static com.redhat.mercury.operator.controller.ServiceDomainController.KAFKA_USER_SUFFIX;
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.CONDITION_READY;
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.MESSAGE_WAITING;
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.REASON_WAITING;
@@ -70,6 +80,65 @@ public abstract class AbstractTest {
         return kafka;
     }
 
+    // Simulates the Strimzi topic operator creating the topic of a service domain
+    protected void setKafkaTopicReady(String sdName) {
+        final NamespacedKubernetesClient client = mockServer.getClient();
+        final KafkaTopic kafkaTopic = client.resources(KafkaTopic.class).inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).withName(sdName + KAFKA_TOPIC_SUFFIX).get();
+        assertThat(kafkaTopic).isNotNull();
+        kafkaTopic.setStatus(new KafkaTopicStatusBuilder()
+                .withConditions(new ConditionBuilder()
+                        .withType(CONDITION_READY)
+                        .withStatus(STATUS_TRUE)
+                        .build())
+                .build());
+        client.resources(KafkaTopic.class).inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).replace(kafkaTopic);
+    }
+
+    // Simulates the Strimzi user operator creating the user of a service domain and its credentials secret
+    protected void setKafkaUserReady(String sdName) {
+        final NamespacedKubernetesClient client = mockServer.getClient();
+        final KafkaUser kafkaUser = client.resources(KafkaUser.class).inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).withName(sdName + KAFKA_USER_SUFFIX).get();
+        assertThat(kafkaUser).isNotNull();
+        kafkaUser.setStatus(new KafkaUserStatusBuilder()
+                .withUsername(sdName + KAFKA_USER_SUFFIX)
+                .withSecret(sdName + KAFKA_USER_SUFFIX)
+                .withConditions(new ConditionBuilder()
+                        .withType(CONDITION_READY)
+                        .withStatus(STATUS_TRUE)
+                        .build())
+                .build());
+        client.resources(KafkaUser.class).inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).replace(kafkaUser);
+    }
+
+    // Service domains read their infra from the informer, which has to see it before they are reconciled
+    protected void storeServiceDomainInfra(ServiceDomainInfra sdi) {
+        mockServer.getClient().resources(ServiceDomainInfra.class).inNamespace(sdi.getMetadata().getNamespace()).createOrReplace(sdi);
+        awaitCached(serviceDomainController.getServiceDomainInfraInformer(), sdi, Objects::nonNull);
+    }
+
+    protected void deleteServiceDomainInfras() {
+        final NamespacedKubernetesClient client = mockServer.getClient();
+        for (ServiceDomainInfra sdi : client.resources(ServiceDomainInfra.class).inAnyNamespace().list().getItems()) {
+            client.resources(ServiceDomainInfra.class).inNamespace(sdi.getMetadata().getNamespace()).withName(sdi.getMetadata().getName()).delete();
+            awaitCached(serviceDomainController.getServiceDomainInfraInformer(), sdi, Objects::isNull);
+        }
+    }
+
+    // Informers are eventually consistent, waits until the cached copy of a resource satisfies the condition
+    protected <T extends HasMetadata> void awaitCached(ScopedInformer<T> informer, HasMetadata resource, Predicate<T> condition) {
+        final String namespace = resource.getMetadata().getNamespace();
+        final String name = resource.getMetadata().getName();
+        for (int i = 0; i < 50 && !condition.test(informer.get(namespace, name)); i++) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        assertThat(condition.test(informer.get(namespace, name))).isTrue();
+    }
+
     protected ServiceDomainInfra createReadySDI(String sdiName) {
         final ServiceDomainInfra sdi = new ServiceDomainInfra();
         sdi.setMetadata(new ObjectMetaBuilder().withName(sdiName).withNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).withUid(String.valueOf(UUID.randomUUID())).build());
@@ -0,0 +1,53 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigMapPayloadStripperTest {
+
+    @Test
+    void testStoredConfigMapIsReplaced() {
+        final Cache<ConfigMap> store = new Cache<>();
+        final ConfigMap configMap = buildConfigMap("1");
+        store.add(configMap);
+
+        new ConfigMapPayloadStripper(store).onAdd(configMap);
+
+        final ConfigMap stored = store.getByKey("test/customer-offer-openapi");
+        assertThat(stored).isNotSameAs(configMap);
+        assertThat(stored.getData()).isNull();
+        assertThat(stored.getMetadata().getResourceVersion()).isEqualTo("1");
+        // Instances already handed out by the informer keep their payload
+        assertThat(configMap.getData()).containsEntry("openapi.json", "{}");
+    }
+
+    @Test
+    void testNewerVersionIsLeftAlone() {
+        final Cache<ConfigMap> store = new Cache<>();
+        final ConfigMap configMap = buildConfigMap("1");
+        final ConfigMap newer = buildConfigMap("2");
+        store.add(newer);
+
+        new ConfigMapPayloadStripper(store).onUpdate(null, configMap);
+
+        assertThat(store.getByKey("test/customer-offer-openapi")).isSameAs(newer);
+    }
+
+    private ConfigMap buildConfigMap(String resourceVersion) {
+        return new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName("customer-offer-openapi")
+                .withNamespace("test")
+                .withResourceVersion(resourceVersion)
+                .endMetadata()
+                .withData(Map.of("openapi.json", "{}"))
+                .build();
+    }
+}
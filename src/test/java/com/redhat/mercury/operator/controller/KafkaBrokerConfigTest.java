@@ -0,0 +1,60 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.redhat.mercury.operator.model.KafkaConfig;
+import com.redhat.mercury.operator.model.KafkaConfigBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KafkaBrokerConfigTest {
+
+    private static final Map<String, Object> REPLICATION_CONFIG = Map.of("min.insync.replicas", 2);
+
+    @Test
+    void testWithoutProfile() {
+        assertThat(KafkaBrokerConfig.build(REPLICATION_CONFIG, new KafkaConfigBuilder().withReplicas(3).build()))
+                .isEqualTo(REPLICATION_CONFIG);
+    }
+
+    @Test
+    void testProfileWithOverrides() {
+        KafkaConfig kafka = new KafkaConfigBuilder()
+                .withReplicas(3)
+                .withProfile(KafkaConfig.PROFILE_THROUGHPUT)
+                .withConfig(Map.of("num.partitions", 12, "ssl.protocol", "TLSv1.3"))
+                .build();
+
+        assertThat(KafkaBrokerConfig.build(REPLICATION_CONFIG, kafka))
+                .containsEntry("min.insync.replicas", 2)
+                .containsEntry("compression.type", "lz4")
+                .containsEntry("num.io.threads", 16)
+                .containsEntry("num.partitions", 12)
+                .containsEntry("ssl.protocol", "TLSv1.3");
+    }
+
+    @Test
+    void testUnknownProfile() {
+        KafkaConfig kafka = new KafkaConfigBuilder().withReplicas(1).withProfile("fastest").build();
+
+        assertThatThrownBy(() -> KafkaBrokerConfig.build(REPLICATION_CONFIG, kafka))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported kafka profile: fastest supported values are [balanced, low-latency, throughput]");
+    }
+
+    @Test
+    void testForbiddenOptions() {
+        KafkaConfig kafka = new KafkaConfigBuilder()
+                .withReplicas(1)
+                .withProfile(KafkaConfig.PROFILE_BALANCED)
+                .withConfig(Map.of("listeners", "PLAINTEXT://:9092", "log.dirs", "/tmp", "zookeeper.connection.timeout.ms", 6000))
+                .build();
+
+        assertThatThrownBy(() -> KafkaBrokerConfig.build(REPLICATION_CONFIG, kafka))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Kafka config options [listeners, log.dirs] are managed by Strimzi and cannot be set");
+    }
+}
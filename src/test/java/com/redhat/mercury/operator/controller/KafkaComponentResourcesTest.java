@@ -0,0 +1,73 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.redhat.mercury.operator.model.KafkaComponentConfig;
+import com.redhat.mercury.operator.model.KafkaComponentConfigBuilder;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+import io.strimzi.api.kafka.model.JvmOptions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KafkaComponentResourcesTest {
+
+    @Test
+    void testNotConfigured() {
+        assertThat(KafkaComponentResources.getResources(null)).isNull();
+        assertThat(KafkaComponentResources.getJvmOptions(null, KafkaComponentResources.BROKER_HEAP_RATIO)).isNull();
+        assertThat(KafkaComponentResources.getJvmOptions(new KafkaComponentConfig(), KafkaComponentResources.BROKER_HEAP_RATIO)).isNull();
+    }
+
+    @Test
+    void testRequestsAreGuaranteed() {
+        KafkaComponentConfig broker = new KafkaComponentConfigBuilder()
+                .withResources(new ResourceRequirementsBuilder()
+                        .withRequests(Map.of("cpu", new Quantity("1"), "memory", new Quantity("4Gi")))
+                        .build())
+                .build();
+
+        ResourceRequirements resources = KafkaComponentResources.getResources(broker);
+        assertThat(resources.getLimits()).isEqualTo(resources.getRequests());
+
+        JvmOptions jvmOptions = KafkaComponentResources.getJvmOptions(broker, KafkaComponentResources.BROKER_HEAP_RATIO);
+        assertThat(jvmOptions.getXmx()).isEqualTo("2048m");
+        assertThat(jvmOptions.getXms()).isEqualTo("2048m");
+    }
+
+    @Test
+    void testDifferentRequestsAndLimitsAreGuaranteed() {
+        KafkaComponentConfig broker = new KafkaComponentConfigBuilder()
+                .withResources(new ResourceRequirementsBuilder()
+                        .withRequests(Map.of("cpu", new Quantity("500m"), "memory", new Quantity("2Gi")))
+                        .withLimits(Map.of("cpu", new Quantity("2"), "memory", new Quantity("4Gi")))
+                        .build())
+                .build();
+
+        ResourceRequirements resources = KafkaComponentResources.getResources(broker);
+        assertThat(resources.getRequests())
+                .isEqualTo(resources.getLimits())
+                .containsEntry("cpu", new Quantity("2"))
+                .containsEntry("memory", new Quantity("4Gi"));
+    }
+
+    @Test
+    void testExplicitHeapAndGcOptions() {
+        KafkaComponentConfig zookeeper = new KafkaComponentConfigBuilder()
+                .withResources(new ResourceRequirementsBuilder()
+                        .withLimits(Map.of("memory", new Quantity("1Gi")))
+                        .build())
+                .withXms("256m")
+                .withGcOptions(Map.of("UseG1GC", "true"))
+                .build();
+
+        JvmOptions jvmOptions = KafkaComponentResources.getJvmOptions(zookeeper, KafkaComponentResources.ZOOKEEPER_HEAP_RATIO);
+        assertThat(jvmOptions.getXmx()).isEqualTo("768m");
+        assertThat(jvmOptions.getXms()).isEqualTo("256m");
+        assertThat(jvmOptions.getXx()).containsEntry("UseG1GC", "true");
+    }
+}
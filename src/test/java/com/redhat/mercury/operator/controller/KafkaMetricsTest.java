@@ -0,0 +1,66 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.redhat.mercury.operator.model.KafkaMetricsConfig;
+
+import io.strimzi.api.kafka.model.JmxPrometheusExporterMetrics;
+import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.api.kafka.model.KafkaBuilder;
+import io.strimzi.api.kafka.model.KafkaExporterSpec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KafkaMetricsTest {
+
+    @Test
+    void testNoMetrics() {
+        assertThat(KafkaMetrics.getMetricsConfig(null, "my-sdi", KafkaMetrics.KAFKA_METRICS_KEY)).isNull();
+        assertThat(KafkaMetrics.getKafkaExporter(null)).isNull();
+        assertThat(KafkaMetrics.hasMetricsConfig(null)).isFalse();
+    }
+
+    @Test
+    void testMetricsConfig() {
+        JmxPrometheusExporterMetrics metricsConfig = (JmxPrometheusExporterMetrics) KafkaMetrics.getMetricsConfig(new KafkaMetricsConfig(),
+                "my-sdi", KafkaMetrics.ZOOKEEPER_METRICS_KEY);
+        assertThat(metricsConfig.getValueFrom().getConfigMapKeyRef().getName()).isEqualTo("my-sdi-kafka-metrics");
+        assertThat(metricsConfig.getValueFrom().getConfigMapKeyRef().getKey()).isEqualTo(KafkaMetrics.ZOOKEEPER_METRICS_KEY);
+        assertThat(KafkaMetrics.getConfigMapData())
+                .containsOnlyKeys(KafkaMetrics.KAFKA_METRICS_KEY, KafkaMetrics.ZOOKEEPER_METRICS_KEY);
+        assertThat(KafkaMetrics.getConfigMapData().get(KafkaMetrics.KAFKA_METRICS_KEY)).contains("lowercaseOutputName: true");
+    }
+
+    @Test
+    void testKafkaExporter() {
+        KafkaExporterSpec exporter = KafkaMetrics.getKafkaExporter(new KafkaMetricsConfig().setGroupRegex("customer-.*"));
+        assertThat(exporter.getGroupRegex()).isEqualTo("customer-.*");
+        assertThat(exporter.getTopicRegex()).isNull();
+        assertThat(KafkaMetrics.getKafkaExporter(new KafkaMetricsConfig().setKafkaExporter(false))).isNull();
+    }
+
+    @Test
+    void testEndpoints() {
+        Kafka kafka = new KafkaBuilder()
+                .withNewMetadata()
+                .withName("my-sdi")
+                .withNamespace("my-namespace")
+                .endMetadata()
+                .withNewSpec()
+                .withNewKafka()
+                .withReplicas(2)
+                .endKafka()
+                .endSpec()
+                .build();
+        assertThat(KafkaMetrics.getEndpoints(new KafkaMetricsConfig(), kafka, null)).containsExactly(
+                "http://my-sdi-kafka-0.my-sdi-kafka-brokers.my-namespace.svc:9404/metrics",
+                "http://my-sdi-kafka-1.my-sdi-kafka-brokers.my-namespace.svc:9404/metrics",
+                "http://my-sdi-kafka-exporter-metrics.my-namespace.svc:9404/metrics");
+        // Node pool brokers are named after their node ids
+        assertThat(KafkaMetrics.getEndpoints(new KafkaMetricsConfig().setKafkaExporter(false), kafka, List.of(5, 3))).containsExactly(
+                "http://my-sdi-kafka-3.my-sdi-kafka-brokers.my-namespace.svc:9404/metrics",
+                "http://my-sdi-kafka-5.my-sdi-kafka-brokers.my-namespace.svc:9404/metrics");
+    }
+}
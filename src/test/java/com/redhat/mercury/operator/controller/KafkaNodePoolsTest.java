@@ -0,0 +1,124 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.redhat.mercury.operator.model.KafkaKRaftConfig;
+import com.redhat.mercury.operator.model.KafkaKRaftConfigBuilder;
+
+import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.api.kafka.model.KafkaBuilder;
+import io.strimzi.api.kafka.model.KafkaClusterSpecBuilder;
+import io.strimzi.api.kafka.model.status.KafkaStatus;
+
+import static com.redhat.mercury.operator.controller.KafkaNodePools.DISABLED;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.ENABLED;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.KRAFT_ANNOTATION;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.KRAFT_KAFKA_VERSION;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.KRAFT_METADATA_VERSION;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.METADATA_STATE_PROPERTY;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.MIGRATION;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.NODE_POOLS_ANNOTATION;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.POST_MIGRATION_STATE;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.PROTOCOL_UPGRADE;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.PROTOCOL_VERSION_CONFIG;
+import static com.redhat.mercury.operator.controller.KafkaNodePools.VERSION_UPGRADE;
+import static com.redhat.mercury.operator.model.KafkaKRaftConfig.MODE_ENABLED;
+import static com.redhat.mercury.operator.model.KafkaKRaftConfig.MODE_MIGRATION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KafkaNodePoolsTest {
+
+    private static final KafkaKRaftConfig ENABLE = new KafkaKRaftConfigBuilder().withMode(MODE_ENABLED).build();
+    private static final KafkaKRaftConfig MIGRATE = new KafkaKRaftConfigBuilder().withMode(MODE_MIGRATION).build();
+
+    @Test
+    void testNewCluster() {
+        assertThat(KafkaNodePools.getMode(null, null, false)).isNull();
+        assertThat(KafkaNodePools.getMode(new KafkaKRaftConfig(), null, false)).isEqualTo(ENABLED);
+        assertThat(KafkaNodePools.getMode(ENABLE, null, false)).isEqualTo(ENABLED);
+        assertThat(KafkaNodePools.getAnnotations(null)).isEmpty();
+        assertThat(KafkaNodePools.getAnnotations(VERSION_UPGRADE)).isEmpty();
+        assertThat(KafkaNodePools.getAnnotations(PROTOCOL_UPGRADE)).isEmpty();
+        assertThat(KafkaNodePools.getAnnotations(ENABLED))
+                .containsEntry(NODE_POOLS_ANNOTATION, ENABLED)
+                .containsEntry(KRAFT_ANNOTATION, ENABLED);
+    }
+
+    @Test
+    void testUnsupportedMode() {
+        assertThatThrownBy(() -> KafkaNodePools.getMode(new KafkaKRaftConfigBuilder().withMode("zookeeper").build(), null, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("zookeeper");
+    }
+
+    @Test
+    void testMigration() {
+        // The brokers are upgraded with the previous protocol first, then the protocol is raised
+        assertThat(KafkaNodePools.getMode(MIGRATE, buildKafka(null, null), true)).isEqualTo(VERSION_UPGRADE);
+        assertThat(KafkaNodePools.getMode(MIGRATE, buildUpgradedKafka("3.0"), false)).isEqualTo(VERSION_UPGRADE);
+        assertThat(KafkaNodePools.getMode(MIGRATE, buildUpgradedKafka("3.0"), true)).isEqualTo(PROTOCOL_UPGRADE);
+        assertThat(KafkaNodePools.getMode(MIGRATE, buildUpgradedKafka(KRAFT_METADATA_VERSION), false)).isEqualTo(PROTOCOL_UPGRADE);
+        // The brokers move to a node pool once they use the new protocol
+        assertThat(KafkaNodePools.getMode(MIGRATE, buildUpgradedKafka(KRAFT_METADATA_VERSION), true)).isEqualTo(DISABLED);
+        assertThat(KafkaNodePools.hasKRaftProtocol(VERSION_UPGRADE)).isFalse();
+        assertThat(KafkaNodePools.hasKRaftProtocol(PROTOCOL_UPGRADE)).isTrue();
+        // Then the controllers are added once the brokers are ready
+        assertThat(KafkaNodePools.getMode(MIGRATE, buildKafka(DISABLED, null), false)).isEqualTo(DISABLED);
+        assertThat(KafkaNodePools.getMode(MIGRATE, buildKafka(DISABLED, null), true)).isEqualTo(MIGRATION);
+        // ZooKeeper is only removed once the metadata is migrated and KRaft enabled
+        assertThat(KafkaNodePools.getMode(MIGRATE, buildKafka(MIGRATION, POST_MIGRATION_STATE), true)).isEqualTo(MIGRATION);
+        assertThat(KafkaNodePools.getMode(ENABLE, buildKafka(MIGRATION, "KRaftMigration"), true)).isEqualTo(MIGRATION);
+        assertThat(KafkaNodePools.getMode(ENABLE, buildKafka(MIGRATION, POST_MIGRATION_STATE), false)).isEqualTo(MIGRATION);
+        assertThat(KafkaNodePools.getMode(ENABLE, buildKafka(MIGRATION, POST_MIGRATION_STATE), true)).isEqualTo(ENABLED);
+        assertThat(KafkaNodePools.getMode(ENABLE, buildKafka(ENABLED, "KRaft"), false)).isEqualTo(ENABLED);
+    }
+
+    @Test
+    void testUnsupportedTransitions() {
+        assertThatThrownBy(() -> KafkaNodePools.getMode(ENABLE, buildKafka(null, null), true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(MODE_MIGRATION);
+        assertThatThrownBy(() -> KafkaNodePools.getMode(ENABLE, buildKafka(DISABLED, null), true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KafkaNodePools.getMode(MIGRATE, buildKafka(ENABLED, "KRaft"), true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KafkaNodePools.getMode(null, buildKafka(MIGRATION, "KRaftMigration"), true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KafkaNodePools.getMode(ENABLE, buildUpgradedKafka(KRAFT_METADATA_VERSION), true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(MODE_MIGRATION);
+        assertThatThrownBy(() -> KafkaNodePools.getMode(null, buildUpgradedKafka("3.0"), true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("downgrading");
+    }
+
+    // A ZooKeeper Kafka running the KRaft version, before it uses node pools
+    private Kafka buildUpgradedKafka(String protocolVersion) {
+        final Kafka kafka = buildKafka(null, null);
+        kafka.getSpec().setKafka(new KafkaClusterSpecBuilder()
+                .withVersion(KRAFT_KAFKA_VERSION)
+                .withConfig(Map.of(PROTOCOL_VERSION_CONFIG, protocolVersion))
+                .build());
+        return kafka;
+    }
+
+    private Kafka buildKafka(String kraftMode, String metadataState) {
+        final Kafka kafka = new KafkaBuilder()
+                .withNewMetadata()
+                .withName("my-sdi")
+                .withAnnotations(kraftMode == null ? Map.of() : KafkaNodePools.getAnnotations(kraftMode))
+                .endMetadata()
+                .withNewSpec()
+                .endSpec()
+                .build();
+        final KafkaStatus status = new KafkaStatus();
+        if (metadataState != null) {
+            status.setAdditionalProperty(METADATA_STATE_PROPERTY, metadataState);
+        }
+        kafka.setStatus(status);
+        return kafka;
+    }
+}
@@ -0,0 +1,85 @@
+package com.redhat.mercury.operator.controller;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.strimzi.api.kafka.model.KafkaRebalance;
+import io.strimzi.api.kafka.model.KafkaRebalanceBuilder;
+import io.strimzi.api.kafka.model.balancing.KafkaRebalanceMode;
+import io.strimzi.api.kafka.model.status.ConditionBuilder;
+import io.strimzi.api.kafka.model.status.KafkaRebalanceStatusBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KafkaRebalancesTest {
+
+    @Test
+    void testBrokerReplicas() {
+        assertThat(KafkaRebalances.getBrokerReplicas(null, 3)).isEqualTo(3);
+        assertThat(KafkaRebalances.getBrokerReplicas(3, 5)).isEqualTo(5);
+        // Removed brokers are kept until their partitions moved away
+        assertThat(KafkaRebalances.getBrokerReplicas(5, 3)).isEqualTo(5);
+        assertThat(KafkaRebalances.isCruiseControlEnabled(1)).isFalse();
+        assertThat(KafkaRebalances.isCruiseControlEnabled(2)).isTrue();
+    }
+
+    @Test
+    void testBrokerIds() {
+        assertThat(KafkaRebalances.getMode(3, 5)).isEqualTo(KafkaRebalanceMode.ADD_BROKERS);
+        assertThat(KafkaRebalances.getBrokerIds(null, 3, 5)).containsExactly(3, 4);
+        assertThat(KafkaRebalances.getMode(5, 3)).isEqualTo(KafkaRebalanceMode.REMOVE_BROKERS);
+        assertThat(KafkaRebalances.getBrokerIds(null, 5, 3)).containsExactly(3, 4);
+        // Node pools number their nodes across pools
+        assertThat(KafkaRebalances.getBrokerIds(List.of(7, 3, 4, 5), 3, 4)).containsExactly(7);
+    }
+
+    @Test
+    void testAnnotations() {
+        final Instant requestedAt = Instant.parse("2026-01-01T00:00:00Z");
+        KafkaRebalance rebalance = new KafkaRebalanceBuilder()
+                .withNewMetadata()
+                .withAnnotations(Map.of(KafkaRebalances.TARGET_REPLICAS_ANNOTATION, "5",
+                        KafkaRebalances.REQUESTED_AT_ANNOTATION, requestedAt.toString()))
+                .endMetadata()
+                .build();
+        assertThat(KafkaRebalances.getTargetReplicas(rebalance)).isEqualTo(5);
+        assertThat(KafkaRebalances.getRequestedAt(rebalance)).isEqualTo(requestedAt);
+
+        // Edited by hand
+        rebalance.getMetadata().setAnnotations(Map.of(KafkaRebalances.TARGET_REPLICAS_ANNOTATION, "five",
+                KafkaRebalances.REQUESTED_AT_ANNOTATION, "yesterday"));
+        assertThat(KafkaRebalances.getTargetReplicas(rebalance)).isNull();
+        assertThat(KafkaRebalances.getRequestedAt(rebalance)).isNull();
+
+        rebalance.getMetadata().setAnnotations(null);
+        assertThat(KafkaRebalances.getTargetReplicas(rebalance)).isNull();
+        assertThat(KafkaRebalances.getRequestedAt(rebalance)).isNull();
+    }
+
+    @Test
+    void testState() {
+        KafkaRebalance rebalance = new KafkaRebalanceBuilder()
+                .withNewSpec()
+                .withMode(KafkaRebalanceMode.ADD_BROKERS)
+                .withBrokers(3, 4)
+                .endSpec()
+                .withStatus(new KafkaRebalanceStatusBuilder()
+                        .withConditions(new ConditionBuilder()
+                                .withType(KafkaRebalances.STATE_NOT_READY)
+                                .withStatus("True")
+                                .withMessage("NotEnoughValidWindowsException")
+                                .build())
+                        .build())
+                .build();
+
+        assertThat(KafkaRebalances.getState(null)).isNull();
+        assertThat(KafkaRebalances.getState(rebalance)).isEqualTo(KafkaRebalances.STATE_NOT_READY);
+        assertThat(KafkaRebalances.getMessage(rebalance)).isEqualTo("NotEnoughValidWindowsException");
+        assertThat(KafkaRebalances.isSameRebalance(rebalance, KafkaRebalanceMode.ADD_BROKERS, List.of(3, 4))).isTrue();
+        assertThat(KafkaRebalances.isSameRebalance(rebalance, KafkaRebalanceMode.REMOVE_BROKERS, List.of(3, 4))).isFalse();
+        assertThat(KafkaRebalances.isSameRebalance(rebalance, KafkaRebalanceMode.ADD_BROKERS, List.of(3))).isFalse();
+    }
+}
@@ -0,0 +1,75 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.strimzi.api.kafka.model.KafkaExporterSpecBuilder;
+import io.strimzi.api.kafka.model.KafkaSpec;
+import io.strimzi.api.kafka.model.KafkaSpecBuilder;
+import io.strimzi.api.kafka.model.listener.arraylistener.GenericKafkaListenerBuilder;
+import io.strimzi.api.kafka.model.listener.arraylistener.KafkaListenerType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KafkaSpecDiffTest {
+
+    @Test
+    void testServerNormalizedSpec() {
+        KafkaSpec current = buildSpec(Map.of("default.replication.factor", "3", "min.insync.replicas", 2.0,
+                "inter.broker.protocol.version", "3.0"));
+        // Defaulted by Strimzi and the API server
+        current.setMaintenanceTimeWindows(List.of("* * 0-1 ? * SUN *"));
+        current.getKafka().setBrokerRackInitImage("quay.io/strimzi/operator");
+        current.getKafka().getListeners().get(0).setNetworkPolicyPeers(List.of());
+
+        KafkaSpecDiff diff = KafkaSpecDiff.diff(current, buildSpec(Map.of("default.replication.factor", 3, "min.insync.replicas", 2,
+                "inter.broker.protocol.version", "3.0")));
+        assertThat(diff.isChanged()).isFalse();
+        assertThat(diff.isRestartRequired()).isFalse();
+    }
+
+    @Test
+    void testDynamicBrokerConfigs() {
+        KafkaSpecDiff diff = KafkaSpecDiff.diff(buildSpec(Map.of("log.retention.ms", 604800000, "min.insync.replicas", 1)),
+                buildSpec(Map.of("log.retention.ms", 86400000, "min.insync.replicas", 2)));
+        assertThat(diff.isChanged()).isTrue();
+        assertThat(diff.isRestartRequired()).isFalse();
+        assertThat(diff.getDynamicConfigs()).containsExactly("log.retention.ms", "min.insync.replicas");
+    }
+
+    @Test
+    void testRestartChanges() {
+        KafkaSpec current = buildSpec(Map.of("auto.create.topics.enable", false, "log.retention.ms", 604800000));
+        current.setKafkaExporter(new KafkaExporterSpecBuilder().withTopicRegex(".*").build());
+        KafkaSpec desired = buildSpec(Map.of("auto.create.topics.enable", true));
+        desired.getKafka().setReplicas(3);
+
+        KafkaSpecDiff diff = KafkaSpecDiff.diff(current, desired);
+        assertThat(diff.isRestartRequired()).isTrue();
+        // Removed fields written by the operator are changes too
+        assertThat(diff.getRestartChanges()).containsExactly("kafka.config.auto.create.topics.enable", "kafka.replicas", "kafkaExporter");
+        assertThat(diff.getDynamicConfigs()).containsExactly("log.retention.ms");
+    }
+
+    @Test
+    void testNewKafka() {
+        assertThat(KafkaSpecDiff.diff(null, buildSpec(Map.of())).getRestartChanges()).containsExactly("kafka");
+    }
+
+    private KafkaSpec buildSpec(Map<String, Object> config) {
+        return new KafkaSpecBuilder()
+                .withNewKafka()
+                .withReplicas(1)
+                .withListeners(new GenericKafkaListenerBuilder()
+                        .withName("plain")
+                        .withPort(9092)
+                        .withType(KafkaListenerType.INTERNAL)
+                        .withTls(false)
+                        .build())
+                .withConfig(config)
+                .endKafka()
+                .build();
+    }
+}
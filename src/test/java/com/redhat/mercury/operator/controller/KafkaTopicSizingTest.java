@@ -0,0 +1,54 @@
+package com.redhat.mercury.operator.controller;
+
+import org.junit.jupiter.api.Test;
+
+import com.redhat.mercury.operator.model.KafkaConfigBuilder;
+import com.redhat.mercury.operator.model.KafkaTopicConfig;
+import com.redhat.mercury.operator.model.KafkaTopicConfigBuilder;
+
+import static com.redhat.mercury.operator.controller.KafkaTopicSizing.DEFAULT_PARTITIONS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KafkaTopicSizingTest {
+
+    private static final int PARTITION_THROUGHPUT = 10;
+
+    @Test
+    void testDefaultPartitions() {
+        assertThat(KafkaTopicSizing.getPartitions(null, null, PARTITION_THROUGHPUT, null)).isEqualTo(DEFAULT_PARTITIONS);
+        assertThat(KafkaTopicSizing.getPartitions(null, 5, PARTITION_THROUGHPUT, null)).isEqualTo(5);
+    }
+
+    @Test
+    void testPartitionsFromThroughput() {
+        KafkaTopicConfig topic = new KafkaTopicConfigBuilder().withThroughput(45).build();
+
+        assertThat(KafkaTopicSizing.getPartitions(topic, 2, PARTITION_THROUGHPUT, null)).isEqualTo(5);
+        assertThat(KafkaTopicSizing.getPartitions(topic, 8, PARTITION_THROUGHPUT, null)).isEqualTo(8);
+    }
+
+    @Test
+    void testPartitionsNeverShrink() {
+        KafkaTopicConfig topic = new KafkaTopicConfigBuilder().withPartitions(2).build();
+
+        assertThat(KafkaTopicSizing.getPartitions(topic, 1, PARTITION_THROUGHPUT, null)).isEqualTo(2);
+        assertThat(KafkaTopicSizing.getPartitions(topic, 1, PARTITION_THROUGHPUT, 6)).isEqualTo(6);
+    }
+
+    @Test
+    void testReplicasAndConfig() {
+        assertThat(KafkaTopicSizing.getReplicas(null, new KafkaConfigBuilder().withReplicas(5).build())).isEqualTo(3);
+        assertThat(KafkaTopicSizing.getReplicas(null, new KafkaConfigBuilder().withReplicas(1).build())).isEqualTo(1);
+
+        KafkaTopicConfig topic = new KafkaTopicConfigBuilder()
+                .withReplicas(2)
+                .withRetentionMs(86400000L)
+                .withCompressionType("lz4")
+                .build();
+        assertThat(KafkaTopicSizing.getReplicas(topic, new KafkaConfigBuilder().withReplicas(3).build())).isEqualTo(2);
+        assertThat(KafkaTopicSizing.getConfig(topic))
+                .containsEntry("retention.ms", 86400000L)
+                .containsEntry("compression.type", "lz4")
+                .doesNotContainKey("segment.bytes");
+    }
+}
@@ -0,0 +1,82 @@
+package com.redhat.mercury.operator.controller;
+
+import org.junit.jupiter.api.Test;
+
+import com.redhat.mercury.operator.model.KafkaTopologyConfig;
+import com.redhat.mercury.operator.model.KafkaTopologyConfigBuilder;
+
+import io.fabric8.kubernetes.api.model.TopologySpreadConstraint;
+import io.strimzi.api.kafka.model.template.PodTemplate;
+
+import static com.redhat.mercury.operator.model.KafkaTopologyConfig.DEFAULT_ZONE_KEY;
+import static com.redhat.mercury.operator.model.KafkaTopologyConfig.DO_NOT_SCHEDULE;
+import static com.redhat.mercury.operator.model.KafkaTopologyConfig.SCHEDULE_ANYWAY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KafkaTopologyTest {
+
+    @Test
+    void testNotConfigured() {
+        assertThat(KafkaTopology.getRack(null)).isNull();
+        assertThat(KafkaTopology.getBrokerConfig(null)).isEmpty();
+        assertThat(KafkaTopology.getPodTemplate(null, "my-sdi", KafkaTopology.KAFKA_COMPONENT)).isNull();
+    }
+
+    @Test
+    void testDefaults() {
+        KafkaTopologyConfig topology = new KafkaTopologyConfig();
+
+        assertThat(KafkaTopology.getRack(topology).getTopologyKey()).isEqualTo(DEFAULT_ZONE_KEY);
+        assertThat(KafkaTopology.getBrokerConfig(topology))
+                .containsEntry(KafkaTopology.REPLICA_SELECTOR_CLASS, KafkaTopology.RACK_AWARE_REPLICA_SELECTOR);
+
+        PodTemplate pod = KafkaTopology.getPodTemplate(topology, "my-sdi", KafkaTopology.KAFKA_COMPONENT);
+        assertThat(pod.getTopologySpreadConstraints()).hasSize(1);
+        TopologySpreadConstraint constraint = pod.getTopologySpreadConstraints().get(0);
+        assertThat(constraint.getTopologyKey()).isEqualTo(DEFAULT_ZONE_KEY);
+        assertThat(constraint.getMaxSkew()).isEqualTo(1);
+        assertThat(constraint.getWhenUnsatisfiable()).isEqualTo(SCHEDULE_ANYWAY);
+        assertThat(constraint.getLabelSelector().getMatchLabels()).containsEntry("strimzi.io/name", "my-sdi-kafka");
+
+        assertThat(pod.getAffinity().getPodAntiAffinity().getRequiredDuringSchedulingIgnoredDuringExecution()).isNullOrEmpty();
+        assertThat(pod.getAffinity().getPodAntiAffinity().getPreferredDuringSchedulingIgnoredDuringExecution())
+                .singleElement()
+                .satisfies(term -> assertThat(term.getPodAffinityTerm().getTopologyKey()).isEqualTo(KafkaTopology.HOSTNAME_KEY));
+    }
+
+    @Test
+    void testRequiredSpread() {
+        KafkaTopologyConfig topology = new KafkaTopologyConfigBuilder()
+                .withZoneKey("example.com/rack")
+                .withMaxSkew(2)
+                .withWhenUnsatisfiable(DO_NOT_SCHEDULE)
+                .withRequiredAntiAffinity(true)
+                .build();
+
+        assertThat(KafkaTopology.getRack(topology).getTopologyKey()).isEqualTo("example.com/rack");
+
+        PodTemplate pod = KafkaTopology.getPodTemplate(topology, "my-sdi", KafkaTopology.ZOOKEEPER_COMPONENT);
+        TopologySpreadConstraint constraint = pod.getTopologySpreadConstraints().get(0);
+        assertThat(constraint.getTopologyKey()).isEqualTo("example.com/rack");
+        assertThat(constraint.getMaxSkew()).isEqualTo(2);
+        assertThat(constraint.getWhenUnsatisfiable()).isEqualTo(DO_NOT_SCHEDULE);
+        assertThat(constraint.getLabelSelector().getMatchLabels()).containsEntry("strimzi.io/name", "my-sdi-zookeeper");
+
+        assertThat(pod.getAffinity().getPodAntiAffinity().getPreferredDuringSchedulingIgnoredDuringExecution()).isNullOrEmpty();
+        assertThat(pod.getAffinity().getPodAntiAffinity().getRequiredDuringSchedulingIgnoredDuringExecution())
+                .singleElement()
+                .satisfies(term -> assertThat(term.getTopologyKey()).isEqualTo(KafkaTopology.HOSTNAME_KEY));
+    }
+
+    @Test
+    void testUnsupportedWhenUnsatisfiable() {
+        KafkaTopologyConfig topology = new KafkaTopologyConfigBuilder()
+                .withWhenUnsatisfiable("Sometimes")
+                .build();
+
+        assertThatThrownBy(() -> KafkaTopology.getPodTemplate(topology, "my-sdi", KafkaTopology.KAFKA_COMPONENT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Sometimes");
+    }
+}
@@ -0,0 +1,85 @@
+package com.redhat.mercury.operator.controller;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReschedulePolicyTest {
+
+    private static final String CONTROLLER = "test";
+
+    @Test
+    void testBackoffGrowsUpToMaxInterval() {
+        ReschedulePolicy policy = createPolicy(0);
+        ConfigMap resource = createResource("first");
+
+        assertThat(policy.nextDelay(CONTROLLER, resource)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(policy.nextDelay(CONTROLLER, resource)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(policy.nextDelay(CONTROLLER, resource)).isEqualTo(Duration.ofSeconds(20));
+        for (int i = 0; i < 10; i++) {
+            policy.nextDelay(CONTROLLER, resource);
+        }
+        assertThat(policy.nextDelay(CONTROLLER, resource)).isEqualTo(Duration.ofMinutes(5));
+        assertThat(policy.nextDelay(CONTROLLER, createResource("second"))).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testBackoffIsReset() {
+        ReschedulePolicy policy = createPolicy(0);
+        ConfigMap resource = createResource("first");
+
+        policy.nextDelay(CONTROLLER, resource);
+        policy.nextDelay(CONTROLLER, resource);
+        assertThat(policy.getAttempts(CONTROLLER, resource)).isEqualTo(2);
+        assertThat(policy.registry.get(ReschedulePolicy.BACKOFF_RESOURCES).gauge().value()).isEqualTo(1);
+
+        policy.reset(CONTROLLER, resource);
+        assertThat(policy.getAttempts(CONTROLLER, resource)).isZero();
+        assertThat(policy.registry.get(ReschedulePolicy.BACKOFF_RESOURCES).gauge().value()).isZero();
+        assertThat(policy.nextDelay(CONTROLLER, resource)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(policy.registry.get(ReschedulePolicy.BACKOFF_DELAY).timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testJitterSpreadsDelays() {
+        ReschedulePolicy policy = createPolicy(0.2);
+
+        policy.random = () -> 0;
+        assertThat(policy.nextDelay(CONTROLLER, createResource("first"))).isEqualTo(Duration.ofSeconds(4));
+        policy.random = () -> 1;
+        assertThat(policy.nextDelay(CONTROLLER, createResource("second"))).isEqualTo(Duration.ofSeconds(6));
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThatThrownBy(() -> createPolicy(1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private ReschedulePolicy createPolicy(double jitter) {
+        ReschedulePolicy policy = new ReschedulePolicy();
+        policy.initialInterval = Duration.ofSeconds(5);
+        policy.maxInterval = Duration.ofMinutes(5);
+        policy.multiplier = 2;
+        policy.jitter = jitter;
+        policy.registry = new SimpleMeterRegistry();
+        policy.random = () -> 0.5;
+        policy.init();
+        return policy;
+    }
+
+    private ConfigMap createResource(String name) {
+        return new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace("test")
+                .endMetadata()
+                .build();
+    }
+}
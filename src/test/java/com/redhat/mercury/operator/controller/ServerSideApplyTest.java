@@ -0,0 +1,70 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.redhat.mercury.operator.model.ServiceDomain;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Children written with server-side apply, which the other tests turn off. The mock server does not implement its
+// semantics, so only the requests sent to it are checked.
+@QuarkusTest
+@TestProfile(ServerSideApplyTest.ServerSideApplyProfile.class)
+@WithKubernetesTestServer
+public class ServerSideApplyTest extends AbstractTest {
+
+    private static final String DEPLOYMENT_PATH = "/apis/apps/v1/namespaces/" + SERVICE_DOMAIN_INFRA_NAMESPACE + "/deployments/" + SERVICE_DOMAIN_NAME;
+
+    public static class ServerSideApplyProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("mercury.operator.server-side-apply", "true");
+        }
+    }
+
+    @AfterEach
+    public void afterEach() {
+        mockServer.getClient().apps().deployments().inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).delete();
+        deleteServiceDomainInfras();
+    }
+
+    @Test
+    public void testChildrenAreAppliedServerSide() throws InterruptedException {
+        storeServiceDomainInfra(createReadySDI());
+        ServiceDomain sd = createServiceDomain(SERVICE_DOMAIN_NAME, false);
+
+        drainRequests();
+        serviceDomainController.reconcile(sd, null);
+        final List<RecordedRequest> writes = drainRequests();
+        writes.removeIf(r -> "GET".equals(r.getMethod()) || !r.getPath().startsWith(DEPLOYMENT_PATH));
+
+        assertThat(writes).hasSize(1);
+        final RecordedRequest apply = writes.get(0);
+        assertThat(apply.getMethod()).isEqualTo("PATCH");
+        assertThat(apply.getHeader("Content-Type")).startsWith("application/apply-patch+yaml");
+        assertThat(apply.getRequestUrl().queryParameter("fieldManager")).isEqualTo(AbstractController.OPERATOR_NAME);
+        assertThat(apply.getRequestUrl().queryParameter("force")).isEqualTo("true");
+        assertThat(apply.getBody().readUtf8()).contains(SERVICE_DOMAIN_NAME, AbstractController.DESIRED_STATE_HASH_ANNOTATION);
+    }
+
+    private List<RecordedRequest> drainRequests() throws InterruptedException {
+        List<RecordedRequest> requests = new ArrayList<>();
+        RecordedRequest request;
+        while ((request = mockServer.getKubernetesMockServer().takeRequest(10, TimeUnit.MILLISECONDS)) != null) {
+            requests.add(request);
+        }
+        return requests;
+    }
+}
@@ -1,20 +1,35 @@
 package com.redhat.mercury.operator.controller;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.redhat.mercury.operator.metrics.KubernetesApiCallInterceptor;
+import com.redhat.mercury.operator.metrics.OperatorMetrics;
+import com.redhat.mercury.operator.model.KafkaTopicConfigBuilder;
+import com.redhat.mercury.operator.model.KafkaUserConfigBuilder;
 import com.redhat.mercury.operator.model.MercuryConstants;
 import com.redhat.mercury.operator.model.ServiceDomain;
 import com.redhat.mercury.operator.model.ServiceDomainInfra;
+import com.redhat.mercury.operator.model.ServiceDomainInfraSpec;
+import com.redhat.mercury.operator.tracing.OperatorTracing;
 import com.redhat.mercury.operator.utils.ResourceUtils;
 
 import io.fabric8.kubernetes.api.model.Condition;
+import io.fabric8.kubernetes.api.model.ConditionBuilder;
 import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.Namespace;
@@ -26,23 +41,43 @@ import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.NamespacedKubernetesClient;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
+import io.fabric8.kubernetes.client.utils.Serialization;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import io.strimzi.api.kafka.model.AclRule;
+import io.strimzi.api.kafka.model.AclRuleTopicResource;
 import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.api.kafka.model.KafkaTopic;
+import io.strimzi.api.kafka.model.KafkaUser;
+import io.strimzi.api.kafka.model.KafkaUserAuthorizationSimple;
+import io.strimzi.api.kafka.model.KafkaUserScramSha512ClientAuthentication;
+import okhttp3.mockwebserver.RecordedRequest;
 
 import static com.redhat.mercury.operator.controller.ServiceDomainController.INTEGRATION_SUFFIX;
+import static com.redhat.mercury.operator.controller.ServiceDomainController.KAFKA_TOPIC_SUFFIX;
+import static com.redhat.mercury.operator.controller.ServiceDomainController.KAFKA_USER_SUFFIX;
 import static com.redhat.mercury.operator.controller.ServiceDomainController.OPENAPI_CM_SUFFIX;
-import static com.redhat.mercury.operator.controller.ServiceDomainController.OPEN_API_CONFIG_MAP_VERSION;
+import static com.redhat.mercury.operator.controller.ServiceDomainController.STRIMZI_CLUSTER_LABEL;
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.CONDITION_READY;
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.REASON_FAILED;
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.STATUS_FALSE;
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.STATUS_TRUE;
 import static com.redhat.mercury.operator.model.HttpExposeType.DEFAULT_API_VERSION;
+import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.CONDITION_KAFKA_REBALANCE_READY;
 import static com.redhat.mercury.operator.model.ServiceDomainStatus.CONDITION_INTEGRATION_READY;
+import static com.redhat.mercury.operator.model.ServiceDomainStatus.CONDITION_KAFKA_TOPIC_READY;
+import static com.redhat.mercury.operator.model.ServiceDomainStatus.CONDITION_KAFKA_USER_READY;
 import static com.redhat.mercury.operator.model.ServiceDomainStatus.CONDITION_SERVICE_DOMAIN_INFRA_READY;
 import static com.redhat.mercury.operator.model.ServiceDomainStatus.MESSAGE_SDI_NOT_FOUND;
 import static com.redhat.mercury.operator.model.ServiceDomainStatus.MESSAGE_SDI_NOT_READY;
+import static com.redhat.mercury.operator.model.ServiceDomainStatus.REASON_KAFKA_TOPIC_WAITING;
+import static com.redhat.mercury.operator.model.ServiceDomainStatus.REASON_KAFKA_USER_WAITING;
 import static com.redhat.mercury.operator.model.ServiceDomainStatus.REASON_SDI;
 import static com.redhat.mercury.operator.utils.ResourceUtils.toLowerHyphen;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -51,6 +86,20 @@ import static org.assertj.core.api.Assertions.assertThat;
 @WithKubernetesTestServer
 public class ServiceDomainControllerTest extends AbstractTest {
 
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    InMemorySpanExporter spanExporter;
+
+    @Inject
+    OperatorMetrics metrics;
+
+    @Inject
+    WatchScope watchScope;
+
+    private static final String OPENAPI_CONFIG_MAP_NAME = "customer-offer-openapi-0123456789ab";
+
     @BeforeEach
     public void beforeEach() {
         mockServer.getKubernetesMockServer().clearExpectations();
@@ -68,7 +117,10 @@ public class ServiceDomainControllerTest extends AbstractTest {
         deleteDirectConfigMap();
         deleteOpenAPIConfigMap();
         deleteIntegration();
+        deleteKafkaTopics();
+        deleteKafkaUsers();
         deleteServiceDomains();
+        deleteServiceDomainInfras();
         deleteKafka();
     }
 
@@ -79,24 +131,21 @@ public class ServiceDomainControllerTest extends AbstractTest {
         final String sdNamespace = sd.getMetadata().getNamespace();
         final String sdName = sd.getMetadata().getName();
         final String sdTypeAsString = toLowerHyphen(sd.getSpec().getType().value);
-        final String openApiConfigMapName = sdTypeAsString + OPENAPI_CM_SUFFIX + "-" + OPEN_API_CONFIG_MAP_VERSION;
+        final String openApiConfigMapName = serviceDomainController.getOpenApiConfigMapName(sdTypeAsString, DEFAULT_API_VERSION);
         final String directConfigMapName = sdTypeAsString + "-rest-" + DEFAULT_API_VERSION;
         final NamespacedKubernetesClient client = mockServer.getClient();
 
-        mockServer.expect().get()
-                .withPath("/apis/mercury.redhat.io/v1alpha1/namespaces/test-service-domain/servicedomaininfras/service-domain-infra")
-                .andReturn(200, sdi)
-                .always();
+        storeServiceDomainInfra(sdi);
 
         UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
         assertThatIsWaiting(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
         Condition condition = update.getResource().getStatus().getCondition(CONDITION_SERVICE_DOMAIN_INFRA_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_TRUE);
 
         update = serviceDomainController.reconcile(update.getResource(), null);
         assertThatIsWaiting(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
         condition = update.getResource().getStatus().getCondition(CONDITION_INTEGRATION_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_FALSE);
 
@@ -114,10 +163,11 @@ public class ServiceDomainControllerTest extends AbstractTest {
 
         integration.getAdditionalProperties().put("status", Map.of("conditions", List.of(Map.of("type", "Ready", "status", "True"))));
         client.genericKubernetesResources(resourceDefinitionContext).inNamespace(sdNamespace).withName(integrationName).replace(integration);
+        setKafkaTopicReady(sdName);
 
         update = serviceDomainController.reconcile(update.getResource(), null);
         assertThatIsReady(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
         condition = update.getResource().getStatus().getCondition(CONDITION_INTEGRATION_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_TRUE);
 
@@ -131,6 +181,11 @@ public class ServiceDomainControllerTest extends AbstractTest {
         assertThat(service).isNotNull();
         assertOwnerReference(sd, service.getMetadata().getOwnerReferences());
 
+        //Test no KafkaUser without authentication
+        assertThat(client.resources(KafkaUser.class).inNamespace(sdNamespace).withName(sdName + KAFKA_USER_SUFFIX).get()).isNull();
+        assertThat(update.getResource().getStatus().getCondition(CONDITION_KAFKA_USER_READY)).isNull();
+        assertThat(update.getResource().getStatus().getKafkaUser()).isNull();
+
         //Test Openapi Config map created
         final ConfigMap openApiConfigMap = client.configMaps().inNamespace(sdNamespace).withName(openApiConfigMapName).get();
         assertThat(openApiConfigMap).isNotNull();
@@ -155,24 +210,21 @@ public class ServiceDomainControllerTest extends AbstractTest {
         final String sdNamespace = sd.getMetadata().getNamespace();
         final String sdName = sd.getMetadata().getName();
         final String sdTypeAsString = toLowerHyphen(sd.getSpec().getType().value);
-        final String openApiConfigMapName = sdTypeAsString + OPENAPI_CM_SUFFIX + "-" + OPEN_API_CONFIG_MAP_VERSION;
+        final String openApiConfigMapName = serviceDomainController.getOpenApiConfigMapName(sdTypeAsString, DEFAULT_API_VERSION);
         final String directConfigMapName = sdTypeAsString + "-rest-" + DEFAULT_API_VERSION;
         final NamespacedKubernetesClient client = mockServer.getClient();
 
-        mockServer.expect().get()
-                .withPath("/apis/mercury.redhat.io/v1alpha1/namespaces/test-service-domain/servicedomaininfras/service-domain-infra")
-                .andReturn(200, sdi)
-                .always();
+        storeServiceDomainInfra(sdi);
 
         UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
         assertThatIsWaiting(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
         Condition condition = update.getResource().getStatus().getCondition(CONDITION_SERVICE_DOMAIN_INFRA_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_TRUE);
 
         update = serviceDomainController.reconcile(update.getResource(), null);
         assertThatIsWaiting(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
         condition = update.getResource().getStatus().getCondition(CONDITION_INTEGRATION_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_FALSE);
 
@@ -190,10 +242,11 @@ public class ServiceDomainControllerTest extends AbstractTest {
 
         integration.getAdditionalProperties().put("status", Map.of("conditions", List.of(Map.of("type", "Ready", "status", "True"))));
         client.genericKubernetesResources(resourceDefinitionContext).inNamespace(sdNamespace).withName(integrationName).replace(integration);
+        setKafkaTopicReady(sdName);
 
         update = serviceDomainController.reconcile(update.getResource(), null);
         assertThatIsReady(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
         condition = update.getResource().getStatus().getCondition(CONDITION_INTEGRATION_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_TRUE);
 
@@ -263,10 +316,7 @@ public class ServiceDomainControllerTest extends AbstractTest {
                 .andReturn(500, new KubernetesClientException(exceptionMessage))
                 .always();
 
-        mockServer.expect().get()
-                .withPath("/apis/mercury.redhat.io/v1alpha1/namespaces/test-service-domain/servicedomaininfras/service-domain-infra")
-                .andReturn(200, sdi)
-                .always();
+        storeServiceDomainInfra(sdi);
 
         UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
 
@@ -289,20 +339,17 @@ public class ServiceDomainControllerTest extends AbstractTest {
         final String sdName = sd.getMetadata().getName();
         final NamespacedKubernetesClient client = mockServer.getClient();
 
-        mockServer.expect().get()
-                .withPath("/apis/mercury.redhat.io/v1alpha1/namespaces/test-service-domain/servicedomaininfras/service-domain-infra")
-                .andReturn(200, sdi)
-                .always();
+        storeServiceDomainInfra(sdi);
 
         UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
         assertThatIsWaiting(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
         Condition condition = update.getResource().getStatus().getCondition(CONDITION_SERVICE_DOMAIN_INFRA_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_TRUE);
 
         update = serviceDomainController.reconcile(update.getResource(), null);
         assertThatIsWaiting(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
         condition = update.getResource().getStatus().getCondition(CONDITION_INTEGRATION_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_FALSE);
 
@@ -320,10 +367,11 @@ public class ServiceDomainControllerTest extends AbstractTest {
 
         integration.getAdditionalProperties().put("status", Map.of("conditions", List.of(Map.of("type", "Ready", "status", "True"))));
         client.genericKubernetesResources(resourceDefinitionContext).inNamespace(sdNamespace).withName(integrationName).replace(integration);
+        setKafkaTopicReady(sdName);
 
         update = serviceDomainController.reconcile(update.getResource(), null);
         assertThatIsReady(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
         condition = update.getResource().getStatus().getCondition(CONDITION_INTEGRATION_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_TRUE);
 
@@ -344,7 +392,7 @@ public class ServiceDomainControllerTest extends AbstractTest {
 
         update = serviceDomainController.reconcile(update.getResource(), null);
         assertThatIsReady(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(2);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
         condition = update.getResource().getStatus().getCondition(CONDITION_INTEGRATION_READY);
         assertThat(condition).isNull();
 
@@ -360,20 +408,17 @@ public class ServiceDomainControllerTest extends AbstractTest {
         final String sdName = sd.getMetadata().getName();
         final NamespacedKubernetesClient client = mockServer.getClient();
 
-        mockServer.expect().get()
-                .withPath("/apis/mercury.redhat.io/v1alpha1/namespaces/test-service-domain/servicedomaininfras/service-domain-infra")
-                .andReturn(200, sdi)
-                .always();
+        storeServiceDomainInfra(sdi);
 
         UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
         assertThatIsWaiting(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
         Condition condition = update.getResource().getStatus().getCondition(CONDITION_SERVICE_DOMAIN_INFRA_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_TRUE);
 
         update = serviceDomainController.reconcile(update.getResource(), null);
         assertThatIsWaiting(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
         condition = update.getResource().getStatus().getCondition(CONDITION_INTEGRATION_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_FALSE);
 
@@ -391,10 +436,11 @@ public class ServiceDomainControllerTest extends AbstractTest {
 
         integration.getAdditionalProperties().put("status", Map.of("conditions", List.of(Map.of("type", "Ready", "status", "True"))));
         client.genericKubernetesResources(resourceDefinitionContext).inNamespace(sdNamespace).withName(integrationName).replace(integration);
+        setKafkaTopicReady(sdName);
 
         update = serviceDomainController.reconcile(update.getResource(), null);
         assertThatIsReady(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
         condition = update.getResource().getStatus().getCondition(CONDITION_INTEGRATION_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_TRUE);
 
@@ -415,7 +461,7 @@ public class ServiceDomainControllerTest extends AbstractTest {
 
         update = serviceDomainController.reconcile(update.getResource(), null);
         assertThatIsReady(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(2);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
         condition = update.getResource().getStatus().getCondition(CONDITION_INTEGRATION_READY);
         assertThat(condition).isNull();
 
@@ -443,13 +489,13 @@ public class ServiceDomainControllerTest extends AbstractTest {
         final String sdiName = sdi.getMetadata().getName();
         ServiceDomain sd = createServiceDomain();
 
-        mockServer.expect().get()
-                .withPath("/apis/mercury.redhat.io/v1alpha1/namespaces/test-service-domain/servicedomaininfras/service-domain-infra")
-                .andReturn(200, sdi)
-                .always();
+        // Without its Kafka the infra stays not ready
+        deleteKafka();
+        storeServiceDomainInfra(sdi);
 
         final UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
         assertThatIsWaiting(update);
+        assertThat(update.getScheduleDelay()).isEmpty();
         assertThat(update.getResource().getStatus().getConditions()).hasSize(2);
         Condition condition = update.getResource().getStatus().getCondition(CONDITION_SERVICE_DOMAIN_INFRA_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_FALSE);
@@ -457,6 +503,56 @@ public class ServiceDomainControllerTest extends AbstractTest {
         assertThat(condition.getMessage()).isEqualTo(sdiName + " " + MESSAGE_SDI_NOT_READY);
     }
 
+    @Test
+    public void testServiceDomainInfraIndex() throws InterruptedException {
+        ServiceDomainInfra sdi = createNotReadySDI();
+        ServiceDomainInfra otherSdi = createNotReadySDI("other-" + SERVICE_DOMAIN_INFRA_NAME);
+        ServiceDomain sd = createServiceDomain();
+        final ResourceID sdId = new ResourceID(sd.getMetadata().getName(), sd.getMetadata().getNamespace());
+        final NamespacedKubernetesClient client = mockServer.getClient();
+
+        sd = client.resources(ServiceDomain.class).inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).create(sd);
+        awaitServiceDomainsForInfra(sdi, Set.of(sdId));
+        assertThat(serviceDomainController.getServiceDomainsForInfra(otherSdi)).isEmpty();
+
+        sd.getSpec().setServiceDomainInfra(otherSdi.getMetadata().getName());
+        client.resources(ServiceDomain.class).inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).replace(sd);
+        awaitServiceDomainsForInfra(otherSdi, Set.of(sdId));
+        assertThat(serviceDomainController.getServiceDomainsForInfra(sdi)).isEmpty();
+
+        client.resources(ServiceDomain.class).inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).withName(SERVICE_DOMAIN_NAME).delete();
+        awaitServiceDomainsForInfra(otherSdi, Set.of());
+    }
+
+    @Test
+    public void testServiceDomainsWokenByInfraChanges() throws InterruptedException {
+        ServiceDomainInfra sdi = createNotReadySDI();
+        storeServiceDomainInfra(sdi);
+        ServiceDomain sd = mockServer.getClient().resources(ServiceDomain.class).inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).create(createServiceDomain());
+        final Set<ResourceID> sdIds = Set.of(new ResourceID(sd.getMetadata().getName(), sd.getMetadata().getNamespace()));
+        awaitServiceDomainsForInfra(sdi, sdIds);
+        // As stored, the same as the one of the informer event
+        final ServiceDomainInfra cached = serviceDomainController.getServiceDomainInfraInformer().get(SERVICE_DOMAIN_INFRA_NAMESPACE, SERVICE_DOMAIN_INFRA_NAME);
+        serviceDomainController.getServiceDomainsToWake(cached);
+        assertThat(serviceDomainController.getServiceDomainsToWake(cached)).isEmpty();
+
+        // Status updates the ServiceDomains do not read
+        ServiceDomainInfra updated = Serialization.clone(cached);
+        updated.getStatus().setCondition(new ConditionBuilder().withType(CONDITION_KAFKA_REBALANCE_READY).withStatus(STATUS_FALSE).build());
+        updated.getStatus().setKafkaMetricsEndpoints(List.of("http://my-kafka:9404/metrics"));
+        assertThat(serviceDomainController.getServiceDomainsToWake(updated)).isEmpty();
+
+        updated.getStatus().setCondition(new ConditionBuilder().withType(CONDITION_READY).withStatus(STATUS_TRUE).build());
+        assertThat(serviceDomainController.getServiceDomainsToWake(updated)).isEqualTo(sdIds);
+        updated.getStatus().setKafkaBroker("my-kafka:9092");
+        assertThat(serviceDomainController.getServiceDomainsToWake(updated)).isEqualTo(sdIds);
+        updated.getMetadata().setGeneration(updated.getMetadata().getGeneration() == null ? 1L : updated.getMetadata().getGeneration() + 1);
+        assertThat(serviceDomainController.getServiceDomainsToWake(updated)).isEqualTo(sdIds);
+
+        deleteServiceDomainInfras();
+        assertThat(serviceDomainController.getServiceDomainsToWake(updated)).isEqualTo(sdIds);
+    }
+
     @Test
     public void testAddServiceDomainWithoutExposeHttp() {
         ServiceDomainInfra sdi = createReadySDI();
@@ -465,15 +561,19 @@ public class ServiceDomainControllerTest extends AbstractTest {
         final String sdName = sd.getMetadata().getName();
         final NamespacedKubernetesClient client = mockServer.getClient();
 
-        mockServer.expect().get()
-                .withPath("/apis/mercury.redhat.io/v1alpha1/namespaces/test-service-domain/servicedomaininfras/service-domain-infra")
-                .andReturn(200, sdi)
-                .always();
+        storeServiceDomainInfra(sdi);
 
         UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
+        assertThatIsWaiting(update);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+        Condition condition = update.getResource().getStatus().getCondition(CONDITION_KAFKA_TOPIC_READY);
+        assertThat(condition.getStatus()).isEqualTo(STATUS_FALSE);
+
+        setKafkaTopicReady(sdName);
+        update = serviceDomainController.reconcile(update.getResource(), null);
         assertThatIsReady(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(2);
-        Condition condition = update.getResource().getStatus().getCondition(CONDITION_SERVICE_DOMAIN_INFRA_READY);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+        condition = update.getResource().getStatus().getCondition(CONDITION_SERVICE_DOMAIN_INFRA_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_TRUE);
         condition = update.getResource().getStatus().getCondition(CONDITION_INTEGRATION_READY);
         assertThat(condition).isNull();
@@ -502,17 +602,145 @@ public class ServiceDomainControllerTest extends AbstractTest {
 
         update = serviceDomainController.reconcile(update.getResource(), null);
         assertThatIsReady(update);
-        assertThat(update.getResource().getStatus().getConditions()).hasSize(2);
+        assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+    }
+
+    @Test
+    public void testKafkaTopic() {
+        ServiceDomainInfra sdi = createReadySDI();
+        ServiceDomain sd = createServiceDomain(SERVICE_DOMAIN_NAME, false);
+        sd.getSpec().setReplicas(4);
+        sd.getSpec().setKafkaTopic(new KafkaTopicConfigBuilder()
+                .withThroughput(25)
+                .withRetentionMs(3600000L)
+                .withCompressionType("lz4")
+                .build());
+        final String sdNamespace = sd.getMetadata().getNamespace();
+        final String sdName = sd.getMetadata().getName();
+        final String topicName = sdName + KAFKA_TOPIC_SUFFIX;
+        final NamespacedKubernetesClient client = mockServer.getClient();
+
+        storeServiceDomainInfra(sdi);
+
+        UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
+        assertThatIsWaiting(update);
+        assertThat(update.getScheduleDelay()).isPresent();
+        assertThat(update.getResource().getStatus().getKafkaTopic()).isEqualTo(topicName);
+        Condition condition = update.getResource().getStatus().getCondition(CONDITION_KAFKA_TOPIC_READY);
+        assertThat(condition.getStatus()).isEqualTo(STATUS_FALSE);
+        assertThat(condition.getReason()).isEqualTo(REASON_KAFKA_TOPIC_WAITING);
+
+        final KafkaTopic kafkaTopic = client.resources(KafkaTopic.class).inNamespace(sdNamespace).withName(topicName).get();
+        assertThat(kafkaTopic).isNotNull();
+        assertOwnerReference(sd, kafkaTopic.getMetadata().getOwnerReferences());
+        assertThat(kafkaTopic.getMetadata().getLabels()).containsEntry(STRIMZI_CLUSTER_LABEL, SERVICE_DOMAIN_INFRA_NAME);
+        // 25 MB/s fits in 3 partitions but each of the 4 replicas needs one to consume from
+        assertThat(kafkaTopic.getSpec().getPartitions()).isEqualTo(4);
+        assertThat(kafkaTopic.getSpec().getReplicas()).isEqualTo(1);
+        assertThat(kafkaTopic.getSpec().getConfig())
+                .containsKey("retention.ms")
+                .containsEntry("compression.type", "lz4")
+                .doesNotContainKey("segment.bytes");
+
+        final Deployment deployment = client.apps().deployments().inNamespace(sdNamespace).withName(sdName).get();
+        assertThat(deployment.getSpec().getReplicas()).isEqualTo(4);
+
+        setKafkaTopicReady(sdName);
+        update = serviceDomainController.reconcile(update.getResource(), null);
+        assertThatIsReady(update);
+        assertThat(update.getResource().getStatus().getCondition(CONDITION_KAFKA_TOPIC_READY).getStatus()).isEqualTo(STATUS_TRUE);
+    }
+
+    @Test
+    public void testKafkaUser() {
+        ServiceDomainInfra sdi = createReadySDI();
+        sdi.setSpec(new ServiceDomainInfraSpec());
+        sdi.getSpec().getKafka().setAuthentication(true);
+        ServiceDomain sd = createServiceDomain(SERVICE_DOMAIN_NAME, false);
+        sd.getSpec().setKafkaUser(new KafkaUserConfigBuilder()
+                .withProducerByteRate(1048576)
+                .withRequestPercentage(25)
+                .build());
+        final String sdNamespace = sd.getMetadata().getNamespace();
+        final String sdName = sd.getMetadata().getName();
+        final String userName = sdName + KAFKA_USER_SUFFIX;
+        final NamespacedKubernetesClient client = mockServer.getClient();
+
+        storeServiceDomainInfra(sdi);
+
+        UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
+        assertThatIsWaiting(update);
+        Condition condition = update.getResource().getStatus().getCondition(CONDITION_KAFKA_USER_READY);
+        assertThat(condition.getStatus()).isEqualTo(STATUS_FALSE);
+        assertThat(condition.getReason()).isEqualTo(REASON_KAFKA_USER_WAITING);
+        assertThat(update.getResource().getStatus().getKafkaUserSecret()).isNull();
+
+        final KafkaUser kafkaUser = client.resources(KafkaUser.class).inNamespace(sdNamespace).withName(userName).get();
+        assertThat(kafkaUser).isNotNull();
+        assertOwnerReference(sd, kafkaUser.getMetadata().getOwnerReferences());
+        assertThat(kafkaUser.getMetadata().getLabels()).containsEntry(STRIMZI_CLUSTER_LABEL, SERVICE_DOMAIN_INFRA_NAME);
+        assertThat(kafkaUser.getSpec().getAuthentication()).isInstanceOf(KafkaUserScramSha512ClientAuthentication.class);
+        assertThat(kafkaUser.getSpec().getQuotas().getProducerByteRate()).isEqualTo(1048576);
+        assertThat(kafkaUser.getSpec().getQuotas().getConsumerByteRate()).isNull();
+        assertThat(kafkaUser.getSpec().getQuotas().getRequestPercentage()).isEqualTo(25);
+        final List<AclRule> acls = ((KafkaUserAuthorizationSimple) kafkaUser.getSpec().getAuthorization()).getAcls();
+        assertThat(acls).filteredOn(acl -> acl.getResource() instanceof AclRuleTopicResource)
+                .isNotEmpty()
+                .allMatch(acl -> (sdName + KAFKA_TOPIC_SUFFIX).equals(((AclRuleTopicResource) acl.getResource()).getName()));
+
+        final Deployment deployment = client.apps().deployments().inNamespace(sdNamespace).withName(sdName).get();
+        assertThat(deployment.getSpec().getTemplate().getSpec().getContainers().get(0).getEnv())
+                .anyMatch(env -> env.getValueFrom() != null && userName.equals(env.getValueFrom().getSecretKeyRef().getName()));
+
+        setKafkaTopicReady(sdName);
+        setKafkaUserReady(sdName);
+        update = serviceDomainController.reconcile(update.getResource(), null);
+        assertThatIsReady(update);
+        assertThat(update.getResource().getStatus().getKafkaUser()).isEqualTo(userName);
+        assertThat(update.getResource().getStatus().getKafkaUserSecret()).isEqualTo(userName);
+    }
+
+    @Test
+    public void testKafkaUserRemovedFromOpenKafka() {
+        ServiceDomainInfra sdi = createReadySDI();
+        sdi.setSpec(new ServiceDomainInfraSpec());
+        sdi.getSpec().getKafka().setAuthentication(true);
+        ServiceDomain sd = createServiceDomain(SERVICE_DOMAIN_NAME, false);
+        final String sdNamespace = sd.getMetadata().getNamespace();
+        final String sdName = sd.getMetadata().getName();
+        final String userName = sdName + KAFKA_USER_SUFFIX;
+        final NamespacedKubernetesClient client = mockServer.getClient();
+
+        storeServiceDomainInfra(sdi);
+        UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
+        setKafkaTopicReady(sdName);
+        setKafkaUserReady(sdName);
+        update = serviceDomainController.reconcile(update.getResource(), null);
+        assertThatIsReady(update);
+        assertThat(update.getResource().getStatus().getKafkaUser()).isEqualTo(userName);
+
+        sdi.getSpec().getKafka().setAuthentication(false);
+        storeServiceDomainInfra(sdi);
+        awaitCached(serviceDomainController.getServiceDomainInfraInformer(), sdi,
+                cached -> cached != null && !ServiceDomainInfraController.isAuthenticationEnabled(cached));
+        update = serviceDomainController.reconcile(update.getResource(), null);
+
+        assertThatIsReady(update);
+        assertThat(update.getResource().getStatus().getCondition(CONDITION_KAFKA_USER_READY)).isNull();
+        assertThat(update.getResource().getStatus().getKafkaUser()).isNull();
+        assertThat(update.getResource().getStatus().getKafkaUserSecret()).isNull();
+        assertThat(client.resources(KafkaUser.class).inNamespace(sdNamespace).withName(userName).get()).isNull();
+        final Deployment deployment = client.apps().deployments().inNamespace(sdNamespace).withName(sdName).get();
+        assertThat(deployment.getSpec().getTemplate().getSpec().getContainers().get(0).getEnv())
+                .noneMatch(env -> env.getValueFrom() != null)
+                .anyMatch(env -> sdName.equals(env.getValue()));
     }
 
     @Test
     public void testAddMultipleServiceDomain() {
         ServiceDomainInfra sdi = createReadySDI();
 
-        mockServer.expect().get()
-                .withPath("/apis/mercury.redhat.io/v1alpha1/namespaces/test-service-domain/servicedomaininfras/service-domain-infra")
-                .andReturn(200, sdi)
-                .always();
+        storeServiceDomainInfra(sdi);
 
         for (int i = 0; i < 3; i++) {
             ServiceDomain sd = createServiceDomain();
@@ -523,13 +751,13 @@ public class ServiceDomainControllerTest extends AbstractTest {
 
             UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
             assertThatIsWaiting(update);
-            assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+            assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
             Condition condition = update.getResource().getStatus().getCondition(CONDITION_SERVICE_DOMAIN_INFRA_READY);
             assertThat(condition.getStatus()).isEqualTo(STATUS_TRUE);
 
             update = serviceDomainController.reconcile(update.getResource(), null);
             assertThatIsWaiting(update);
-            assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+            assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
             condition = update.getResource().getStatus().getCondition(CONDITION_INTEGRATION_READY);
             assertThat(condition.getStatus()).isEqualTo(STATUS_FALSE);
 
@@ -547,10 +775,11 @@ public class ServiceDomainControllerTest extends AbstractTest {
 
             integration.getAdditionalProperties().put("status", Map.of("conditions", List.of(Map.of("type", "Ready", "status", "True"))));
             client.genericKubernetesResources(resourceDefinitionContext).inNamespace(sdNamespace).withName(integrationName).replace(integration);
+            setKafkaTopicReady(sdName);
 
             update = serviceDomainController.reconcile(update.getResource(), null);
             assertThatIsReady(update);
-            assertThat(update.getResource().getStatus().getConditions()).hasSize(3);
+            assertThat(update.getResource().getStatus().getConditions()).hasSize(4);
             condition = update.getResource().getStatus().getCondition(CONDITION_INTEGRATION_READY);
             assertThat(condition.getStatus()).isEqualTo(STATUS_TRUE);
 
@@ -569,10 +798,7 @@ public class ServiceDomainControllerTest extends AbstractTest {
         final String sdName = sd.getMetadata().getName();
         final NamespacedKubernetesClient client = mockServer.getClient();
 
-        mockServer.expect().get()
-                .withPath("/apis/mercury.redhat.io/v1alpha1/namespaces/test-service-domain/servicedomaininfras/service-domain-infra")
-                .andReturn(200, sdi)
-                .always();
+        storeServiceDomainInfra(sdi);
 
         UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
 
@@ -592,6 +818,7 @@ public class ServiceDomainControllerTest extends AbstractTest {
 
         integration.getAdditionalProperties().put("status", Map.of("conditions", List.of(Map.of("type", "Ready", "status", "True"))));
         client.genericKubernetesResources(resourceDefinitionContext).inNamespace(sdNamespace).withName(integrationName).replace(integration);
+        setKafkaTopicReady(sdName);
 
         update = serviceDomainController.reconcile(update.getResource(), null);
 
@@ -616,6 +843,325 @@ public class ServiceDomainControllerTest extends AbstractTest {
         assertThat(integration).isNull();
     }
 
+    @Test
+    public void testOpenApiConfigMapIsShared() {
+        ServiceDomainInfra sdi = createReadySDI();
+        ServiceDomain sd = createServiceDomain();
+        ServiceDomain otherSd = createServiceDomain(SERVICE_DOMAIN_NAME + "-other");
+        final String sdTypeAsString = toLowerHyphen(sd.getSpec().getType().value);
+        final String openApiConfigMapName = serviceDomainController.getOpenApiConfigMapName(sdTypeAsString, DEFAULT_API_VERSION);
+        final NamespacedKubernetesClient client = mockServer.getClient();
+
+        assertThat(openApiConfigMapName).startsWith(sdTypeAsString + OPENAPI_CM_SUFFIX + "-").hasSize(sdTypeAsString.length() + OPENAPI_CM_SUFFIX.length() + 13);
+        assertThat(serviceDomainController.getOpenApiConfigMapName("unknown-type", DEFAULT_API_VERSION)).isNull();
+
+        storeServiceDomainInfra(sdi);
+
+        serviceDomainController.reconcile(sd, null);
+        serviceDomainController.reconcile(otherSd, null);
+
+        final ConfigMap openApiConfigMap = client.configMaps().inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).withName(openApiConfigMapName).get();
+        assertThat(openApiConfigMap).isNotNull();
+        assertThat(openApiConfigMap.getMetadata().getOwnerReferences())
+                .extracting(OwnerReference::getUid)
+                .containsExactlyInAnyOrder(sd.getMetadata().getUid(), otherSd.getMetadata().getUid());
+        assertThat(client.configMaps().inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).list().getItems())
+                .filteredOn(cm -> cm.getMetadata().getName().startsWith(sdTypeAsString + OPENAPI_CM_SUFFIX))
+                .hasSize(1);
+    }
+
+    @Test
+    public void testStaleOpenApiConfigMapsAreFoundByOwner() throws InterruptedException {
+        ServiceDomainInfra sdi = createReadySDI();
+        ServiceDomain sd = createServiceDomain(SERVICE_DOMAIN_NAME, false);
+        final String sdTypeAsString = toLowerHyphen(sd.getSpec().getType().value);
+        final NamespacedKubernetesClient client = mockServer.getClient();
+        final ConfigMap staleConfigMap = client.configMaps().inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).create(new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName(sdTypeAsString + OPENAPI_CM_SUFFIX + "-stale")
+                .withNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE)
+                .withLabels(Map.of("app.kubernetes.io/managed-by", "service-domain-infra-operator"))
+                .addNewOwnerReference()
+                .withApiVersion(sd.getApiVersion())
+                .withKind(sd.getKind())
+                .withName(sd.getMetadata().getName())
+                .withUid(sd.getMetadata().getUid())
+                .endOwnerReference()
+                .endMetadata()
+                .build());
+        awaitCached(serviceDomainController.getRouteConfigMapInformer(), staleConfigMap, Objects::nonNull);
+
+        storeServiceDomainInfra(sdi);
+        serviceDomainController.reconcile(sd, null);
+
+        assertThat(client.configMaps().inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).withName(staleConfigMap.getMetadata().getName()).get()).isNull();
+    }
+
+    @Test
+    public void testIntegrationSpecIsRenderedOncePerConfigMapVersion() {
+        final NamespacedKubernetesClient client = mockServer.getClient();
+        final ConfigMap directConfigMap = client.configMaps().load(getClass().getResourceAsStream("/directConfigMap.yaml")).get();
+        directConfigMap.getMetadata().setResourceVersion("1");
+
+        final Map<String, Object> spec = serviceDomainController.getIntegrationSpec(SERVICE_DOMAIN_NAME, DEFAULT_API_VERSION, OPENAPI_CONFIG_MAP_NAME, directConfigMap);
+        assertThat(spec).containsKeys("flows", "traits", "dependencies");
+        assertThat(serviceDomainController.getIntegrationSpec(SERVICE_DOMAIN_NAME, DEFAULT_API_VERSION, OPENAPI_CONFIG_MAP_NAME, directConfigMap)).isSameAs(spec);
+
+        // Same routes in another namespace share the rendered template
+        directConfigMap.getMetadata().setNamespace("other-namespace");
+        assertThat(serviceDomainController.getIntegrationSpec(SERVICE_DOMAIN_NAME, DEFAULT_API_VERSION, OPENAPI_CONFIG_MAP_NAME, directConfigMap)).isSameAs(spec);
+
+        final ConfigMap editedConfigMap = new ConfigMapBuilder(directConfigMap)
+                .editMetadata().withNamespace("edited-namespace").withResourceVersion("2").endMetadata()
+                .addToData(ServiceDomainController.CONFIG_MAP_CAMEL_ROUTES_DIRECT_KEY, "- from:\n    uri: direct:Test\n")
+                .build();
+        final Map<String, Object> updatedSpec = serviceDomainController.getIntegrationSpec(SERVICE_DOMAIN_NAME, DEFAULT_API_VERSION, OPENAPI_CONFIG_MAP_NAME, editedConfigMap);
+        assertThat(updatedSpec).isNotSameAs(spec);
+        assertThat(updatedSpec.get("flows")).isEqualTo(List.of(Map.of("from", Map.of("uri", "direct:Test"))));
+
+        // Namespaces with different routes do not evict each other's template
+        assertThat(serviceDomainController.getIntegrationSpec(SERVICE_DOMAIN_NAME, DEFAULT_API_VERSION, OPENAPI_CONFIG_MAP_NAME, directConfigMap)).isSameAs(spec);
+        assertThat(serviceDomainController.getIntegrationSpec(SERVICE_DOMAIN_NAME, DEFAULT_API_VERSION, OPENAPI_CONFIG_MAP_NAME, editedConfigMap)).isSameAs(updatedSpec);
+        assertThat(serviceDomainController.getIntegrationSpec(SERVICE_DOMAIN_NAME, DEFAULT_API_VERSION, OPENAPI_CONFIG_MAP_NAME, directConfigMap)).isSameAs(spec);
+
+        // The spec of the edited routes is dropped with the only namespace using it, the others keep theirs
+        serviceDomainController.forgetIntegrationSpecs("edited-namespace", SERVICE_DOMAIN_NAME);
+        assertThat(serviceDomainController.getIntegrationSpec(SERVICE_DOMAIN_NAME, DEFAULT_API_VERSION, OPENAPI_CONFIG_MAP_NAME, directConfigMap)).isSameAs(spec);
+        assertThat(serviceDomainController.getIntegrationSpec(SERVICE_DOMAIN_NAME, DEFAULT_API_VERSION, OPENAPI_CONFIG_MAP_NAME, editedConfigMap)).isNotSameAs(updatedSpec);
+        serviceDomainController.forgetIntegrationSpecs("edited-namespace", SERVICE_DOMAIN_NAME);
+        serviceDomainController.forgetIntegrationSpecs("other-namespace", SERVICE_DOMAIN_NAME);
+        serviceDomainController.forgetIntegrationSpecs(SERVICE_DOMAIN_INFRA_NAMESPACE, SERVICE_DOMAIN_NAME);
+        assertThat(serviceDomainController.getIntegrationSpec(SERVICE_DOMAIN_NAME, DEFAULT_API_VERSION, OPENAPI_CONFIG_MAP_NAME, directConfigMap)).isNotSameAs(spec);
+    }
+
+    @Test
+    public void testServerDefaultedChildrenAreNotRewritten() throws InterruptedException {
+        ServiceDomainInfra sdi = createReadySDI();
+        ServiceDomain sd = createServiceDomain(SERVICE_DOMAIN_NAME, false);
+        final String sdNamespace = sd.getMetadata().getNamespace();
+        final NamespacedKubernetesClient client = mockServer.getClient();
+
+        storeServiceDomainInfra(sdi);
+
+        UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
+
+        // Simulate the defaults the API server adds to the stored objects
+        Deployment deployment = client.apps().deployments().inNamespace(sdNamespace).withName(SERVICE_DOMAIN_NAME).get();
+        deployment.getSpec().setProgressDeadlineSeconds(600);
+        deployment.getSpec().setRevisionHistoryLimit(10);
+        client.apps().deployments().inNamespace(sdNamespace).replace(deployment);
+        Service service = client.services().inNamespace(sdNamespace).withName(SERVICE_DOMAIN_NAME).get();
+        service.getSpec().setClusterIP("10.0.0.1");
+        service.getSpec().setSessionAffinity("None");
+        client.services().inNamespace(sdNamespace).replace(service);
+
+        drainRequests();
+        serviceDomainController.reconcile(update.getResource(), null);
+        List<String> writes = drainRequests();
+        writes.removeIf(r -> r.startsWith("GET ") || !(r.contains("/deployments") || r.contains("/services")));
+        assertThat(writes).isEmpty();
+    }
+
+    @Test
+    public void testSteadyStateReconcileDoesNotGet() throws InterruptedException {
+        ServiceDomainInfra sdi = createReadySDI();
+        ServiceDomain sd = createServiceDomain();
+        final NamespacedKubernetesClient client = mockServer.getClient();
+        storeServiceDomainInfra(sdi);
+
+        UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
+        update = serviceDomainController.reconcile(update.getResource(), null);
+
+        // Informers are eventually consistent, wait until every child has been observed
+        List<String> gets = List.of();
+        for (int i = 0; i < 50; i++) {
+            drainRequests();
+            update = serviceDomainController.reconcile(update.getResource(), null);
+            gets = drainRequests();
+            gets.removeIf(r -> !r.startsWith("GET ") || !r.contains("/namespaces/" + SERVICE_DOMAIN_INFRA_NAMESPACE + "/") || r.contains("watch=true"));
+            if (gets.isEmpty()) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        assertThat(gets).isEmpty();
+    }
+
+    @Test
+    public void testMissingObjectsAreNotFetched() throws InterruptedException {
+        ServiceDomain sd = createServiceDomain(SERVICE_DOMAIN_NAME, false);
+
+        // The synced informer is trusted with the absence of the infra
+        drainRequests();
+        UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
+        assertThat(update.getResource().getStatus().getCondition(CONDITION_SERVICE_DOMAIN_INFRA_READY).getMessage())
+                .isEqualTo(SERVICE_DOMAIN_INFRA_NAME + " " + MESSAGE_SDI_NOT_FOUND);
+        assertThat(drainRequests()).noneMatch(r -> r.startsWith("GET ") && r.contains("/servicedomaininfras/"));
+
+        // and with the absence of the Integration of a service domain not exposed over HTTP
+        storeServiceDomainInfra(createReadySDI());
+        drainRequests();
+        serviceDomainController.reconcile(update.getResource(), null);
+        assertThat(drainRequests()).noneMatch(r -> r.startsWith("GET ") && r.contains("/integrations/"));
+    }
+
+    @Test
+    public void testConfigMapInformerKeepsOnlyMetadata() throws InterruptedException {
+        final String namespace = "metadata-only";
+        final int configMaps = 40;
+        final String payload = "x".repeat(100 * 1024);
+        final NamespacedKubernetesClient client = mockServer.getClient();
+
+        try {
+            for (int i = 0; i < configMaps; i++) {
+                client.configMaps().inNamespace(namespace).create(new ConfigMapBuilder()
+                        .withNewMetadata()
+                        .withName("customer-offer-openapi-" + i)
+                        .withNamespace(namespace)
+                        .withLabels(Map.of("app.kubernetes.io/managed-by", "service-domain-infra-operator"))
+                        .endMetadata()
+                        .withData(Map.of("openapi.json", payload))
+                        .build());
+            }
+
+            for (int i = 0; i < 50 && serviceDomainController.getRouteConfigMapInformer().list(namespace).size() < configMaps; i++) {
+                Thread.sleep(100);
+            }
+
+            // Readers of the ConfigMaps never see their payload, whether or not the store has been stripped yet
+            for (int i = 0; i < configMaps; i++) {
+                final ConfigMap configMap = serviceDomainController.getConfigMap(namespace, "customer-offer-openapi-" + i);
+                assertThat(configMap).isNotNull();
+                assertThat(configMap.getData()).isNull();
+                assertThat(configMap.getMetadata().getResourceVersion()).isNotNull();
+            }
+
+            List<ConfigMap> cached = List.of();
+            for (int i = 0; i < 50; i++) {
+                cached = serviceDomainController.getRouteConfigMapInformer().list(namespace);
+                if (cached.size() == configMaps && cached.stream().allMatch(cm -> cm.getData() == null)) {
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            assertThat(cached).hasSize(configMaps).allMatch(cm -> cm.getData() == null && cm.getBinaryData() == null);
+
+            // The payload is still read from the API server
+            assertThat(client.configMaps().inNamespace(namespace).withName("customer-offer-openapi-0").get().getData())
+                    .containsEntry("openapi.json", payload);
+        } finally {
+            client.configMaps().inNamespace(namespace).delete();
+        }
+    }
+
+    @Test
+    public void testReconcileMetrics() {
+        ServiceDomainInfra sdi = createReadySDI();
+        ServiceDomain sd = createServiceDomain();
+
+        storeServiceDomainInfra(sdi);
+
+        serviceDomainController.reconcile(sd, null);
+
+        assertThat(meterRegistry.find(OperatorMetrics.RECONCILE_DURATION).tag(OperatorMetrics.CONTROLLER_TAG, "service-domain").timers())
+                .isNotEmpty();
+        for (String phase : List.of("service-domain-infra", "deployment", "service", "kafka-topic", "kafka-user", "config-maps", "integration", "status")) {
+            assertThat(meterRegistry.find(OperatorMetrics.PHASE_DURATION)
+                    .tags(OperatorMetrics.CONTROLLER_TAG, "service-domain", OperatorMetrics.PHASE_TAG, phase)
+                    .timer())
+                    .isNotNull()
+                    .satisfies(timer -> assertThat(timer.count()).isPositive());
+        }
+        assertThat(meterRegistry.find(KubernetesApiCallInterceptor.API_CALLS).tag(KubernetesApiCallInterceptor.RESOURCE_TAG, "deployments").counters())
+                .isNotEmpty();
+        assertThat(meterRegistry.find(OperatorMetrics.INFORMER_CACHE_SIZE).tag(OperatorMetrics.KIND_TAG, "deployments").gauge())
+                .isNotNull();
+    }
+
+    @Test
+    public void testDeletedServiceDomainIsNotPending() {
+        ServiceDomain sd = createServiceDomain();
+        metrics.markPending("service-domain", Set.of(new ResourceID(sd.getMetadata().getName(), sd.getMetadata().getNamespace())));
+        assertThat(metrics.isPending("service-domain", sd)).isTrue();
+
+        serviceDomainController.cleanup(sd, null);
+
+        assertThat(metrics.isPending("service-domain", sd)).isFalse();
+    }
+
+    @Test
+    public void testOutOfShardServiceDomainIsNotPending() {
+        ServiceDomain sd = createServiceDomain();
+        // A namespace of the second shard, this replica owns the first one
+        final String namespace = List.of("shard-a", "shard-b", "shard-c", "shard-d").stream()
+                .filter(ns -> WatchScope.shardOf(ns, 2) == 1)
+                .findFirst()
+                .orElseThrow();
+        sd.getMetadata().setNamespace(namespace);
+        metrics.markPending("service-domain", Set.of(new ResourceID(sd.getMetadata().getName(), namespace)));
+
+        final int shardCount = watchScope.shardCount;
+        watchScope.shardCount = 2;
+        try {
+            UpdateControl<ServiceDomain> update = serviceDomainController.reconcile(sd, null);
+            assertThat(update.isUpdateStatus()).isFalse();
+        } finally {
+            watchScope.shardCount = shardCount;
+        }
+        assertThat(metrics.isPending("service-domain", sd)).isFalse();
+    }
+
+    @Test
+    public void testReconcileTracing() {
+        ServiceDomainInfra sdi = createReadySDI();
+        ServiceDomain sd = createServiceDomain();
+        sd.getMetadata().setGeneration(3L);
+
+        storeServiceDomainInfra(sdi);
+
+        spanExporter.reset();
+        serviceDomainController.reconcile(sd, null);
+
+        final List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        final SpanData reconcileSpan = spans.stream()
+                .filter(span -> "service-domain/reconcile".equals(span.getName()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(reconcileSpan.getAttributes().get(OperatorTracing.NAME)).isEqualTo(SERVICE_DOMAIN_NAME);
+        assertThat(reconcileSpan.getAttributes().get(OperatorTracing.NAMESPACE)).isEqualTo(SERVICE_DOMAIN_INFRA_NAMESPACE);
+        assertThat(reconcileSpan.getAttributes().get(OperatorTracing.GENERATION)).isEqualTo(3L);
+
+        final List<SpanData> phaseSpans = spans.stream()
+                .filter(span -> reconcileSpan.getSpanId().equals(span.getParentSpanId()))
+                .collect(Collectors.toList());
+        assertThat(phaseSpans).extracting(SpanData::getName)
+                .contains("service-domain/deployment", "service-domain/service", "service-domain/kafka-topic", "service-domain/kafka-user", "service-domain/config-maps", "service-domain/integration", "service-domain/status");
+
+        final SpanData deploymentSpan = phaseSpans.stream()
+                .filter(span -> "service-domain/deployment".equals(span.getName()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(spans).filteredOn(span -> span.getKind() == SpanKind.CLIENT && deploymentSpan.getSpanId().equals(span.getParentSpanId()))
+                .isNotEmpty()
+                .allMatch(span -> span.getName().endsWith(" deployments"));
+    }
+
+    private void awaitServiceDomainsForInfra(ServiceDomainInfra sdi, Set<ResourceID> expected) throws InterruptedException {
+        for (int i = 0; i < 50 && !expected.equals(serviceDomainController.getServiceDomainsForInfra(sdi)); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(serviceDomainController.getServiceDomainsForInfra(sdi)).isEqualTo(expected);
+    }
+
+    private List<String> drainRequests() throws InterruptedException {
+        List<String> requests = new ArrayList<>();
+        RecordedRequest request;
+        while ((request = mockServer.getKubernetesMockServer().takeRequest(10, TimeUnit.MILLISECONDS)) != null) {
+            requests.add(request.getMethod() + " " + request.getPath());
+        }
+        return requests;
+    }
+
     private void assertOwnerReference(ServiceDomain sd, List<OwnerReference> ownerReferences) {
         assertThat(ownerReferences).isNotNull();
         assertThat(ownerReferences).isNotEmpty();
@@ -689,6 +1235,26 @@ public class ServiceDomainControllerTest extends AbstractTest {
         }
     }
 
+    private void deleteKafkaTopics() {
+        final NamespacedKubernetesClient client = mockServer.getClient();
+
+        client.resources(KafkaTopic.class).inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).list()
+                .getItems().forEach(topic -> client.resources(KafkaTopic.class)
+                        .inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE)
+                        .withName(topic.getMetadata().getName())
+                        .delete());
+    }
+
+    private void deleteKafkaUsers() {
+        final NamespacedKubernetesClient client = mockServer.getClient();
+
+        client.resources(KafkaUser.class).inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).list()
+                .getItems().forEach(user -> client.resources(KafkaUser.class)
+                        .inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE)
+                        .withName(user.getMetadata().getName())
+                        .delete());
+    }
+
     private void deleteDirectConfigMap() {
         final NamespacedKubernetesClient client = mockServer.getClient();
 
@@ -702,10 +1268,10 @@ public class ServiceDomainControllerTest extends AbstractTest {
     private void deleteOpenAPIConfigMap() {
         final NamespacedKubernetesClient client = mockServer.getClient();
 
-        final Resource<ConfigMap> configMapResource = client.configMaps().inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).withName("customer-offer-openapi-v10");
-        if (configMapResource != null) {
-            configMapResource.delete();
-        }
+        client.configMaps().inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).list().getItems()
+                .stream()
+                .filter(cm -> cm.getMetadata().getName().startsWith(SERVICE_DOMAIN_NAME + OPENAPI_CM_SUFFIX + "-"))
+                .forEach(cm -> client.configMaps().inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).withName(cm.getMetadata().getName()).delete());
     }
 
     private void deleteService() {
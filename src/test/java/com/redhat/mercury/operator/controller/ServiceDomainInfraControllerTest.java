@@ -1,41 +1,71 @@
 package com.redhat.mercury.operator.controller;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.redhat.mercury.operator.metrics.OperatorMetrics;
+import com.redhat.mercury.operator.model.KafkaKRaftConfig;
+import com.redhat.mercury.operator.model.KafkaKRaftConfigBuilder;
+import com.redhat.mercury.operator.model.KafkaMetricsConfig;
 import com.redhat.mercury.operator.model.KafkaStorageBuilder;
 import com.redhat.mercury.operator.model.ServiceDomainInfra;
 import com.redhat.mercury.operator.model.ServiceDomainInfraBuilder;
 import com.redhat.mercury.operator.model.ServiceDomainInfraSpecBuilder;
+import com.redhat.mercury.operator.model.ServiceDomainInfraStatus;
 import com.redhat.mercury.operator.model.ServiceDomainInfraStatusBuilder;
 import com.redhat.mercury.operator.utils.ResourceUtils;
 
 import io.fabric8.kubernetes.api.model.Condition;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.OwnerReference;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServicePort;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.NamespacedKubernetesClient;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import io.strimzi.api.kafka.model.JmxPrometheusExporterMetrics;
 import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.api.kafka.model.KafkaAuthorizationSimple;
 import io.strimzi.api.kafka.model.KafkaBuilder;
+import io.strimzi.api.kafka.model.KafkaRebalance;
+import io.strimzi.api.kafka.model.balancing.KafkaRebalanceMode;
+import io.strimzi.api.kafka.model.listener.KafkaListenerAuthenticationScramSha512;
+import io.strimzi.api.kafka.model.listener.KafkaListenerAuthenticationTls;
 import io.strimzi.api.kafka.model.listener.arraylistener.GenericKafkaListener;
 import io.strimzi.api.kafka.model.listener.arraylistener.KafkaListenerType;
 import io.strimzi.api.kafka.model.status.ConditionBuilder;
+import io.strimzi.api.kafka.model.status.KafkaRebalanceStatusBuilder;
 import io.strimzi.api.kafka.model.status.KafkaStatusBuilder;
 import io.strimzi.api.kafka.model.status.ListenerAddressBuilder;
 import io.strimzi.api.kafka.model.status.ListenerStatusBuilder;
 import io.strimzi.api.kafka.model.storage.PersistentClaimStorage;
 import io.strimzi.api.kafka.model.storage.Storage;
+import okhttp3.mockwebserver.RecordedRequest;
 
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.CONDITION_READY;
 import static com.redhat.mercury.operator.model.AbstractResourceStatus.STATUS_TRUE;
 import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.CONDITION_KAFKA_BROKER_READY;
+import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.CONDITION_KAFKA_REBALANCE_READY;
 import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.MESSAGE_KAFKA_BROKER_NOT_READY;
 import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.REASON_KAFKA_EXCEPTION;
+import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.REASON_KAFKA_REBALANCING;
 import static com.redhat.mercury.operator.model.ServiceDomainInfraStatus.REASON_KAFKA_WAITING;
 import static io.strimzi.api.kafka.model.authentication.KafkaClientAuthenticationPlain.TYPE_PLAIN;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,6 +74,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 @WithKubernetesTestServer
 public class ServiceDomainInfraControllerTest extends AbstractTest {
 
+    @Inject
+    OperatorMetrics metrics;
+
+    @Inject
+    ReschedulePolicy reschedulePolicy;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
     @BeforeEach
     public void beforeEach() {
         mockServer.getKubernetesMockServer().clearExpectations();
@@ -71,6 +110,30 @@ public class ServiceDomainInfraControllerTest extends AbstractTest {
                                 .inNamespace(kafka.getMetadata().getNamespace())
                                 .withName(kafka.getMetadata().getName())
                                 .delete());
+        client.resources(KafkaRebalance.class).inAnyNamespace().list()
+                .getItems().forEach(rebalance ->
+                        client.resources(KafkaRebalance.class)
+                                .inNamespace(rebalance.getMetadata().getNamespace())
+                                .withName(rebalance.getMetadata().getName())
+                                .delete());
+        client.genericKubernetesResources(KafkaNodePools.NODE_POOL_DEFINITION).inAnyNamespace().list()
+                .getItems().forEach(nodePool ->
+                        client.genericKubernetesResources(KafkaNodePools.NODE_POOL_DEFINITION)
+                                .inNamespace(nodePool.getMetadata().getNamespace())
+                                .withName(nodePool.getMetadata().getName())
+                                .delete());
+        client.configMaps().inAnyNamespace().list()
+                .getItems().forEach(cm ->
+                        client.configMaps()
+                                .inNamespace(cm.getMetadata().getNamespace())
+                                .withName(cm.getMetadata().getName())
+                                .delete());
+        client.services().inAnyNamespace().list()
+                .getItems().forEach(service ->
+                        client.services()
+                                .inNamespace(service.getMetadata().getNamespace())
+                                .withName(service.getMetadata().getName())
+                                .delete());
     }
 
     @Test
@@ -104,8 +167,11 @@ public class ServiceDomainInfraControllerTest extends AbstractTest {
                 .withPath("/apis/kafka.strimzi.io/v1beta2/namespaces/test-service-domain/kafkas")
                 .andReturn(500, new KubernetesClientException(exceptionMessage))
                 .once();
+        final double errors = countReconciles(OperatorMetrics.OUTCOME_ERROR);
 
         UpdateControl<ServiceDomainInfra> update = serviceDomainInfraController.reconcile(sdi, null);
+        // Reported in the status, the failure is still an error of the reconcile
+        assertThat(countReconciles(OperatorMetrics.OUTCOME_ERROR)).isEqualTo(errors + 1);
 
         assertThat(update.isUpdateStatus()).isTrue();
         assertThat(update.getResource().getStatus().isReady()).isFalse();
@@ -140,6 +206,8 @@ public class ServiceDomainInfraControllerTest extends AbstractTest {
 
         Kafka kafka = mockServer.getClient().resources(Kafka.class).inNamespace(sdi.getMetadata().getNamespace()).withName(sdi.getMetadata().getName()).get();
         assertEphemeralKafka(kafka);
+        // Strimzi rejects Cruise Control on a single broker
+        assertThat(kafka.getSpec().getCruiseControl()).isNull();
     }
 
     @Test
@@ -232,6 +300,9 @@ public class ServiceDomainInfraControllerTest extends AbstractTest {
         update = serviceDomainInfraController.reconcile(sdi, null);
         assertThat(update.getResource().getStatus().isReady()).isTrue();
         assertThat(update.getResource().getStatus().getKafkaBroker()).isEqualTo("my-kafka.example.com:9092");
+        assertThat(update.getResource().getStatus().getKafkaBrokerReplicas()).isEqualTo(1);
+        assertThat(update.getResource().getStatus().getCondition(CONDITION_KAFKA_REBALANCE_READY).getStatus()).isEqualTo(STATUS_TRUE);
+        assertThat(kafka.getSpec().getCruiseControl()).isNull();
 
         condition = update.getResource().getStatus().getCondition(CONDITION_KAFKA_BROKER_READY);
         assertThat(condition.getStatus()).isEqualTo(STATUS_TRUE);
@@ -256,6 +327,7 @@ public class ServiceDomainInfraControllerTest extends AbstractTest {
                         .withType(Storage.TYPE_PERSISTENT_CLAIM)
                         .withSize("1Gi")
                         .endStorage()
+                        .withAuthentication(true)
                         .endKafka()
                         .build())
                 .withStatus(new ServiceDomainInfraStatusBuilder().build())
@@ -292,14 +364,20 @@ public class ServiceDomainInfraControllerTest extends AbstractTest {
         assertThat(listener.get().getType()).isEqualTo(KafkaListenerType.INTERNAL);
         assertThat(listener.get().getPort()).isEqualTo(9092);
         assertThat(listener.get().isTls()).isFalse();
-        assertThat(listener.get().getAuth()).isNull();
+        assertThat(listener.get().getAuth()).isInstanceOf(KafkaListenerAuthenticationScramSha512.class);
         // TLS
         listener = kafka.getSpec().getKafka().getListeners().stream().filter(l -> l.getName().equals("tls")).findFirst();
         assertThat(listener).isPresent();
         assertThat(listener.get().getType()).isEqualTo(KafkaListenerType.INTERNAL);
         assertThat(listener.get().getPort()).isEqualTo(9093);
         assertThat(listener.get().isTls()).isTrue();
-        assertThat(listener.get().getAuth()).isNull();
+        assertThat(listener.get().getAuth()).isInstanceOf(KafkaListenerAuthenticationTls.class);
+        assertThat(kafka.getSpec().getKafka().getAuthorization()).isInstanceOf(KafkaAuthorizationSimple.class);
+        assertThat(kafka.getSpec().getEntityOperator().getUserOperator()).isNotNull();
+        assertThat(kafka.getSpec().getEntityOperator().getUserOperator().getResources())
+                .isEqualTo(kafka.getSpec().getEntityOperator().getTopicOperator().getResources());
+        assertThat(kafka.getSpec().getEntityOperator().getUserOperator().getJvmOptions())
+                .isEqualTo(kafka.getSpec().getEntityOperator().getTopicOperator().getJvmOptions());
         // Kafka Storage
         assertThat(kafka.getSpec().getKafka().getReplicas()).isEqualTo(sdi.getSpec().getKafka().getReplicas());
         assertThat(kafka.getSpec().getKafka().getStorage().getType()).isEqualTo(sdi.getSpec().getKafka().getStorage().getType());
@@ -316,6 +394,357 @@ public class ServiceDomainInfraControllerTest extends AbstractTest {
         assertThat(kafka.getSpec().getZookeeper().getStorage().getType()).isEqualTo(sdi.getSpec().getKafka().getStorage().getType());
     }
 
+    @Test
+    void testRebalanceAddedBrokers() {
+        ServiceDomainInfra sdi = buildDefaultSDI();
+        sdi.getSpec().getKafka().setReplicas(3);
+        sdi.setStatus(new ServiceDomainInfraStatus().setKafkaBrokerReplicas(1));
+        serviceDomainInfraController.reconcile(sdi, null);
+        setKafkaReady(sdi);
+
+        // New brokers get partitions once they are running
+        UpdateControl<ServiceDomainInfra> update = serviceDomainInfraController.reconcile(sdi, null);
+        assertThat(update.getResource().getStatus().isReady()).isTrue();
+        assertThat(update.getScheduleDelay()).isPresent();
+        Condition condition = update.getResource().getStatus().getCondition(CONDITION_KAFKA_REBALANCE_READY);
+        assertThat(condition.getStatus()).isEqualTo(ResourceUtils.toStatus(Boolean.FALSE));
+        assertThat(condition.getReason()).isEqualTo(REASON_KAFKA_REBALANCING);
+        KafkaRebalance rebalance = getKafkaRebalance(sdi);
+        assertThat(rebalance.getSpec().getMode()).isEqualTo(KafkaRebalanceMode.ADD_BROKERS);
+        assertThat(rebalance.getSpec().getBrokers()).containsExactly(1, 2);
+        assertThat(rebalance.getMetadata().getLabels()).containsEntry(ServiceDomainController.STRIMZI_CLUSTER_LABEL, sdi.getMetadata().getName());
+
+        // Proposals are approved by the operator
+        setKafkaRebalanceState(sdi, KafkaRebalances.STATE_PROPOSAL_READY);
+        serviceDomainInfraController.reconcile(sdi, null);
+        assertThat(getKafkaRebalance(sdi).getMetadata().getAnnotations())
+                .containsEntry(KafkaRebalances.REBALANCE_ANNOTATION, KafkaRebalances.APPROVE);
+
+        setKafkaRebalanceState(sdi, KafkaRebalances.STATE_READY);
+        update = serviceDomainInfraController.reconcile(sdi, null);
+        assertThat(update.getScheduleDelay()).isEmpty();
+        assertThat(update.getResource().getStatus().getKafkaBrokerReplicas()).isEqualTo(3);
+        assertThat(update.getResource().getStatus().getCondition(CONDITION_KAFKA_REBALANCE_READY).getStatus()).isEqualTo(STATUS_TRUE);
+        assertThat(getKafkaRebalance(sdi)).isNull();
+    }
+
+    @Test
+    void testCruiseControlNeedsSeveralBrokers() {
+        ServiceDomainInfra sdi = buildDefaultSDI();
+        serviceDomainInfraController.reconcile(sdi, null);
+        assertThat(getKafka(sdi).getSpec().getCruiseControl()).isNull();
+
+        setKafkaReady(sdi);
+        UpdateControl<ServiceDomainInfra> update = serviceDomainInfraController.reconcile(sdi, null);
+        assertThat(update.getResource().getStatus().getCondition(CONDITION_KAFKA_REBALANCE_READY).getStatus()).isEqualTo(STATUS_TRUE);
+        assertThat(getKafkaRebalance(sdi)).isNull();
+
+        // Added brokers bring Cruise Control along
+        mockServer.getKubernetesMockServer().clearExpectations();
+        sdi.getSpec().getKafka().setReplicas(2);
+        serviceDomainInfraController.reconcile(sdi, null);
+        assertThat(getKafka(sdi).getSpec().getCruiseControl()).isNotNull();
+    }
+
+    @Test
+    void testMissingKafkaRebalanceIsNotFetched() throws InterruptedException {
+        ServiceDomainInfra sdi = buildDefaultSDI();
+        serviceDomainInfraController.reconcile(sdi, null);
+        setKafkaReady(sdi);
+
+        drainRequests();
+        UpdateControl<ServiceDomainInfra> update = serviceDomainInfraController.reconcile(sdi, null);
+        assertThat(update.getResource().getStatus().getCondition(CONDITION_KAFKA_REBALANCE_READY).getStatus()).isEqualTo(STATUS_TRUE);
+        assertThat(drainRequests()).noneMatch(r -> r.startsWith("GET ") && r.contains("/kafkarebalances/"));
+    }
+
+    @Test
+    void testDeletedServiceDomainInfraIsNotPending() {
+        ServiceDomainInfra sdi = buildDefaultSDI();
+        metrics.markPending("service-domain-infra", Set.of(new ResourceID(sdi.getMetadata().getName(), sdi.getMetadata().getNamespace())));
+        reschedulePolicy.nextDelay("service-domain-infra", sdi);
+        reschedulePolicy.nextDelay("service-domain-infra", sdi);
+
+        serviceDomainInfraController.cleanup(sdi, null);
+
+        assertThat(metrics.isPending("service-domain-infra", sdi)).isFalse();
+        // A new resource of the same name starts from the initial interval
+        assertThat(reschedulePolicy.getAttempts("service-domain-infra", sdi)).isZero();
+    }
+
+    @Test
+    void testRemovedBrokersKeptUntilRebalanced() {
+        ServiceDomainInfra sdi = buildDefaultSDI();
+        sdi.getSpec().getKafka().setReplicas(3);
+        sdi.setStatus(new ServiceDomainInfraStatus().setKafkaBrokerReplicas(5));
+        serviceDomainInfraController.reconcile(sdi, null);
+
+        Kafka kafka = mockServer.getClient().resources(Kafka.class).inNamespace(sdi.getMetadata().getNamespace()).withName(sdi.getMetadata().getName()).get();
+        assertThat(kafka.getSpec().getKafka().getReplicas()).isEqualTo(5);
+
+        setKafkaReady(sdi);
+        serviceDomainInfraController.reconcile(sdi, null);
+        KafkaRebalance rebalance = getKafkaRebalance(sdi);
+        assertThat(rebalance.getSpec().getMode()).isEqualTo(KafkaRebalanceMode.REMOVE_BROKERS);
+        assertThat(rebalance.getSpec().getBrokers()).containsExactly(3, 4);
+    }
+
+    @Test
+    void testKafkaMetrics() {
+        ServiceDomainInfra sdi = buildDefaultSDI();
+        sdi.getSpec().getKafka().setMetrics(new KafkaMetricsConfig().setTopicRegex("my-sd-.*"));
+        sdi.getMetadata().setUid("my-sdi-uid");
+        serviceDomainInfraController.reconcile(sdi, null);
+
+        ConfigMap configMap = mockServer.getClient().configMaps().inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).withName("my-sdi-kafka-metrics").get();
+        assertThat(configMap.getData()).containsOnlyKeys(KafkaMetrics.KAFKA_METRICS_KEY, KafkaMetrics.ZOOKEEPER_METRICS_KEY);
+        assertThat(configMap.getMetadata().getOwnerReferences()).extracting(OwnerReference::getUid).containsExactly("my-sdi-uid");
+        assertThat(configMap.getMetadata().getLabels()).containsAllEntriesOf(KafkaMetrics.METRICS_LABELS);
+        Service service = mockServer.getClient().services().inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).withName("my-sdi-kafka-exporter-metrics").get();
+        assertThat(service.getSpec().getSelector()).containsEntry("strimzi.io/name", "my-sdi-kafka-exporter");
+        assertThat(service.getSpec().getPorts()).extracting(ServicePort::getPort).containsExactly(KafkaMetrics.METRICS_PORT);
+        assertThat(service.getMetadata().getLabels()).containsAllEntriesOf(KafkaMetrics.METRICS_LABELS);
+
+        Kafka kafka = mockServer.getClient().resources(Kafka.class).inNamespace(sdi.getMetadata().getNamespace()).withName(sdi.getMetadata().getName()).get();
+        JmxPrometheusExporterMetrics metricsConfig = (JmxPrometheusExporterMetrics) kafka.getSpec().getKafka().getMetricsConfig();
+        assertThat(metricsConfig.getValueFrom().getConfigMapKeyRef().getName()).isEqualTo("my-sdi-kafka-metrics");
+        assertThat(metricsConfig.getValueFrom().getConfigMapKeyRef().getKey()).isEqualTo(KafkaMetrics.KAFKA_METRICS_KEY);
+        assertThat(kafka.getSpec().getZookeeper().getMetricsConfig()).isNotNull();
+        assertThat(kafka.getSpec().getKafkaExporter().getTopicRegex()).isEqualTo("my-sd-.*");
+
+        setKafkaReady(sdi);
+        UpdateControl<ServiceDomainInfra> update = serviceDomainInfraController.reconcile(sdi, null);
+        assertThat(update.getResource().getStatus().getKafkaMetricsEndpoints()).containsExactly(
+                "http://my-sdi-kafka-0.my-sdi-kafka-brokers.test-service-domain.svc:9404/metrics",
+                "http://my-sdi-kafka-exporter-metrics.test-service-domain.svc:9404/metrics");
+
+        // Disabling the metrics first removes their use by the Kafka, the rules ConfigMap is kept until Strimzi applied it
+        mockServer.getKubernetesMockServer().clearExpectations();
+        sdi.getSpec().getKafka().setMetrics(null);
+        serviceDomainInfraController.reconcile(sdi, null);
+        kafka = getKafka(sdi);
+        assertThat(kafka.getSpec().getKafka().getMetricsConfig()).isNull();
+        assertThat(kafka.getSpec().getZookeeper().getMetricsConfig()).isNull();
+        assertThat(kafka.getSpec().getKafkaExporter()).isNull();
+        assertThat(mockServer.getClient().configMaps().inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).withName("my-sdi-kafka-metrics").get()).isNotNull();
+
+        storeKafkaReady(sdi);
+        serviceDomainInfraController.reconcile(sdi, null);
+        assertThat(mockServer.getClient().configMaps().inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).withName("my-sdi-kafka-metrics").get()).isNull();
+        assertThat(mockServer.getClient().services().inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).withName("my-sdi-kafka-exporter-metrics").get()).isNull();
+    }
+
+    @Test
+    void testServerNormalizedKafkaIsNotWritten() throws InterruptedException {
+        ServiceDomainInfra sdi = buildDefaultSDI();
+        serviceDomainInfraController.reconcile(sdi, null);
+
+        // Simulate a Kafka read back with string config values and the fields defaulted by Strimzi
+        final NamespacedKubernetesClient client = mockServer.getClient();
+        Kafka kafka = client.resources(Kafka.class).inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).withName(sdi.getMetadata().getName()).get();
+        kafka.getSpec().getKafka().getConfig().replaceAll((key, value) -> String.valueOf(value));
+        kafka.getSpec().setMaintenanceTimeWindows(List.of("* * 0-1 ? * SUN *"));
+        kafka.getSpec().getKafka().setBrokerRackInitImage("quay.io/strimzi/operator");
+        client.resources(Kafka.class).inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).replace(kafka);
+
+        drainRequests();
+        serviceDomainInfraController.reconcile(sdi, null);
+        List<String> writes = drainRequests();
+        writes.removeIf(r -> r.startsWith("GET ") || !r.contains("/kafkas"));
+        assertThat(writes).isEmpty();
+    }
+
+    @Test
+    void testDynamicBrokerConfigKeepsKafkaReady() throws InterruptedException {
+        ServiceDomainInfra sdi = buildDefaultSDI();
+        serviceDomainInfraController.reconcile(sdi, null);
+        setKafkaReady(sdi);
+        assertThat(serviceDomainInfraController.reconcile(sdi, null).getResource().getStatus().isReady()).isTrue();
+
+        sdi.getSpec().getKafka().setConfig(Map.of("log.retention.ms", 86400000));
+        drainRequests();
+        UpdateControl<ServiceDomainInfra> update = serviceDomainInfraController.reconcile(sdi, null);
+        List<String> writes = drainRequests();
+        writes.removeIf(r -> r.startsWith("GET ") || !r.contains("/kafkas"));
+        assertThat(writes).isNotEmpty();
+        // Strimzi reconfigures the running brokers
+        assertThat(update.getResource().getStatus().isReady()).isTrue();
+        assertThat(update.getResource().getStatus().getCondition(CONDITION_KAFKA_BROKER_READY).getStatus()).isEqualTo(STATUS_TRUE);
+    }
+
+    private List<String> drainRequests() throws InterruptedException {
+        List<String> requests = new ArrayList<>();
+        RecordedRequest request;
+        while ((request = mockServer.getKubernetesMockServer().takeRequest(10, TimeUnit.MILLISECONDS)) != null) {
+            requests.add(request.getMethod() + " " + request.getPath());
+        }
+        return requests;
+    }
+
+    private void setKafkaReady(ServiceDomainInfra sdi) {
+        Kafka kafka = mockServer.getClient().resources(Kafka.class).inNamespace(sdi.getMetadata().getNamespace()).withName(sdi.getMetadata().getName()).get();
+        kafka.setStatus(new KafkaStatusBuilder()
+                .withConditions(new ConditionBuilder()
+                        .withType(CONDITION_READY)
+                        .withStatus(STATUS_TRUE)
+                        .build())
+                .build());
+        mockServer.expect().get().withPath("/apis/kafka.strimzi.io/v1beta2/namespaces/test-service-domain/kafkas/my-sdi")
+                .andReturn(200, kafka).always();
+    }
+
+    private double countReconciles(String outcome) {
+        final Timer timer = meterRegistry.find(OperatorMetrics.RECONCILE_DURATION)
+                .tags(OperatorMetrics.CONTROLLER_TAG, "service-domain-infra", OperatorMetrics.OUTCOME_TAG, outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private KafkaRebalance getKafkaRebalance(ServiceDomainInfra sdi) {
+        return mockServer.getClient().resources(KafkaRebalance.class)
+                .inNamespace(sdi.getMetadata().getNamespace())
+                .withName(sdi.getMetadata().getName() + KafkaRebalances.REBALANCE_SUFFIX)
+                .get();
+    }
+
+    private void setKafkaRebalanceState(ServiceDomainInfra sdi, String state) {
+        KafkaRebalance rebalance = getKafkaRebalance(sdi);
+        rebalance.setStatus(new KafkaRebalanceStatusBuilder()
+                .withConditions(new ConditionBuilder()
+                        .withType(state)
+                        .withStatus(STATUS_TRUE)
+                        .build())
+                .build());
+        mockServer.getClient().resources(KafkaRebalance.class).inNamespace(sdi.getMetadata().getNamespace()).replace(rebalance);
+        awaitCached(serviceDomainInfraController.getKafkaRebalanceInformer(), rebalance,
+                cached -> cached != null && state.equals(KafkaRebalances.getState(cached)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateKRaftKafka() {
+        ServiceDomainInfra sdi = buildDefaultSDI();
+        sdi.getSpec().getKafka().setKraft(new KafkaKRaftConfigBuilder()
+                .withNewBrokers()
+                .withReplicas(3)
+                .endBrokers()
+                .build());
+
+        UpdateControl<ServiceDomainInfra> update = serviceDomainInfraController.reconcile(sdi, null);
+
+        Condition condition = update.getResource().getStatus().getCondition(CONDITION_KAFKA_BROKER_READY);
+        assertThat(condition.getStatus()).isEqualTo(ResourceUtils.toStatus(Boolean.FALSE));
+        assertThat(condition.getReason()).isEqualTo(REASON_KAFKA_WAITING);
+        assertThatIsWaiting(update);
+
+        Kafka kafka = mockServer.getClient().resources(Kafka.class).inNamespace(sdi.getMetadata().getNamespace()).withName(sdi.getMetadata().getName()).get();
+        assertThat(kafka.getMetadata().getAnnotations())
+                .containsEntry(KafkaNodePools.NODE_POOLS_ANNOTATION, KafkaNodePools.ENABLED)
+                .containsEntry(KafkaNodePools.KRAFT_ANNOTATION, KafkaNodePools.ENABLED);
+        assertThat(kafka.getSpec().getZookeeper()).isNull();
+        assertThat(kafka.getSpec().getKafka().getVersion()).isEqualTo(KafkaNodePools.KRAFT_KAFKA_VERSION);
+        assertThat(kafka.getSpec().getKafka().getAdditionalProperties())
+                .containsEntry(KafkaNodePools.METADATA_VERSION_PROPERTY, KafkaNodePools.KRAFT_METADATA_VERSION);
+        assertThat(kafka.getSpec().getKafka().getConfig())
+                .doesNotContainKey("inter.broker.protocol.version")
+                .containsEntry("default.replication.factor", 3)
+                .containsEntry("min.insync.replicas", 2);
+
+        GenericKubernetesResource brokers = getNodePool(sdi, KafkaNodePools.BROKER_POOL);
+        assertThat(brokers.getMetadata().getLabels()).containsEntry(ServiceDomainController.STRIMZI_CLUSTER_LABEL, sdi.getMetadata().getName());
+        assertThat((Map<String, Object>) brokers.getAdditionalProperties().get(KafkaNodePools.SPEC_PROPERTY))
+                .containsEntry("roles", List.of(KafkaNodePools.ROLE_BROKER))
+                .containsEntry("replicas", 3)
+                .containsEntry("storage", Map.of("type", Storage.TYPE_EPHEMERAL));
+        GenericKubernetesResource controllers = getNodePool(sdi, KafkaNodePools.CONTROLLER_POOL);
+        assertThat((Map<String, Object>) controllers.getAdditionalProperties().get(KafkaNodePools.SPEC_PROPERTY))
+                .containsEntry("roles", List.of(KafkaNodePools.ROLE_CONTROLLER))
+                .containsEntry("replicas", KafkaNodePools.DEFAULT_CONTROLLER_REPLICAS);
+    }
+
+    @Test
+    void testEnableKRaftOnZooKeeperKafka() {
+        ServiceDomainInfra sdi = buildDefaultSDI();
+        serviceDomainInfraController.reconcile(sdi, null);
+
+        sdi.getSpec().getKafka().setKraft(new KafkaKRaftConfigBuilder().build());
+        UpdateControl<ServiceDomainInfra> update = serviceDomainInfraController.reconcile(sdi, null);
+
+        Condition condition = update.getResource().getStatus().getCondition(CONDITION_KAFKA_BROKER_READY);
+        assertThat(condition.getReason()).isEqualTo(REASON_KAFKA_EXCEPTION);
+        assertThat(condition.getMessage()).contains("migration");
+        Kafka kafka = mockServer.getClient().resources(Kafka.class).inNamespace(sdi.getMetadata().getNamespace()).withName(sdi.getMetadata().getName()).get();
+        assertEphemeralKafka(kafka);
+        assertThat(getNodePool(sdi, KafkaNodePools.BROKER_POOL)).isNull();
+    }
+
+    @Test
+    void testMigrateZooKeeperKafkaToNodePools() {
+        ServiceDomainInfra sdi = buildDefaultSDI();
+        serviceDomainInfraController.reconcile(sdi, null);
+
+        sdi.getSpec().getKafka().setKraft(new KafkaKRaftConfigBuilder()
+                .withMode(KafkaKRaftConfig.MODE_MIGRATION)
+                .build());
+        serviceDomainInfraController.reconcile(sdi, null);
+
+        // The brokers are upgraded first, with the protocol of the previous version
+        Kafka kafka = getKafka(sdi);
+        assertThat(kafka.getMetadata().getAnnotations()).doesNotContainKeys(KafkaNodePools.NODE_POOLS_ANNOTATION, KafkaNodePools.KRAFT_ANNOTATION);
+        assertThat(kafka.getSpec().getKafka().getVersion()).isEqualTo(KafkaNodePools.KRAFT_KAFKA_VERSION);
+        assertThat(kafka.getSpec().getKafka().getConfig()).containsEntry("inter.broker.protocol.version", "3.0");
+        assertThat(getNodePool(sdi, KafkaNodePools.BROKER_POOL)).isNull();
+
+        // The protocol is only raised once the brokers run the new version
+        serviceDomainInfraController.reconcile(sdi, null);
+        assertThat(getKafka(sdi).getSpec().getKafka().getConfig()).containsEntry("inter.broker.protocol.version", "3.0");
+        storeKafkaReady(sdi);
+        serviceDomainInfraController.reconcile(sdi, null);
+        kafka = getKafka(sdi);
+        assertThat(kafka.getMetadata().getAnnotations()).doesNotContainKeys(KafkaNodePools.NODE_POOLS_ANNOTATION, KafkaNodePools.KRAFT_ANNOTATION);
+        assertThat(kafka.getSpec().getKafka().getConfig())
+                .containsEntry("inter.broker.protocol.version", KafkaNodePools.KRAFT_METADATA_VERSION);
+        assertThat(getNodePool(sdi, KafkaNodePools.BROKER_POOL)).isNull();
+
+        // Then the brokers are adopted by a node pool, ZooKeeper keeps the metadata until the Kafka is ready again
+        storeKafkaReady(sdi);
+        serviceDomainInfraController.reconcile(sdi, null);
+        kafka = getKafka(sdi);
+        assertThat(kafka.getMetadata().getAnnotations())
+                .containsEntry(KafkaNodePools.NODE_POOLS_ANNOTATION, KafkaNodePools.ENABLED)
+                .containsEntry(KafkaNodePools.KRAFT_ANNOTATION, KafkaNodePools.DISABLED);
+        assertThat(kafka.getSpec().getZookeeper()).isNotNull();
+        assertThat(kafka.getSpec().getKafka().getVersion()).isEqualTo(KafkaNodePools.KRAFT_KAFKA_VERSION);
+        assertThat(kafka.getSpec().getKafka().getConfig())
+                .containsEntry("inter.broker.protocol.version", KafkaNodePools.KRAFT_METADATA_VERSION);
+        assertThat(getNodePool(sdi, KafkaNodePools.BROKER_POOL)).isNotNull();
+        assertThat(getNodePool(sdi, KafkaNodePools.CONTROLLER_POOL)).isNull();
+    }
+
+    private Kafka getKafka(ServiceDomainInfra sdi) {
+        return mockServer.getClient().resources(Kafka.class).inNamespace(sdi.getMetadata().getNamespace()).withName(sdi.getMetadata().getName()).get();
+    }
+
+    // Strimzi reporting the stored Kafka ready, unlike setKafkaReady the next write of the Kafka clears it
+    private void storeKafkaReady(ServiceDomainInfra sdi) {
+        Kafka kafka = getKafka(sdi);
+        kafka.setStatus(new KafkaStatusBuilder()
+                .withObservedGeneration(kafka.getMetadata().getGeneration())
+                .withConditions(new ConditionBuilder()
+                        .withType(CONDITION_READY)
+                        .withStatus(STATUS_TRUE)
+                        .build())
+                .build());
+        mockServer.getClient().resources(Kafka.class).inNamespace(sdi.getMetadata().getNamespace()).replace(kafka);
+    }
+
+    private GenericKubernetesResource getNodePool(ServiceDomainInfra sdi, String name) {
+        return mockServer.getClient().genericKubernetesResources(KafkaNodePools.NODE_POOL_DEFINITION)
+                .inNamespace(sdi.getMetadata().getNamespace())
+                .withName(name)
+                .get();
+    }
+
     private ServiceDomainInfra buildDefaultSDI() {
         return new ServiceDomainInfraBuilder()
                 .withMetadata(new ObjectMetaBuilder()
@@ -353,6 +782,9 @@ public class ServiceDomainInfraControllerTest extends AbstractTest {
         assertThat(listener.get().getPort()).isEqualTo(9093);
         assertThat(listener.get().isTls()).isTrue();
         assertThat(listener.get().getAuth()).isNull();
+        // Authentication is opt-in
+        assertThat(kafka.getSpec().getKafka().getAuthorization()).isNull();
+        assertThat(kafka.getSpec().getEntityOperator().getUserOperator()).isNull();
         // Kafka Storage
         assertThat(kafka.getSpec().getKafka().getReplicas()).isEqualTo(1);
         assertThat(kafka.getSpec().getKafka().getStorage().getType()).isEqualTo(Storage.TYPE_EPHEMERAL);
@@ -0,0 +1,382 @@
+package com.redhat.mercury.operator.controller;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.redhat.mercury.operator.assets.ServiceDomainAssetRegistry;
+import com.redhat.mercury.operator.metrics.KubernetesApiCallInterceptor;
+import com.redhat.mercury.operator.metrics.OperatorMetrics;
+import com.redhat.mercury.operator.model.ExposeSpecBuilder;
+import com.redhat.mercury.operator.model.HttpExposeTypeBuilder;
+import com.redhat.mercury.operator.model.ServiceDomain;
+import com.redhat.mercury.operator.model.ServiceDomainInfra;
+import com.redhat.mercury.operator.model.ServiceDomainInfraSpec;
+import com.redhat.mercury.operator.model.ServiceDomainInfraStatusBuilder;
+import com.redhat.mercury.operator.model.ServiceDomainSpecBuilder;
+import com.redhat.mercury.operator.model.ServiceDomainStatusBuilder;
+
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.CustomResource;
+import io.fabric8.kubernetes.client.NamespacedKubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.api.kafka.model.KafkaTopic;
+import io.strimzi.api.kafka.model.KafkaUser;
+import io.strimzi.api.kafka.model.status.ConditionBuilder;
+import io.strimzi.api.kafka.model.status.KafkaTopicStatusBuilder;
+import io.strimzi.api.kafka.model.status.KafkaUserStatusBuilder;
+
+import static com.redhat.mercury.operator.model.AbstractResourceStatus.CONDITION_READY;
+import static com.redhat.mercury.operator.model.AbstractResourceStatus.STATUS_TRUE;
+import static com.redhat.mercury.operator.model.HttpExposeType.DEFAULT_API_VERSION;
+import static com.redhat.mercury.operator.utils.ResourceUtils.toLowerHyphen;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Seeds the mock server with a configurable number of namespaces, each with its ServiceDomainInfras, their Ready Kafka
+// and a ServiceDomain of every bundled type, then reconciles them until they are all Ready. Camel K and the topic
+// and user operators are simulated by marking the Integrations, KafkaTopics and KafkaUsers Ready between rounds. The
+// reconciles, API server calls, time to converge and peak heap are written as JSON to target/scale-report.json. It only
+// runs when the number of namespaces is set, e.g. for 1,002 ServiceDomains:
+//   mvn test -Dtest=ServiceDomainScaleTest -Dmercury.scale.namespaces=334
+@QuarkusTest
+@WithKubernetesTestServer
+@EnabledIfSystemProperty(named = "mercury.scale.namespaces", matches = "\\d+")
+public class ServiceDomainScaleTest extends AbstractTest {
+
+    private static final String NAMESPACE_PREFIX = "scale-";
+    private static final ResourceDefinitionContext INTEGRATION_CONTEXT = new ResourceDefinitionContext.Builder()
+            .withGroup("camel.apache.org")
+            .withVersion("v1")
+            .withPlural("integrations")
+            .withNamespaced(true)
+            .build();
+
+    private final int namespaceCount = Integer.getInteger("mercury.scale.namespaces", 3);
+    private final long heapSampleInterval = Long.getLong("mercury.scale.heap-sample-interval", 10);
+    private final int infrasPerNamespace = Integer.getInteger("mercury.scale.infras-per-namespace", 1);
+    private final int maxRounds = Integer.getInteger("mercury.scale.max-rounds", 10);
+    private final String reportFile = System.getProperty("mercury.scale.report", "target/scale-report.json");
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    ServiceDomainAssetRegistry assetRegistry;
+
+    @AfterEach
+    public void afterEach() {
+        final NamespacedKubernetesClient client = mockServer.getClient();
+        for (String namespace : getNamespaces()) {
+            client.genericKubernetesResources(INTEGRATION_CONTEXT).inNamespace(namespace).delete();
+            client.resources(ServiceDomain.class).inNamespace(namespace).delete();
+            client.resources(ServiceDomainInfra.class).inNamespace(namespace).delete();
+            client.resources(Kafka.class).inNamespace(namespace).delete();
+            client.apps().deployments().inNamespace(namespace).delete();
+            client.services().inNamespace(namespace).delete();
+            client.configMaps().inNamespace(namespace).delete();
+        }
+    }
+
+    @Test
+    public void testServiceDomainsConverge() throws IOException {
+        final List<com.redhat.mercury.model.ServiceDomain> types = getBundledTypes();
+        final List<ServiceDomainInfra> sdis = new ArrayList<>();
+        final List<ServiceDomain> sds = new ArrayList<>();
+        for (String namespace : getNamespaces()) {
+            for (int i = 0; i < infrasPerNamespace; i++) {
+                sdis.add(createServiceDomainInfra(namespace, SERVICE_DOMAIN_INFRA_NAME + "-" + i));
+            }
+            for (int i = 0; i < types.size(); i++) {
+                sds.add(createServiceDomain(namespace, SERVICE_DOMAIN_INFRA_NAME + "-" + i % infrasPerNamespace, types.get(i)));
+            }
+        }
+        seed(sdis, sds);
+
+        final Map<String, Double> reconcilesBefore = getReconciles();
+        final Map<String, Map<String, Double>> apiCallsBefore = getApiCalls();
+        System.gc();
+        final HeapSampler heapSampler = new HeapSampler(heapSampleInterval);
+        final long start = System.nanoTime();
+
+        int rounds = 0;
+        boolean converged = false;
+        try {
+            while (!converged && rounds < maxRounds) {
+                rounds++;
+                reconcileAll(ServiceDomainInfra.class, sdis, sdi -> serviceDomainInfraController.reconcile(sdi, null));
+                reconcileAll(ServiceDomain.class, sds, sd -> serviceDomainController.reconcile(sd, null));
+                markIntegrationsReady();
+                markKafkaTopicsReady();
+                markKafkaUsersReady();
+                converged = isReady(ServiceDomainInfra.class, sdis) && isReady(ServiceDomain.class, sds);
+            }
+        } finally {
+            heapSampler.close();
+        }
+
+        final long timeToConverge = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("namespaces", namespaceCount);
+        report.put("serviceDomainInfras", sdis.size());
+        report.put("serviceDomains", sds.size());
+        report.put("converged", converged);
+        report.put("rounds", rounds);
+        report.put("timeToConvergeMillis", timeToConverge);
+        report.put("reconciles", diff(reconcilesBefore, getReconciles()));
+        report.put("apiCalls", getApiCalls().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
+                e -> diff(apiCallsBefore.getOrDefault(e.getKey(), Map.of()), e.getValue()), (a, b) -> a, TreeMap::new)));
+        report.put("peakHeapBytes", heapSampler.getPeak());
+        writeReport(report);
+
+        assertThat(converged).as("converged after %d rounds", rounds).isTrue();
+    }
+
+    private List<String> getNamespaces() {
+        return IntStream.range(0, namespaceCount).mapToObj(i -> NAMESPACE_PREFIX + i).collect(Collectors.toList());
+    }
+
+    private List<com.redhat.mercury.model.ServiceDomain> getBundledTypes() {
+        final List<com.redhat.mercury.model.ServiceDomain> types = new ArrayList<>();
+        for (com.redhat.mercury.model.ServiceDomain type : com.redhat.mercury.model.ServiceDomain.values()) {
+            if (assetRegistry.get(DEFAULT_API_VERSION, toLowerHyphen(type.value)) != null) {
+                types.add(type);
+            }
+        }
+        assertThat(types).isNotEmpty();
+        return types;
+    }
+
+    private void seed(List<ServiceDomainInfra> sdis, List<ServiceDomain> sds) {
+        final NamespacedKubernetesClient client = mockServer.getClient();
+        for (String namespace : getNamespaces()) {
+            if (client.namespaces().withName(namespace).get() == null) {
+                client.namespaces().create(new NamespaceBuilder().withNewMetadata().withName(namespace).endMetadata().build());
+            }
+        }
+        for (ServiceDomainInfra sdi : sdis) {
+            client.resources(ServiceDomainInfra.class).inNamespace(sdi.getMetadata().getNamespace()).create(sdi);
+            client.resources(Kafka.class).inNamespace(sdi.getMetadata().getNamespace()).create(getExpectedKafKa(sdi));
+        }
+        for (ServiceDomain sd : sds) {
+            client.resources(ServiceDomain.class).inNamespace(sd.getMetadata().getNamespace()).create(sd);
+        }
+    }
+
+    // Reconciles the latest version of each resource not Ready yet, as delivered by the informer,
+    // and stores the status updates
+    private <T extends CustomResource<?, ?>> void reconcileAll(Class<T> type, List<T> resources, Function<T, UpdateControl<T>> reconcile) {
+        final NamespacedKubernetesClient client = mockServer.getClient();
+        for (T resource : resources) {
+            final T current = client.resources(type)
+                    .inNamespace(resource.getMetadata().getNamespace())
+                    .withName(resource.getMetadata().getName())
+                    .get();
+            if (isReady(current)) {
+                continue;
+            }
+            final UpdateControl<T> update = reconcile.apply(current);
+            if (update.isUpdateStatus() || update.isUpdateResource()) {
+                client.resources(type)
+                        .inNamespace(resource.getMetadata().getNamespace())
+                        .withName(resource.getMetadata().getName())
+                        .replace(update.getResource());
+            }
+        }
+    }
+
+    private void markIntegrationsReady() {
+        final NamespacedKubernetesClient client = mockServer.getClient();
+        for (String namespace : getNamespaces()) {
+            for (GenericKubernetesResource integration : client.genericKubernetesResources(INTEGRATION_CONTEXT).inNamespace(namespace).list().getItems()) {
+                if (integration.getAdditionalProperties().get("status") == null) {
+                    integration.getAdditionalProperties().put("status", Map.of("conditions", List.of(Map.of("type", "Ready", "status", "True"))));
+                    client.genericKubernetesResources(INTEGRATION_CONTEXT)
+                            .inNamespace(namespace)
+                            .withName(integration.getMetadata().getName())
+                            .replace(integration);
+                }
+            }
+        }
+    }
+
+    private void markKafkaTopicsReady() {
+        final NamespacedKubernetesClient client = mockServer.getClient();
+        for (String namespace : getNamespaces()) {
+            for (KafkaTopic kafkaTopic : client.resources(KafkaTopic.class).inNamespace(namespace).list().getItems()) {
+                if (kafkaTopic.getStatus() == null) {
+                    kafkaTopic.setStatus(new KafkaTopicStatusBuilder()
+                            .withConditions(new ConditionBuilder()
+                                    .withType(CONDITION_READY)
+                                    .withStatus(STATUS_TRUE)
+                                    .build())
+                            .build());
+                    client.resources(KafkaTopic.class).inNamespace(namespace).replace(kafkaTopic);
+                }
+            }
+        }
+    }
+
+    private void markKafkaUsersReady() {
+        final NamespacedKubernetesClient client = mockServer.getClient();
+        for (String namespace : getNamespaces()) {
+            for (KafkaUser kafkaUser : client.resources(KafkaUser.class).inNamespace(namespace).list().getItems()) {
+                if (kafkaUser.getStatus() == null) {
+                    kafkaUser.setStatus(new KafkaUserStatusBuilder()
+                            .withUsername(kafkaUser.getMetadata().getName())
+                            .withSecret(kafkaUser.getMetadata().getName())
+                            .withConditions(new ConditionBuilder()
+                                    .withType(CONDITION_READY)
+                                    .withStatus(STATUS_TRUE)
+                                    .build())
+                            .build());
+                    client.resources(KafkaUser.class).inNamespace(namespace).replace(kafkaUser);
+                }
+            }
+        }
+    }
+
+    private <T extends CustomResource<?, ?>> boolean isReady(Class<T> type, List<T> resources) {
+        final NamespacedKubernetesClient client = mockServer.getClient();
+        return resources.stream().allMatch(resource -> isReady(client.resources(type)
+                .inNamespace(resource.getMetadata().getNamespace())
+                .withName(resource.getMetadata().getName())
+                .get()));
+    }
+
+    private boolean isReady(CustomResource<?, ?> resource) {
+        if (resource instanceof ServiceDomain) {
+            return ((ServiceDomain) resource).getStatus() != null && ((ServiceDomain) resource).getStatus().isReady();
+        }
+        if (resource instanceof ServiceDomainInfra) {
+            return ((ServiceDomainInfra) resource).getStatus() != null && ((ServiceDomainInfra) resource).getStatus().isReady();
+        }
+        return false;
+    }
+
+    private ServiceDomainInfra createServiceDomainInfra(String namespace, String name) {
+        final ServiceDomainInfra sdi = new ServiceDomainInfra();
+        sdi.setMetadata(new ObjectMetaBuilder().withName(name).withNamespace(namespace).withUid(String.valueOf(UUID.randomUUID())).build());
+        // The service domains get KafkaUsers
+        sdi.setSpec(new ServiceDomainInfraSpec());
+        sdi.getSpec().getKafka().setAuthentication(true);
+        sdi.setStatus(new ServiceDomainInfraStatusBuilder().build());
+        return sdi;
+    }
+
+    private ServiceDomain createServiceDomain(String namespace, String sdiName, com.redhat.mercury.model.ServiceDomain type) {
+        final ServiceDomain sd = new ServiceDomain();
+        sd.setMetadata(new ObjectMetaBuilder().withName(toLowerHyphen(type.value)).withNamespace(namespace).withUid(String.valueOf(UUID.randomUUID())).build());
+        sd.setSpec(new ServiceDomainSpecBuilder()
+                .withBusinessImage("testImage")
+                .withServiceDomainInfra(sdiName)
+                .withType(type)
+                .withExpose(new ExposeSpecBuilder().withHttp(new HttpExposeTypeBuilder()
+                                .withApiVersion(DEFAULT_API_VERSION)
+                                .build())
+                        .build())
+                .build());
+        sd.setStatus(new ServiceDomainStatusBuilder().build());
+        return sd;
+    }
+
+    // Reconciles by controller and outcome
+    private Map<String, Double> getReconciles() {
+        final Map<String, Double> reconciles = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(OperatorMetrics.RECONCILE_DURATION).timers()) {
+            reconciles.merge(timer.getId().getTag(OperatorMetrics.CONTROLLER_TAG) + "/" + timer.getId().getTag(OperatorMetrics.OUTCOME_TAG),
+                    (double) timer.count(), Double::sum);
+        }
+        return reconciles;
+    }
+
+    // API server calls by resource and verb
+    private Map<String, Map<String, Double>> getApiCalls() {
+        final Map<String, Map<String, Double>> calls = new TreeMap<>();
+        for (Counter counter : meterRegistry.find(KubernetesApiCallInterceptor.API_CALLS).counters()) {
+            calls.computeIfAbsent(counter.getId().getTag(KubernetesApiCallInterceptor.RESOURCE_TAG), k -> new TreeMap<>())
+                    .merge(counter.getId().getTag(KubernetesApiCallInterceptor.VERB_TAG), counter.count(), Double::sum);
+        }
+        return calls;
+    }
+
+    private Map<String, Long> diff(Map<String, Double> before, Map<String, Double> after) {
+        final Map<String, Long> diff = new TreeMap<>();
+        after.forEach((key, value) -> {
+            final long delta = Math.round(value - before.getOrDefault(key, 0d));
+            if (delta > 0) {
+                diff.put(key, delta);
+            }
+        });
+        return diff;
+    }
+
+    // Heap in use sampled over the run: the peaks of the memory pools are reached at different times and cannot be added
+    private static final class HeapSampler implements AutoCloseable {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final AtomicLong peak = new AtomicLong();
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "heap-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private HeapSampler(long intervalMillis) {
+            sample();
+            executor.scheduleAtFixedRate(this::sample, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private void sample() {
+            final long used = memory.getHeapMemoryUsage().getUsed();
+            peak.accumulateAndGet(used, Math::max);
+        }
+
+        private long getPeak() {
+            return peak.get();
+        }
+
+        @Override
+        public void close() {
+            executor.shutdownNow();
+            sample();
+        }
+    }
+
+    private void writeReport(Map<String, Object> report) throws IOException {
+        final File file = new File(reportFile);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        Serialization.jsonMapper().writerWithDefaultPrettyPrinter().writeValue(file, report);
+    }
+}
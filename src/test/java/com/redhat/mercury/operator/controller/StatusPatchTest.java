@@ -0,0 +1,155 @@
+package com.redhat.mercury.operator.controller;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.redhat.mercury.operator.metrics.OperatorMetrics;
+import com.redhat.mercury.operator.model.ServiceDomain;
+
+import io.fabric8.kubernetes.api.model.Condition;
+import io.fabric8.kubernetes.api.model.ConditionBuilder;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static com.redhat.mercury.operator.model.AbstractResourceStatus.STATUS_TRUE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Status written as merge patches of the status subresource, which the other tests turn off. The mock server does not
+// implement merge patches of the status subresource, so the patches are answered by an expectation.
+@QuarkusTest
+@TestProfile(StatusPatchTest.StatusPatchProfile.class)
+@WithKubernetesTestServer
+public class StatusPatchTest extends AbstractTest {
+
+    private static final String PATCHED_CONDITION = "Patched";
+
+    public static class StatusPatchProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("mercury.operator.patch-status", "true");
+        }
+    }
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void afterEach() {
+        mockServer.getClient().resources(ServiceDomain.class).inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).delete();
+        mockServer.getKubernetesMockServer().clearExpectations();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStatusIsMergePatched() throws Exception {
+        ServiceDomain sd = createServiceDomain(SERVICE_DOMAIN_NAME, false);
+        final String statusPath = getStatusPath(sd);
+        final ServiceDomain cached = createCachedServiceDomain(sd);
+
+        drainRequests();
+        final Condition condition = buildPatchedCondition();
+        UpdateControl<ServiceDomain> control = serviceDomainController.updateStatusWithCondition(Serialization.clone(cached), condition);
+
+        // JOSDK has nothing left to write, the cached primary is only updated by the watch event of the patch
+        assertThat(control.isUpdateStatus()).isFalse();
+        assertThat(control.isUpdateResource()).isFalse();
+        final ServiceDomain current = serviceDomainController.getCurrentResource(sd);
+        assertThat(current.getStatus() == null || current.getStatus().getCondition(PATCHED_CONDITION) == null).isTrue();
+
+        List<RecordedRequest> patches = drainStatusPatches(statusPath);
+        assertThat(patches).hasSize(1);
+        final RecordedRequest patch = patches.get(0);
+        assertThat(patch.getHeader("Content-Type")).startsWith("application/merge-patch+json");
+        final Map<String, Object> body = Serialization.jsonMapper().readValue(patch.getBody().readUtf8(), Map.class);
+        assertThat(body).containsOnlyKeys("apiVersion", "kind", "metadata", "status");
+        // Not locked on a resourceVersion, the patch only holds the status
+        assertThat((Map<String, Object>) body.get("metadata")).doesNotContainKey("resourceVersion");
+        assertThat((Map<String, Object>) body.get("status")).containsKey("conditions");
+
+        // Until that event reaches the cache, the same change is sent again
+        serviceDomainController.updateStatusWithCondition(Serialization.clone(cached), condition);
+        assertThat(drainStatusPatches(statusPath)).hasSize(1);
+    }
+
+    @Test
+    public void testPatchedStatusIsAnUpdate() throws Exception {
+        ServiceDomain sd = createServiceDomain(SERVICE_DOMAIN_NAME, false);
+        final ServiceDomain cached = createCachedServiceDomain(sd);
+        final double updates = countReconciles(OperatorMetrics.OUTCOME_UPDATE_STATUS);
+        final double noUpdates = countReconciles(OperatorMetrics.OUTCOME_NO_UPDATE);
+
+        UpdateControl<ServiceDomain> control = serviceDomainController.observeReconcile(cached,
+                () -> serviceDomainController.updateStatusWithCondition(Serialization.clone(cached), buildPatchedCondition()));
+
+        // Written by the patch rather than by JOSDK, the reconcile still counts as a status update
+        assertThat(control.isUpdateStatus()).isFalse();
+        assertThat(countReconciles(OperatorMetrics.OUTCOME_UPDATE_STATUS)).isEqualTo(updates + 1);
+        assertThat(countReconciles(OperatorMetrics.OUTCOME_NO_UPDATE)).isEqualTo(noUpdates);
+    }
+
+    // The ServiceDomain created and seen by the primary informer, its status patches are answered by an expectation
+    private ServiceDomain createCachedServiceDomain(ServiceDomain sd) throws InterruptedException {
+        mockServer.expect().patch().withPath(getStatusPath(sd)).andReturn(HttpURLConnection.HTTP_OK, sd).always();
+        mockServer.getClient().resources(ServiceDomain.class).inNamespace(SERVICE_DOMAIN_INFRA_NAMESPACE).create(sd);
+
+        ServiceDomain cached = null;
+        for (int i = 0; i < 50 && cached == null; i++) {
+            cached = serviceDomainController.getCurrentResource(sd);
+            Thread.sleep(100);
+        }
+        assertThat(cached).isNotNull();
+        return cached;
+    }
+
+    private String getStatusPath(ServiceDomain sd) {
+        return "/apis/" + sd.getGroup() + "/" + sd.getVersion() + "/namespaces/" + SERVICE_DOMAIN_INFRA_NAMESPACE
+                + "/" + sd.getPlural() + "/" + SERVICE_DOMAIN_NAME + "/status";
+    }
+
+    private Condition buildPatchedCondition() {
+        return new ConditionBuilder()
+                .withType(PATCHED_CONDITION)
+                .withStatus(STATUS_TRUE)
+                .withReason(PATCHED_CONDITION)
+                .withMessage(PATCHED_CONDITION)
+                .build();
+    }
+
+    private double countReconciles(String outcome) {
+        final Timer timer = meterRegistry.find(OperatorMetrics.RECONCILE_DURATION)
+                .tags(OperatorMetrics.CONTROLLER_TAG, "service-domain", OperatorMetrics.OUTCOME_TAG, outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private List<RecordedRequest> drainStatusPatches(String statusPath) throws InterruptedException {
+        final List<RecordedRequest> patches = drainRequests();
+        patches.removeIf(r -> !"PATCH".equals(r.getMethod()) || !statusPath.equals(r.getPath())
+                || !r.getBody().clone().readUtf8().contains(PATCHED_CONDITION));
+        return patches;
+    }
+
+    private List<RecordedRequest> drainRequests() throws InterruptedException {
+        List<RecordedRequest> requests = new ArrayList<>();
+        RecordedRequest request;
+        while ((request = mockServer.getKubernetesMockServer().takeRequest(10, TimeUnit.MILLISECONDS)) != null) {
+            requests.add(request);
+        }
+        return requests;
+    }
+}
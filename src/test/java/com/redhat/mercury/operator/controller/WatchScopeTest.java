@@ -0,0 +1,103 @@
+package com.redhat.mercury.operator.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WatchScopeTest {
+
+    @Test
+    void testNotSharded() {
+        WatchScope watchScope = createWatchScope(1, Optional.empty(), WatchScope.ShardKey.NAMESPACE);
+
+        assertThat(watchScope.isSharded()).isFalse();
+        assertThat(watchScope.isInShard(createResource("any-namespace", null))).isTrue();
+        assertThat(watchScope.getShardLabels(createResource("any-namespace", null))).isEmpty();
+        assertThat(watchScope.getShardSelector()).isEmpty();
+        assertThat(watchScope.getSharedLabels()).isEmpty();
+    }
+
+    @Test
+    void testShardByNamespace() {
+        WatchScope first = createWatchScope(2, Optional.of(0), WatchScope.ShardKey.NAMESPACE);
+        WatchScope second = createWatchScope(2, Optional.of(1), WatchScope.ShardKey.NAMESPACE);
+
+        for (String namespace : List.of("team-a", "team-b", "team-c", "team-d")) {
+            ConfigMap resource = createResource(namespace, null);
+            assertThat(first.isInShard(resource)).isNotEqualTo(second.isInShard(resource));
+            String shard = String.valueOf(WatchScope.shardOf(namespace, 2));
+            assertThat(first.getShardLabels(resource)).containsEntry(WatchScope.SHARD_LABEL, shard);
+        }
+        assertThat(first.getShardSelector()).containsExactly("0", WatchScope.SHARED_SHARD);
+        assertThat(second.getShardSelector()).containsExactly("1", WatchScope.SHARED_SHARD);
+        assertThat(first.getSharedLabels()).containsEntry(WatchScope.SHARD_LABEL, WatchScope.SHARED_SHARD);
+        // Not configured namespaces cannot be split
+        assertThat(first.getWatchedNamespaces()).isEmpty();
+    }
+
+    @Test
+    void testShardNamespaces() {
+        List<String> namespaces = List.of("team-a", "team-b", "team-c", "team-d");
+        WatchScope first = createWatchScope(2, Optional.of(0), WatchScope.ShardKey.NAMESPACE, namespaces);
+        WatchScope second = createWatchScope(2, Optional.of(1), WatchScope.ShardKey.NAMESPACE, namespaces);
+
+        assertThat(first.getWatchedNamespaces()).hasValueSatisfying(watched -> {
+            assertThat(watched).allMatch(namespace -> WatchScope.shardOf(namespace, 2) == 0);
+            assertThat(watched).doesNotContainAnyElementsOf(second.getWatchedNamespaces().orElseThrow());
+            assertThat(watched.size() + second.getWatchedNamespaces().orElseThrow().size()).isEqualTo(namespaces.size());
+        });
+        // Label sharding spreads the resources of a namespace across the replicas
+        assertThat(createWatchScope(2, Optional.of(0), WatchScope.ShardKey.LABEL, namespaces).getWatchedNamespaces()).contains(namespaces);
+        assertThat(createWatchScope(1, Optional.empty(), WatchScope.ShardKey.NAMESPACE, namespaces).getWatchedNamespaces()).contains(namespaces);
+    }
+
+    @Test
+    void testShardByLabel() {
+        WatchScope watchScope = createWatchScope(4, Optional.of(0), WatchScope.ShardKey.LABEL);
+
+        assertThat(watchScope.getShard(createResource("team-a", "payments")))
+                .isEqualTo(watchScope.getShard(createResource("team-b", "payments")))
+                .isEqualTo(WatchScope.shardOf("payments", 4));
+        assertThat(watchScope.getShard(createResource("team-a", null))).isEqualTo(WatchScope.shardOf("team-a", 4));
+    }
+
+    @Test
+    void testShardIndexFromHostname() {
+        assertThat(WatchScope.ordinalOf("mercury-operator-3")).isEqualTo(3);
+        assertThatThrownBy(() -> WatchScope.ordinalOf("mercury-operator-6d4cf56db6-x7kz2")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> WatchScope.ordinalOf(null)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> createWatchScope(2, Optional.of(2), WatchScope.ShardKey.NAMESPACE)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private WatchScope createWatchScope(int shardCount, Optional<Integer> shardIndex, WatchScope.ShardKey shardKey) {
+        return createWatchScope(shardCount, shardIndex, shardKey, List.of());
+    }
+
+    private WatchScope createWatchScope(int shardCount, Optional<Integer> shardIndex, WatchScope.ShardKey shardKey, List<String> namespaces) {
+        WatchScope watchScope = new WatchScope();
+        watchScope.watchedNamespaces = Optional.of(namespaces);
+        watchScope.shardCount = shardCount;
+        watchScope.configuredShardIndex = shardIndex;
+        watchScope.shardKey = shardKey;
+        watchScope.init();
+        return watchScope;
+    }
+
+    private ConfigMap createResource(String namespace, String shardKey) {
+        return new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName("test")
+                .withNamespace(namespace)
+                .withLabels(shardKey == null ? Map.of() : Map.of(WatchScope.SHARD_KEY_LABEL, shardKey))
+                .endMetadata()
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.redhat.mercury.operator.metrics;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import okhttp3.HttpUrl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KubernetesApiCallInterceptorTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "GET, /api/v1/namespaces/test/configmaps/customer-offer-rest-v1, configmaps, get",
+            "GET, /api/v1/namespaces/test/configmaps?labelSelector=a, configmaps, list",
+            "GET, /apis/apps/v1/deployments?watch=true, deployments, watch",
+            "POST, /apis/apps/v1/namespaces/test/deployments, deployments, create",
+            "PUT, /apis/mercury.redhat.io/v1alpha1/namespaces/test/servicedomains/customer-offer/status, servicedomains/status, update",
+            "PATCH, /apis/kafka.strimzi.io/v1beta2/namespaces/test/kafkas/infra, kafkas, patch",
+            "DELETE, /apis/camel.apache.org/v1/namespaces/test/integrations/customer-offer-http, integrations, delete",
+            "DELETE, /api/v1/namespaces/test/configmaps, configmaps, deletecollection",
+            "GET, /api/v1/namespaces/test, namespaces, get",
+            "GET, /version, other, get"
+    })
+    void testGetResourceAndVerb(String method, String path, String resource, String verb) {
+        HttpUrl url = HttpUrl.get("https://kubernetes.default.svc" + path);
+        assertThat(KubernetesApiCallInterceptor.getResourceAndVerb(method, url)).containsExactly(resource, verb);
+    }
+}
@@ -0,0 +1,60 @@
+package com.redhat.mercury.operator.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.api.model.Condition;
+import io.fabric8.kubernetes.api.model.ConditionBuilder;
+
+import static com.redhat.mercury.operator.model.AbstractResourceStatus.CONDITION_READY;
+import static com.redhat.mercury.operator.model.AbstractResourceStatus.STATUS_FALSE;
+import static com.redhat.mercury.operator.model.AbstractResourceStatus.STATUS_TRUE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AbstractResourceStatusTest {
+
+    private static final String CONDITION_OTHER = "Other";
+
+    @Test
+    void testConditionReplacedInPlace() {
+        ServiceDomainStatus status = new ServiceDomainStatus();
+        status.setCondition(buildCondition(CONDITION_READY, STATUS_FALSE));
+        status.setCondition(buildCondition(CONDITION_OTHER, STATUS_FALSE));
+        assertThat(status.getCondition(CONDITION_READY).getStatus()).isEqualTo(STATUS_FALSE);
+
+        status.setCondition(buildCondition(CONDITION_READY, STATUS_TRUE));
+
+        assertThat(status.getConditions()).extracting(Condition::getType).containsExactly(CONDITION_READY, CONDITION_OTHER);
+        assertThat(status.getCondition(CONDITION_READY).getStatus()).isEqualTo(STATUS_TRUE);
+        assertThat(status.isReady()).isTrue();
+    }
+
+    @Test
+    void testConditionsAreOnlyChangedThroughTheStatus() {
+        ServiceDomainStatus status = new ServiceDomainStatus();
+        status.setCondition(buildCondition(CONDITION_READY, STATUS_FALSE));
+
+        assertThatThrownBy(() -> status.getConditions().set(0, buildCondition(CONDITION_READY, STATUS_TRUE)))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        // The list given to the status is copied
+        final List<Condition> conditions = new ArrayList<>(List.of(buildCondition(CONDITION_READY, STATUS_FALSE)));
+        status.setConditions(conditions);
+        conditions.set(0, buildCondition(CONDITION_READY, STATUS_TRUE));
+        assertThat(status.getCondition(CONDITION_READY).getStatus()).isEqualTo(STATUS_FALSE);
+
+        status.removeCondition(CONDITION_READY);
+        assertThat(status.getCondition(CONDITION_READY)).isNull();
+        assertThat(status.getConditions()).isEmpty();
+    }
+
+    private Condition buildCondition(String type, String conditionStatus) {
+        return new ConditionBuilder()
+                .withType(type)
+                .withStatus(conditionStatus)
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.redhat.mercury.operator.tracing;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Produces;
+import javax.inject.Singleton;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+@ApplicationScoped
+public class InMemorySpanExporterProducer {
+
+    @Produces
+    @Singleton
+    InMemorySpanExporter inMemorySpanExporter() {
+        return InMemorySpanExporter.create();
+    }
+
+    @Produces
+    @Singleton
+    SpanProcessor inMemorySpanProcessor(InMemorySpanExporter exporter) {
+        return SimpleSpanProcessor.create(exporter);
+    }
+}
@@ -1,9 +1,11 @@
 package com.redhat.mercury.operator.utils;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -17,6 +19,19 @@ class ResourceUtilsTest {
         assertThat(ResourceUtils.toLowerHyphen(entry.getKey())).isEqualTo(entry.getValue());
     }
 
+    @Test
+    void testHashIgnoresMapOrdering() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("a", 1);
+        first.put("b", Map.of("c", "d"));
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("b", Map.of("c", "d"));
+        second.put("a", 1);
+
+        assertThat(ResourceUtils.hash(first)).isEqualTo(ResourceUtils.hash(second)).hasSize(64);
+        assertThat(ResourceUtils.hash(first)).isNotEqualTo(ResourceUtils.hash(Map.of("a", 2)));
+    }
+
     static Stream<Entry<String, String>> entriesProvider() {
         return Map.of("ThisIsATest", "this-is-a-test",
                         "This", "this",